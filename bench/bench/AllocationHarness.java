@@ -0,0 +1,206 @@
+package bench;
+
+import java.lang.management.ManagementFactory;
+
+import ai.AiStrategy;
+import ai.GameStateView;
+import ai.LegalMoves;
+import ai.Strategies;
+import ai.WeightedStrategy;
+import sim.BatchRunner;
+import sim.HeadlessGame;
+import uno.EColor;
+
+/**
+ * Verifies that warmed up headless turns stay within an allocation budget.
+ * <p>
+ * The harness plays seeded headless games and reads the allocation counter of its thread whenever a phase
+ * of a turn starts or ends. Bytes are attributed to the innermost running phase, so the choice of a strategy
+ * is counted apart from the engine work around it. Bytes of a turn outside of all phases, such as drawing a
+ * penalty, jumping in or moving on to the next seat, are attributed to the engine. A turn that allocates more
+ * than the budget is reported with the phases that allocated, and the harness exits with status 1.
+ * </p>
+ * <p>
+ * Dealing a game is not part of a turn and is not measured. Building the result of a game is not part of a
+ * turn either, it is reported per game.
+ * </p>
+ *
+ * @author Bedirhan Sakaoğlu
+ */
+public class AllocationHarness implements HeadlessGame.PhaseListener {
+
+	public static final long DEFAULTBUDGETBYTES = 0;
+	public static final int DEFAULTGAMES = 1000;
+	
+	private static final int WARMUPGAMES = 3000;
+	private static final int PHASE_CHOOSEMOVE = HeadlessGame.PHASENAMES.length;
+	private static final int PHASE_CHOOSECOLOR = PHASE_CHOOSEMOVE + 1;
+	private static final int PHASE_ENGINE = PHASE_CHOOSECOLOR + 1;
+	private static final String[] PHASENAMES = {HeadlessGame.PHASENAMES[0], HeadlessGame.PHASENAMES[1],
+			HeadlessGame.PHASENAMES[2], HeadlessGame.PHASENAMES[3], "chooseMove", "chooseColor", "engine"};
+	private static final int MAXREPORTEDTURNS = 10;
+	
+	private static final com.sun.management.ThreadMXBean THREADBEAN = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+	
+	/**
+     * Strategy that reports its decisions as phases of the turn.
+     */
+	private class MeasuredStrategy implements AiStrategy {
+		
+		private final AiStrategy strategy;
+		
+		private MeasuredStrategy(AiStrategy strategy) {
+			this.strategy = strategy;
+		}
+		
+		@Override
+		public int chooseMove(LegalMoves moves, GameStateView state) {
+			phaseStarted(PHASE_CHOOSEMOVE);
+			int move = strategy.chooseMove(moves, state);
+			phaseEnded(PHASE_CHOOSEMOVE);
+			return move;
+		}
+		
+		@Override
+		public EColor chooseColor(LegalMoves moves, GameStateView state) {
+			phaseStarted(PHASE_CHOOSECOLOR);
+			EColor color = strategy.chooseColor(moves, state);
+			phaseEnded(PHASE_CHOOSECOLOR);
+			return color;
+		}
+		
+		@Override
+		public String getName() {
+			return strategy.getName();
+		}
+	}
+	
+	private final long budgetBytes;
+	private final long[] turnBytes = new long[PHASENAMES.length];
+	private final long[] totalBytes = new long[PHASENAMES.length];
+	private final long[] maxBytes = new long[PHASENAMES.length];
+	private final int[] stack = new int[PHASENAMES.length];
+	private int depth;
+	private long mark;
+	private boolean measuring;
+	private long gameSeed;
+	private int turn;
+	private int turns;
+	private int turnsOverBudget;
+	private long resultBytes;
+	
+	/**
+     * Constructs a harness.
+     *
+     * @param budgetBytes the number of bytes a turn may allocate.
+     */
+	public AllocationHarness(long budgetBytes) {
+		this.budgetBytes = budgetBytes;
+	}
+	
+	@Override
+	public void phaseStarted(int phase) {
+		long now = THREADBEAN.getCurrentThreadAllocatedBytes();
+		turnBytes[(depth > 0) ? stack[depth - 1] : PHASE_ENGINE] += now - mark;
+		stack[depth++] = phase;
+		mark = THREADBEAN.getCurrentThreadAllocatedBytes();
+	}
+	
+	@Override
+	public void phaseEnded(int phase) {
+		turnBytes[phase] += THREADBEAN.getCurrentThreadAllocatedBytes() - mark;
+		depth--;
+		mark = THREADBEAN.getCurrentThreadAllocatedBytes();
+	}
+	
+	/**
+     * Checks the bytes of the turn that just ended against the budget.
+     *
+     * @param nanos the duration of the turn, unused.
+     */
+	private void turnEnded(long nanos) {
+		turnBytes[PHASE_ENGINE] += THREADBEAN.getCurrentThreadAllocatedBytes() - mark;
+		long bytes = 0;
+		for (int phase = 0; phase < turnBytes.length; phase++) {
+			bytes += turnBytes[phase];
+		}
+		if (measuring) {
+			turns++;
+			for (int phase = 0; phase < turnBytes.length; phase++) {
+				totalBytes[phase] += turnBytes[phase];
+				maxBytes[phase] = Math.max(maxBytes[phase], turnBytes[phase]);
+			}
+			if (bytes > budgetBytes && turnsOverBudget++ < MAXREPORTEDTURNS) {
+				StringBuilder report = new StringBuilder(String.format("Turn %d of game %d allocated %d bytes, over the budget of %d:",
+						turn, gameSeed, bytes, budgetBytes));
+				for (int phase = 0; phase < turnBytes.length; phase++) {
+					if (turnBytes[phase] > 0) report.append(String.format(" %s %d B", PHASENAMES[phase], turnBytes[phase]));
+				}
+				System.out.println(report);
+			}
+		}
+		turn++;
+		java.util.Arrays.fill(turnBytes, 0);
+		mark = THREADBEAN.getCurrentThreadAllocatedBytes();
+	}
+	
+	/**
+     * Plays a seeded game, seating the strategies round robin from an offset.
+     *
+     * @param seed the seed of the game.
+     * @param seats the number of players.
+     */
+	private void playGame(long seed, int seats) {
+		String[] names = Strategies.names();
+		AiStrategy[] strategies = new AiStrategy[seats];
+		for (int i = 0; i < seats; i++) {
+			String name = names[(int) Math.floorMod(seed + i, (long) names.length)];
+			AiStrategy strategy = (name.equals(WeightedStrategy.NAME)) ? new WeightedStrategy(WeightedStrategy.defaultWeights())
+					: Strategies.forName(name, seed + i);
+			strategies[i] = new MeasuredStrategy(strategy);
+		}
+		HeadlessGame game = new HeadlessGame(seed, strategies);
+		game.setPhaseListener(this);
+		game.setTurnTimer(this::turnEnded);
+		gameSeed = seed;
+		turn = 0;
+		mark = THREADBEAN.getCurrentThreadAllocatedBytes();
+		game.play();
+		if (measuring) resultBytes += THREADBEAN.getCurrentThreadAllocatedBytes() - mark;
+	}
+	
+	/**
+     * Warms the hot path up and then measures the given number of games with two to six players.
+     *
+     * @param games the number of measured games.
+     * @return true if no turn was over the budget.
+     */
+	public boolean run(int games) {
+		for (int i = 0; i < WARMUPGAMES; i++) {
+			playGame(BatchRunner.seedOf(0, i), 2 + i % 5);
+		}
+		measuring = true;
+		for (int i = 0; i < games; i++) {
+			playGame(BatchRunner.seedOf(1, i), 2 + i % 5);
+		}
+		measuring = false;
+		
+		System.out.println(String.format("%d turns measured, %d over the budget of %d bytes", turns, turnsOverBudget, budgetBytes));
+		for (int phase = 0; phase < PHASENAMES.length; phase++) {
+			System.out.println(String.format("%-12s %10.2f B/turn %8d B max", PHASENAMES[phase], (double) totalBytes[phase] / turns, maxBytes[phase]));
+		}
+		System.out.println(String.format("%-12s %10.2f B/game", "result", (double) resultBytes / games));
+		return turnsOverBudget == 0;
+	}
+	
+	/**
+     * Runs the harness and exits with status 1 if a turn was over the budget.
+     *
+     * @param args the budget in bytes per turn and the number of measured games, both optional.
+     */
+	public static void main(String[] args) {
+		long budget = (args.length > 0) ? Long.parseLong(args[0]) : DEFAULTBUDGETBYTES;
+		int games = (args.length > 1) ? Integer.parseInt(args[1]) : DEFAULTGAMES;
+		if (!new AllocationHarness(budget).run(games)) System.exit(1);
+	}
+}
@@ -0,0 +1,53 @@
+package bench;
+
+/**
+ * A single benchmark measured by the {@link BenchmarkRunner}.
+ * <p>
+ * The runner calls {@link #setUp()} before every iteration, then {@link #invoke()} as often as it can
+ * until the iteration time is up, and then {@link #tearDown()}. The value returned by {@link #invoke()} is
+ * consumed by the runner so that the JIT compiler cannot remove the measured work.
+ * </p>
+ *
+ * @author Bedirhan Sakaoğlu
+ */
+public abstract class Benchmark {
+
+	private final String name;
+	
+	/**
+     * Constructs a benchmark with the given name.
+     *
+     * @param name the name under which the results are reported.
+     */
+	protected Benchmark(String name) {
+		this.name = name;
+	}
+	
+	/**
+     * Prepares the state of an iteration. Not measured.
+     */
+	public void setUp() {
+	}
+	
+	/**
+     * Performs one operation of the benchmark.
+     *
+     * @return a value depending on the work done, consumed by the runner.
+     */
+	public abstract Object invoke();
+	
+	/**
+     * Releases the state of an iteration. Not measured.
+     */
+	public void tearDown() {
+	}
+	
+	/**
+     * Gets the name of the benchmark.
+     *
+     * @return the name.
+     */
+	public String getName() {
+		return name;
+	}
+}
@@ -0,0 +1,62 @@
+package bench;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compares two JSON files written by {@link BenchmarkRunner}, for example of two commits,
+ * and reports the change of throughput and allocation of every benchmark found in both.
+ *
+ * @author Bedirhan Sakaoğlu
+ */
+public class BenchmarkComparison {
+
+	private static final Pattern RESULT = Pattern.compile(
+			"\"benchmark\": \"([^\"]*)\".*\"opsPerSecond\": ([0-9.eE+-]+).*\"bytesPerOp\": ([0-9.eE+-]+|NaN)");
+	
+	/**
+     * Reads the throughput and the bytes per operation of every benchmark in a results file.
+     *
+     * @param path the results file.
+     * @return the measurements by benchmark name.
+     * @throws IOException if the file cannot be read.
+     */
+	public static Map<String, double[]> read(Path path) throws IOException {
+		Map<String, double[]> results = new LinkedHashMap<String, double[]>();
+		for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+			Matcher matcher = RESULT.matcher(line);
+			if (!matcher.find()) continue;
+			results.put(matcher.group(1), new double[] { Double.parseDouble(matcher.group(2)), Double.parseDouble(matcher.group(3)) });
+		}
+		return results;
+	}
+	
+	/**
+     * Prints the comparison of two results files.
+     *
+     * @param args the baseline file and the file to compare with it.
+     * @throws IOException if a file cannot be read.
+     */
+	public static void main(String[] args) throws IOException {
+		if (args.length < 2) {
+			System.out.println("Usage: BenchmarkComparison baseline.json candidate.json");
+			return;
+		}
+		Map<String, double[]> baseline = read(Paths.get(args[0]));
+		Map<String, double[]> candidate = read(Paths.get(args[1]));
+		for (Map.Entry<String, double[]> entry : baseline.entrySet()) {
+			double[] after = candidate.get(entry.getKey());
+			if (after == null) continue;
+			double[] before = entry.getValue();
+			System.out.println(String.format("%-28s %+7.1f%% ops/s %12.1f -> %.1f B/op", entry.getKey(),
+					(after[0] / before[0] - 1) * 100, before[1], after[1]));
+		}
+	}
+}
@@ -0,0 +1,88 @@
+package bench;
+
+import java.util.Locale;
+
+/**
+ * The measurements of one benchmark, averaged over its measurement iterations.
+ *
+ * @author Bedirhan Sakaoğlu
+ */
+public class BenchmarkResult {
+
+	private final String name;
+	private final int iterations;
+	private final double opsPerSecond;
+	private final double opsPerSecondError;
+	private final double bytesPerOp;
+	private final double allocationRateMB;
+	private final long gcCount;
+	private final long gcTimeMillis;
+	
+	/**
+     * Constructs a benchmark result.
+     *
+     * @param name              the name of the benchmark.
+     * @param iterations        the number of measurement iterations.
+     * @param opsPerSecond      the mean throughput in operations per second.
+     * @param opsPerSecondError the half width of the 99% confidence interval of the throughput.
+     * @param bytesPerOp        the bytes allocated per operation by the measuring thread.
+     * @param allocationRateMB  the allocation rate in megabytes per second.
+     * @param gcCount           the number of garbage collections during the measurement.
+     * @param gcTimeMillis      the time spent in garbage collection during the measurement.
+     */
+	public BenchmarkResult(String name, int iterations, double opsPerSecond, double opsPerSecondError,
+			double bytesPerOp, double allocationRateMB, long gcCount, long gcTimeMillis) {
+		this.name = name;
+		this.iterations = iterations;
+		this.opsPerSecond = opsPerSecond;
+		this.opsPerSecondError = opsPerSecondError;
+		this.bytesPerOp = bytesPerOp;
+		this.allocationRateMB = allocationRateMB;
+		this.gcCount = gcCount;
+		this.gcTimeMillis = gcTimeMillis;
+	}
+	
+	/**
+     * Formats the result as a JSON object.
+     *
+     * @return the JSON text.
+     */
+	public String toJson() {
+		return String.format(Locale.ROOT, "{\"benchmark\": \"%s\", \"iterations\": %d, \"opsPerSecond\": %.3f, \"opsPerSecondError\": %.3f, "
+				+ "\"bytesPerOp\": %.1f, \"allocationRateMB\": %.3f, \"gcCount\": %d, \"gcTimeMillis\": %d}",
+				name, iterations, opsPerSecond, opsPerSecondError, bytesPerOp, allocationRateMB, gcCount, gcTimeMillis);
+	}
+	
+	@Override
+	public String toString() {
+		return String.format(Locale.ROOT, "%-28s %14.1f +/- %10.1f ops/s %12.1f B/op %10.1f MB/s %4d gc",
+				name, opsPerSecond, opsPerSecondError, bytesPerOp, allocationRateMB, gcCount);
+	}
+	
+	/**
+     * Gets the name of the benchmark.
+     *
+     * @return the name.
+     */
+	public String getName() {
+		return name;
+	}
+	
+	/**
+     * Gets the mean throughput.
+     *
+     * @return the operations per second.
+     */
+	public double getOpsPerSecond() {
+		return opsPerSecond;
+	}
+	
+	/**
+     * Gets the bytes allocated per operation.
+     *
+     * @return the bytes per operation.
+     */
+	public double getBytesPerOp() {
+		return bytesPerOp;
+	}
+}
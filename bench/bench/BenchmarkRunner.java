@@ -0,0 +1,180 @@
+package bench;
+
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Runs {@link Benchmark}s and writes their throughput and allocation rate as JSON.
+ * <p>
+ * Every benchmark runs a number of timed warmup iterations followed by timed measurement iterations on the
+ * calling thread. The bytes allocated per operation are read from the thread allocation counter of the JVM,
+ * and garbage collections are counted from the collector beans, in the spirit of a GC profiler.
+ * </p>
+ * <p>
+ * The JSON output holds one result object per line, so that the results of two commits can be compared
+ * with {@link BenchmarkComparison}.
+ * </p>
+ *
+ * @author Bedirhan Sakaoğlu
+ */
+public class BenchmarkRunner {
+
+	public static final int DEFAULTWARMUPITERATIONS = 3;
+	public static final int DEFAULTITERATIONS = 5;
+	public static final long DEFAULTITERATIONMILLIS = 1000;
+	
+	/** Student t quantiles for a 99% confidence interval, indexed by degrees of freedom. */
+	private static final double[] T99 = { 0, 63.657, 9.925, 5.841, 4.604, 4.032, 3.707, 3.499, 3.355, 3.250, 3.169 };
+	
+	private static final com.sun.management.ThreadMXBean THREADBEAN = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+	
+	private final int warmupIterations;
+	private final int iterations;
+	private final long iterationNanos;
+	private long sink;
+	
+	/**
+     * Constructs a runner.
+     *
+     * @param warmupIterations the number of iterations run before measuring.
+     * @param iterations       the number of measured iterations.
+     * @param iterationMillis  the length of every iteration.
+     */
+	public BenchmarkRunner(int warmupIterations, int iterations, long iterationMillis) {
+		this.warmupIterations = warmupIterations;
+		this.iterations = Math.max(1, iterations);
+		this.iterationNanos = iterationMillis * 1000000L;
+	}
+	
+	/**
+     * Runs a benchmark.
+     *
+     * @param benchmark the benchmark to run.
+     * @return the measurements.
+     */
+	public BenchmarkResult run(Benchmark benchmark) {
+		for (int i = 0; i < warmupIterations; i++) {
+			iterate(benchmark);
+		}
+		
+		double[] throughput = new double[iterations];
+		long operations = 0;
+		long bytes = 0;
+		long nanos = 0;
+		long gcCount = -gcCount();
+		long gcTime = -gcTime();
+		for (int i = 0; i < iterations; i++) {
+			long[] iteration = iterate(benchmark);
+			operations += iteration[0];
+			nanos += iteration[1];
+			bytes += iteration[2];
+			throughput[i] = iteration[0] * 1e9 / iteration[1];
+		}
+		gcCount += gcCount();
+		gcTime += gcTime();
+		
+		double mean = 0;
+		for (double value : throughput) mean += value;
+		mean /= iterations;
+		double variance = 0;
+		for (double value : throughput) variance += (value - mean) * (value - mean);
+		double error = (iterations < 2) ? Double.NaN
+				: T99[Math.min(iterations - 1, T99.length - 1)] * Math.sqrt(variance / (iterations - 1) / iterations);
+		return new BenchmarkResult(benchmark.getName(), iterations, mean, error, (double) bytes / operations,
+				bytes / (nanos / 1e9) / (1024 * 1024), gcCount, gcTime);
+	}
+	
+	/**
+     * Runs one iteration of a benchmark.
+     *
+     * @param benchmark the benchmark.
+     * @return the number of operations, the nanoseconds and the bytes allocated.
+     */
+	private long[] iterate(Benchmark benchmark) {
+		benchmark.setUp();
+		long operations = 0;
+		long bytes = THREADBEAN.getCurrentThreadAllocatedBytes();
+		long start = System.nanoTime();
+		long now;
+		do {
+			// Checking the clock every 64 operations keeps its cost out of cheap benchmarks.
+			for (int i = 0; i < 64; i++) {
+				sink += System.identityHashCode(benchmark.invoke());
+			}
+			operations += 64;
+			now = System.nanoTime();
+		} while (now - start < iterationNanos);
+		bytes = THREADBEAN.getCurrentThreadAllocatedBytes() - bytes;
+		benchmark.tearDown();
+		return new long[] { operations, now - start, bytes };
+	}
+	
+	private static long gcCount() {
+		long count = 0;
+		for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+			count += Math.max(0, bean.getCollectionCount());
+		}
+		return count;
+	}
+	
+	private static long gcTime() {
+		long time = 0;
+		for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+			time += Math.max(0, bean.getCollectionTime());
+		}
+		return time;
+	}
+	
+	/**
+     * Writes benchmark results as JSON.
+     *
+     * @param results the results to write.
+     * @param path    the file to write to.
+     * @throws IOException if the file cannot be written.
+     */
+	public static void writeJson(List<BenchmarkResult> results, Path path) throws IOException {
+		StringBuilder json = new StringBuilder();
+		json.append(String.format(Locale.ROOT, "{\"java\": \"%s\", \"timestamp\": %d, \"results\": [%n",
+				System.getProperty("java.version"), System.currentTimeMillis()));
+		for (int i = 0; i < results.size(); i++) {
+			json.append("  ").append(results.get(i).toJson()).append((i < results.size() - 1) ? "," : "").append(System.lineSeparator());
+		}
+		json.append("]}").append(System.lineSeparator());
+		if (path.getParent() != null) Files.createDirectories(path.getParent());
+		Files.write(path, json.toString().getBytes(StandardCharsets.UTF_8));
+	}
+	
+	/**
+     * Runs the engine benchmarks whose names contain the filter and writes the results as JSON.
+     *
+     * @param args the output file, the warmup iterations, the measured iterations, the iteration length in
+     *             milliseconds and a name filter, all optional.
+     * @throws IOException if the results cannot be written.
+     */
+	public static void main(String[] args) throws IOException {
+		Path output = Paths.get((args.length > 0) ? args[0] : "bench-results.json");
+		int warmup = (args.length > 1) ? Integer.parseInt(args[1]) : DEFAULTWARMUPITERATIONS;
+		int iterations = (args.length > 2) ? Integer.parseInt(args[2]) : DEFAULTITERATIONS;
+		long millis = (args.length > 3) ? Long.parseLong(args[3]) : DEFAULTITERATIONMILLIS;
+		String filter = (args.length > 4) ? args[4] : "";
+		
+		BenchmarkRunner runner = new BenchmarkRunner(warmup, iterations, millis);
+		List<BenchmarkResult> results = new ArrayList<BenchmarkResult>();
+		for (Benchmark benchmark : EngineBenchmarks.all()) {
+			if (!benchmark.getName().contains(filter)) continue;
+			BenchmarkResult result = runner.run(benchmark);
+			System.out.println(result);
+			results.add(result);
+		}
+		writeJson(results, output);
+		if (runner.sink == 42) System.out.println();
+	}
+}
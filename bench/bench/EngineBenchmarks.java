@@ -0,0 +1,228 @@
+package bench;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import ai.AiStrategy;
+import ai.RandomStrategy;
+import management.AiPlayer;
+import management.GameLogListener;
+import management.GameSession;
+import management.Player;
+import sim.HeadlessGame;
+import uno.Card;
+import uno.Decks;
+
+/**
+ * Benchmarks of the hot paths of the game engine, from building a deck to playing a whole headless game.
+ * All of them are seeded, so two runs measure the same work.
+ *
+ * @author Bedirhan Sakaoğlu
+ */
+public class EngineBenchmarks {
+
+	private static final long SEED = 20240601L;
+	private static final int PLAYERS = 4;
+	private static final String LOGGAMENAME = "benchmark";
+	
+	/**
+     * Creates all engine benchmarks.
+     *
+     * @return the benchmarks, cheapest first.
+     */
+	public static List<Benchmark> all() {
+		List<Benchmark> benchmarks = new ArrayList<Benchmark>();
+		benchmarks.add(cardIsPlayable());
+		benchmarks.add(sortedDeck());
+		benchmarks.add(initializeDrawPile());
+		benchmarks.add(reshuffleDiscardPile());
+		benchmarks.add(playTurn());
+		benchmarks.add(wholeGame());
+		benchmarks.add(updateGameLogEvent());
+		return benchmarks;
+	}
+	
+	/**
+     * Creates a headless session with random players.
+     *
+     * @param seed the seed of the session and the players.
+     * @return the dealt session.
+     */
+	private static GameSession newSession(long seed) {
+		GameSession session = new GameSession(LOGGAMENAME, seed);
+		session.setLoggingEnabled(false);
+		session.initializeGame(randomStrategies(seed));
+		return session;
+	}
+	
+	private static AiStrategy[] randomStrategies(long seed) {
+		AiStrategy[] strategies = new AiStrategy[PLAYERS];
+		for (int i = 0; i < PLAYERS; i++) {
+			strategies[i] = new RandomStrategy(seed + i);
+		}
+		return strategies;
+	}
+	
+	/**
+     * Checks the playability of every card of a full deck in turn.
+     */
+	private static Benchmark cardIsPlayable() {
+		return new Benchmark("cardIsPlayable") {
+			private GameSession session;
+			private List<Card> deck;
+			private int next;
+			
+			@Override
+			public void setUp() {
+				session = newSession(SEED);
+				deck = Decks.initializeDrawPile(new Random(SEED));
+			}
+			
+			@Override
+			public Object invoke() {
+				next = (next + 1 == deck.size()) ? 0 : next + 1;
+				return session.cardIsPlayable(deck.get(next)) ? Boolean.TRUE : Boolean.FALSE;
+			}
+		};
+	}
+	
+	/**
+     * Sorts a shuffled hand of 15 cards.
+     */
+	private static Benchmark sortedDeck() {
+		return new Benchmark("sortedDeck") {
+			private List<Card> hand;
+			
+			@Override
+			public void setUp() {
+				hand = new ArrayList<Card>(Decks.initializeDrawPile(new Random(SEED)).subList(0, 15));
+			}
+			
+			@Override
+			public Object invoke() {
+				return Decks.sortedDeck(hand);
+			}
+		};
+	}
+	
+	/**
+     * Builds and shuffles a new draw pile.
+     */
+	private static Benchmark initializeDrawPile() {
+		return new Benchmark("initializeDrawPile") {
+			private final Random random = new Random(SEED);
+			
+			@Override
+			public Object invoke() {
+				return Decks.initializeDrawPile(random);
+			}
+		};
+	}
+	
+	/**
+     * Moves all but two cards of the draw pile to the discard pile and reshuffles them back.
+     */
+	private static Benchmark reshuffleDiscardPile() {
+		return new Benchmark("reshuffleDiscardPile") {
+			private GameSession session;
+			
+			@Override
+			public void setUp() {
+				session = newSession(SEED);
+			}
+			
+			@Override
+			public Object invoke() {
+				List<Card> drawPile = session.getDrawPile();
+				List<Card> discardPile = session.getDiscardPile();
+				Card top = discardPile.remove(discardPile.size() - 1);
+				while (drawPile.size() > 2) {
+					discardPile.add(drawPile.remove(drawPile.size() - 1));
+				}
+				discardPile.add(top);
+				session.reshuffleDiscardPile();
+				return session.getDrawPile();
+			}
+		};
+	}
+	
+	/**
+     * Plays single AI turns in turn order, dealing a new game whenever a game cannot go on.
+     */
+	private static Benchmark playTurn() {
+		return new Benchmark("playTurn") {
+			private GameSession session;
+			private long seed;
+			private int seat;
+			
+			@Override
+			public void setUp() {
+				seed = SEED;
+				session = newSession(seed);
+			}
+			
+			@Override
+			public Object invoke() {
+				List<Player> seats = session.getPlayerListGameOrder();
+				AiPlayer player = (AiPlayer) seats.get(seat);
+				int outcome = player.playTurn();
+				seat = (seat + 1) % seats.size();
+				session.reshuffleDiscardPile();
+				if (outcome == AiPlayer.NO_ACTION || player.getDeck().isEmpty()) {
+					session = newSession(++seed);
+					seat = 0;
+				}
+				return player;
+			}
+		};
+	}
+	
+	/**
+     * Plays a whole four player game between random players.
+     */
+	private static Benchmark wholeGame() {
+		return new Benchmark("wholeGame") {
+			private long seed;
+			
+			@Override
+			public void setUp() {
+				seed = SEED;
+			}
+			
+			@Override
+			public Object invoke() {
+				long gameSeed = seed++;
+				return new HeadlessGame(gameSeed, randomStrategies(gameSeed)).play();
+			}
+		};
+	}
+	
+	/**
+     * Appends entries to a game log file, which starts empty every iteration.
+     */
+	private static Benchmark updateGameLogEvent() {
+		return new Benchmark("updateGameLogEvent") {
+			private final GameLogListener listener = new GameLogListener();
+			private final File file = new File("Data\\GameLogs\\" + LOGGAMENAME + ".txt");
+			
+			@Override
+			public void setUp() {
+				file.delete();
+			}
+			
+			@Override
+			public Object invoke() {
+				GameLogListener.GameLogEvent event = listener.new GameLogEvent(this, "Bot 1 played card: RED 7", LOGGAMENAME);
+				listener.updateGameLogEvent(event);
+				return event;
+			}
+			
+			@Override
+			public void tearDown() {
+				file.delete();
+			}
+		};
+	}
+}
@@ -0,0 +1,106 @@
+package bench;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import gui.HandComponent;
+import uno.Card;
+import uno.Decks;
+
+/**
+ * Headless benchmarks of painting the player's hand with the {@link HandComponent}.
+ * <p>
+ * A frame paints a whole hand of a table wide window into an offscreen image, and a dirty frame only
+ * repaints the region of a single card, as hovering over a card does. Because overflowing hands overlap and
+ * then scroll, the frame time should stay flat from a starting hand of 7 cards up to 100 cards.
+ * </p>
+ *
+ * @author Bedirhan Sakaoğlu
+ */
+public class RenderBenchmarks {
+
+	private static final long SEED = 20240601L;
+	private static final int WIDTH = 1280;
+	private static final int HEIGHT = HandComponent.CARDHEIGHT + HandComponent.RAISE + 2 * HandComponent.MARGIN;
+	private static final int[] HANDSIZES = { 7, 15, 30, 60, 100 };
+	
+	/**
+     * Creates all rendering benchmarks.
+     *
+     * @return the benchmarks, smallest hand first.
+     */
+	public static List<Benchmark> all() {
+		List<Benchmark> benchmarks = new ArrayList<Benchmark>();
+		for (int cards : HANDSIZES) {
+			benchmarks.add(paintHand(cards, false));
+		}
+		for (int cards : HANDSIZES) {
+			benchmarks.add(paintHand(cards, true));
+		}
+		return benchmarks;
+	}
+	
+	/**
+     * Paints a hand into an offscreen image.
+     *
+     * @param cards the number of cards in the hand.
+     * @param dirty whether only the region of the middle card is repainted.
+     */
+	private static Benchmark paintHand(int cards, boolean dirty) {
+		return new Benchmark(String.format("%s%03d", dirty ? "paintDirtyCard" : "paintHand", cards)) {
+			private HandComponent hand;
+			private BufferedImage frame;
+			
+			@Override
+			public void setUp() {
+				hand = new HandComponent();
+				hand.setBounds(0, 0, WIDTH, HEIGHT);
+				hand.setCards(Decks.sortedDeck(Decks.initializeDrawPile(new Random(SEED)).subList(0, cards)));
+				frame = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+			}
+			
+			@Override
+			public Object invoke() {
+				Graphics2D g = frame.createGraphics();
+				if (dirty) g.setClip(hand.cardBounds(cards / 2));
+				hand.paint(g);
+				g.dispose();
+				return frame;
+			}
+		};
+	}
+	
+	/**
+     * Runs the rendering benchmarks headless, prints the frame time of every hand size and writes the results
+     * as JSON.
+     *
+     * @param args the output file, the warmup iterations, the measured iterations, the iteration length in
+     *             milliseconds and a name filter, all optional.
+     * @throws IOException if the results cannot be written.
+     */
+	public static void main(String[] args) throws IOException {
+		System.setProperty("java.awt.headless", "true");
+		Path output = Paths.get((args.length > 0) ? args[0] : "render-results.json");
+		int warmup = (args.length > 1) ? Integer.parseInt(args[1]) : BenchmarkRunner.DEFAULTWARMUPITERATIONS;
+		int iterations = (args.length > 2) ? Integer.parseInt(args[2]) : BenchmarkRunner.DEFAULTITERATIONS;
+		long millis = (args.length > 3) ? Long.parseLong(args[3]) : BenchmarkRunner.DEFAULTITERATIONMILLIS;
+		String filter = (args.length > 4) ? args[4] : "";
+		
+		BenchmarkRunner runner = new BenchmarkRunner(warmup, iterations, millis);
+		List<BenchmarkResult> results = new ArrayList<BenchmarkResult>();
+		for (Benchmark benchmark : all()) {
+			if (!benchmark.getName().contains(filter)) continue;
+			BenchmarkResult result = runner.run(benchmark);
+			System.out.println(String.format(Locale.ROOT, "%-20s %10.1f us/frame", result.getName(), 1e6 / result.getOpsPerSecond()));
+			results.add(result);
+		}
+		BenchmarkRunner.writeJson(results, output);
+	}
+}
@@ -0,0 +1,271 @@
+package bench;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import ai.AiStrategy;
+import ai.Strategies;
+import ai.WeightedStrategy;
+import management.HouseRule;
+import management.RuleTable;
+import sim.BatchRunner;
+import sim.HeadlessGame;
+
+/**
+ * A macro benchmark of whole headless games in fixed scenarios, from two players to party tables with different
+ * mixes of bots and house rules, reporting games and turns per second, turn latency percentiles and allocation per turn.
+ * <p>
+ * Every scenario plays the same seeded games on every run, so the combined hash of their final states must
+ * match a golden value. A mismatch means that a change altered the outcome of games, which performance work
+ * must not do. Changes that alter outcomes on purpose have to update the golden values, which are printed
+ * by the suite.
+ * </p>
+ *
+ * @author Bedirhan Sakaoğlu
+ */
+public class ScenarioSuite {
+
+	/** Weights of the weighted bots, fixed so that tuned weights on disk cannot change the outcomes. */
+	private static final double[] WEIGHTS = {1.0, -0.5, -1.0, 0.3, 0.8, 2.0, -0.2, 0.1};
+	
+	private static final com.sun.management.ThreadMXBean THREADBEAN = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+	
+	/**
+     * A fixed configuration of seeded games.
+     */
+	public static class Scenario {
+		
+		private final String name;
+		private final String[] strategyNames;
+		private final int games;
+		private final long baseSeed;
+		private final long golden;
+		private final RuleTable rules;
+		
+		/**
+	     * Constructs a scenario played with the standard rules.
+	     *
+	     * @param name          the name of the scenario.
+	     * @param strategyNames the strategies of the seats.
+	     * @param games         the number of games to play.
+	     * @param baseSeed      the seed the game seeds are derived from.
+	     * @param golden        the expected hash of the final states of all games.
+	     */
+		public Scenario(String name, String[] strategyNames, int games, long baseSeed, long golden) {
+			this(name, strategyNames, games, baseSeed, golden, RuleTable.STANDARD);
+		}
+		
+		/**
+	     * Constructs a scenario.
+	     *
+	     * @param name          the name of the scenario.
+	     * @param strategyNames the strategies of the seats.
+	     * @param games         the number of games to play.
+	     * @param baseSeed      the seed the game seeds are derived from.
+	     * @param golden        the expected hash of the final states of all games.
+	     * @param rules         the rules the games are played with.
+	     */
+		public Scenario(String name, String[] strategyNames, int games, long baseSeed, long golden, RuleTable rules) {
+			this.name = name;
+			this.strategyNames = strategyNames;
+			this.games = games;
+			this.baseSeed = baseSeed;
+			this.golden = golden;
+			this.rules = rules;
+		}
+		
+		/**
+	     * Creates the strategies of a game.
+	     *
+	     * @param seed the seed of the game.
+	     * @return the strategies, in seating order.
+	     */
+		private AiStrategy[] strategies(long seed) {
+			AiStrategy[] strategies = new AiStrategy[strategyNames.length];
+			for (int i = 0; i < strategies.length; i++) {
+				strategies[i] = (strategyNames[i].equals(WeightedStrategy.NAME)) ? new WeightedStrategy(WEIGHTS.clone())
+						: Strategies.forName(strategyNames[i], seed + i);
+			}
+			return strategies;
+		}
+		
+		/**
+	     * Gets the name of the scenario.
+	     *
+	     * @return the name.
+	     */
+		public String getName() {
+			return name;
+		}
+	}
+	
+	/**
+     * The measurements of a scenario.
+     */
+	public static class ScenarioResult {
+		
+		private final Scenario scenario;
+		private final long hash;
+		private final int turns;
+		private final double seconds;
+		private final long p50Nanos;
+		private final long p99Nanos;
+		private final double bytesPerTurn;
+		
+		private ScenarioResult(Scenario scenario, long hash, int turns, double seconds, long p50Nanos, long p99Nanos, double bytesPerTurn) {
+			this.scenario = scenario;
+			this.hash = hash;
+			this.turns = turns;
+			this.seconds = seconds;
+			this.p50Nanos = p50Nanos;
+			this.p99Nanos = p99Nanos;
+			this.bytesPerTurn = bytesPerTurn;
+		}
+		
+		/**
+	     * Checks whether the games ended as recorded by the golden hash.
+	     *
+	     * @return true if the hash matches the golden value.
+	     */
+		public boolean matchesGolden() {
+			return hash == scenario.golden;
+		}
+		
+		/**
+	     * Formats the result as a JSON object.
+	     *
+	     * @return the JSON text.
+	     */
+		public String toJson() {
+			return String.format(Locale.ROOT, "{\"scenario\": \"%s\", \"games\": %d, \"turns\": %d, \"gamesPerSecond\": %.1f, "
+					+ "\"turnsPerSecond\": %.1f, \"p50TurnNanos\": %d, \"p99TurnNanos\": %d, \"bytesPerTurn\": %.1f, \"hash\": \"%016x\", \"golden\": %b}",
+					scenario.name, scenario.games, turns, scenario.games / seconds, turns / seconds, p50Nanos, p99Nanos,
+					bytesPerTurn, hash, matchesGolden());
+		}
+		
+		@Override
+		public String toString() {
+			return String.format(Locale.ROOT, "%-16s %9.1f games/s %11.1f turns/s  p50 %7.2f us  p99 %7.2f us %9.1f B/turn  %016x %s",
+					scenario.name, scenario.games / seconds, turns / seconds, p50Nanos / 1e3, p99Nanos / 1e3, bytesPerTurn, hash,
+					matchesGolden() ? "ok" : "MISMATCH (golden " + String.format("%016x", scenario.golden) + ")");
+		}
+	}
+	
+	/**
+     * Creates the scenarios of the suite.
+     *
+     * @return the scenarios, from the smallest table to the largest.
+     */
+	public static List<Scenario> scenarios() {
+		List<Scenario> scenarios = new ArrayList<Scenario>();
+		scenarios.add(new Scenario("2p-random", new String[] {"random", "random"}, 2000, 1L, 0x801bfe25fe89a6ebL));
+		scenarios.add(new Scenario("2p-heuristic", new String[] {"highscore", "wildhoarder"}, 2000, 2L, 0xba4e73acfc7827a4L));
+		scenarios.add(new Scenario("3p-mixed", new String[] {"random", "majoritycolor", "drawtwoattack"}, 1500, 3L, 0x3a1b210624b7606fL));
+		scenarios.add(new Scenario("4p-heuristic", new String[] {"highscore", "wildhoarder", "majoritycolor", "drawtwoattack"}, 1000, 4L, 0x7a4d3d8c9c6609e1L));
+		scenarios.add(new Scenario("6p-weighted", new String[] {"weighted", "weighted", "weighted", "random", "random", "random"}, 600, 6L, 0x8288cf6d3702d99eL));
+		scenarios.add(new Scenario("8p-mixed", new String[] {"random", "highscore", "wildhoarder", "majoritycolor",
+				"drawtwoattack", "weighted", "random", "highscore"}, 400, 8L, 0x67f1a16248d2c9e4L));
+		scenarios.add(new Scenario("10p-random", new String[] {"random", "random", "random", "random", "random",
+				"random", "random", "random", "random", "random"}, 300, 10L, 0x9e554befc6a14cceL));
+		scenarios.add(new Scenario("10p-drawtwo", new String[] {"drawtwoattack", "drawtwoattack", "drawtwoattack", "drawtwoattack",
+				"drawtwoattack", "wildhoarder", "wildhoarder", "wildhoarder", "wildhoarder", "wildhoarder"}, 300, 11L, 0x53219dae1d93db4dL));
+		scenarios.add(new Scenario("40p-party", table(40, "random", "highscore", "majoritycolor", "drawtwoattack"), 60, 40L, 0x4f720415ba9c7e3dL));
+		scenarios.add(new Scenario("4p-official", new String[] {"highscore", "wildhoarder", "majoritycolor", "drawtwoattack"}, 1000, 4L, 0x479bb170ef20388eL,
+				RuleTable.of()));
+		scenarios.add(new Scenario("4p-houserules", new String[] {"highscore", "wildhoarder", "majoritycolor", "drawtwoattack"}, 1000, 4L, 0x80d15ebb7e38279eL,
+				RuleTable.of(HouseRule.STACKING, HouseRule.SEVENO, HouseRule.JUMPIN, HouseRule.DRAWUNTILPLAYABLE)));
+		// Ten hands leave a short draw pile, so stacked penalties often outgrow it and draw from a reshuffle sized to them.
+		scenarios.add(new Scenario("10p-stacking", table(10, "drawtwoattack", "drawtwoattack", "wildhoarder"), 300, 12L, 0x9af551069d2305adL,
+				RuleTable.of(HouseRule.STACKING, HouseRule.DRAWUNTILPLAYABLE)));
+		return scenarios;
+	}
+	
+	/**
+     * Seats a large table by repeating a few strategies.
+     *
+     * @param players       the number of players.
+     * @param strategyNames the strategies, seated in turn.
+     * @return the strategy of every seat.
+     */
+	private static String[] table(int players, String... strategyNames) {
+		String[] seats = new String[players];
+		for (int seat = 0; seat < players; seat++) {
+			seats[seat] = strategyNames[seat % strategyNames.length];
+		}
+		return seats;
+	}
+	
+	/**
+     * Plays all games of a scenario on the calling thread.
+     *
+     * @param scenario the scenario.
+     * @return the measurements.
+     */
+	public static ScenarioResult run(Scenario scenario) {
+		long[] turnNanos = new long[1 << 16];
+		int[] timedTurns = new int[1];
+		long hash = 0;
+		int turns = 0;
+		
+		long bytes = THREADBEAN.getCurrentThreadAllocatedBytes();
+		long start = System.nanoTime();
+		for (int i = 0; i < scenario.games; i++) {
+			long seed = BatchRunner.seedOf(scenario.baseSeed, i);
+			HeadlessGame game = new HeadlessGame(seed, scenario.strategies(seed), scenario.rules);
+			game.setTurnTimer(nanos -> {
+				// Samples wrap around once the buffer is full, which keeps the percentiles of the latest turns.
+				turnNanos[timedTurns[0]++ & (turnNanos.length - 1)] = nanos;
+			});
+			turns += game.play().getTurns();
+			hash = hash * 31 + game.stateHash();
+		}
+		double seconds = (System.nanoTime() - start) / 1e9;
+		bytes = THREADBEAN.getCurrentThreadAllocatedBytes() - bytes;
+		
+		long[] samples = Arrays.copyOf(turnNanos, Math.min(timedTurns[0], turnNanos.length));
+		Arrays.sort(samples);
+		long p50 = (samples.length == 0) ? 0 : samples[(int) (samples.length * 0.50)];
+		long p99 = (samples.length == 0) ? 0 : samples[(int) (samples.length * 0.99)];
+		return new ScenarioResult(scenario, hash, turns, seconds, p50, p99, (double) bytes / turns);
+	}
+	
+	/**
+     * Runs the suite, once to warm up and once measured, and exits with status 1 if a hash does not match its golden value.
+     *
+     * @param args the JSON output file and a scenario name filter, both optional.
+     * @throws IOException if the results cannot be written.
+     */
+	public static void main(String[] args) throws IOException {
+		Path output = Paths.get((args.length > 0) ? args[0] : "scenario-results.json");
+		String filter = (args.length > 1) ? args[1] : "";
+		
+		List<Scenario> scenarios = new ArrayList<Scenario>();
+		for (Scenario scenario : scenarios()) {
+			if (scenario.name.contains(filter)) scenarios.add(scenario);
+		}
+		for (Scenario scenario : scenarios) {
+			run(scenario);
+		}
+		
+		boolean allMatch = true;
+		StringBuilder json = new StringBuilder("[").append(System.lineSeparator());
+		for (int i = 0; i < scenarios.size(); i++) {
+			ScenarioResult result = run(scenarios.get(i));
+			System.out.println(result);
+			allMatch &= result.matchesGolden();
+			json.append("  ").append(result.toJson()).append((i < scenarios.size() - 1) ? "," : "").append(System.lineSeparator());
+		}
+		json.append("]").append(System.lineSeparator());
+		if (output.getParent() != null) Files.createDirectories(output.getParent());
+		Files.write(output, json.toString().getBytes(StandardCharsets.UTF_8));
+		if (!allMatch) System.exit(1);
+	}
+}
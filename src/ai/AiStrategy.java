@@ -0,0 +1,45 @@
+package ai;
+
+import uno.EColor;
+
+/**
+ * Decision policy of an AI player.
+ * <p>
+ * A strategy is asked to pick one of the legal moves whenever the AI player has at least one
+ * playable card, and to pick a color whenever the chosen card is a wild card. Drawing is not a
+ * decision; the player draws only when there is nothing to play.
+ * </p>
+ * <p>
+ * Strategies are run in mass simulation, so implementations must not allocate per decision.
+ * A strategy instance belongs to a single player and is never called from two threads at once.
+ * </p>
+ *
+ * @author Bedirhan Sakaoğlu
+ */
+public interface AiStrategy {
+
+	/**
+     * Chooses the card to play.
+     *
+     * @param moves the legal moves of this turn, never empty.
+     * @param state the read-only view of the game.
+     * @return the index of the chosen move in {@code moves}.
+     */
+	int chooseMove(LegalMoves moves, GameStateView state);
+	
+	/**
+     * Chooses the color for a wild card that has just been picked.
+     *
+     * @param moves the legal moves of this turn, giving access to the whole hand.
+     * @param state the read-only view of the game.
+     * @return one of {@link EColor#RED}, {@link EColor#GREEN}, {@link EColor#BLUE} or {@link EColor#YELLOW}.
+     */
+	EColor chooseColor(LegalMoves moves, GameStateView state);
+	
+	/**
+     * Gets the name of the strategy, as accepted by {@link Strategies#forName(String)}.
+     *
+     * @return the name of the strategy.
+     */
+	String getName();
+}
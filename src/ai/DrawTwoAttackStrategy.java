@@ -0,0 +1,59 @@
+package ai;
+
+import uno.Action;
+
+/**
+ * Strategy that attacks the next player once they are close to going out.
+ * <p>
+ * When the next player holds few cards, a Draw Two is played on them if possible, then a
+ * Wild Draw Four and then a Skip. Otherwise attack cards are held back and the highest scoring
+ * other card is played.
+ * </p>
+ *
+ * @author Bedirhan Sakaoğlu
+ */
+public class DrawTwoAttackStrategy extends HeuristicStrategy {
+
+	public static final String NAME = "drawtwoattack";
+	
+	private final int threshold;
+	
+	/**
+     * Constructs an attacking strategy that strikes when the next player holds 3 cards or fewer.
+     */
+	public DrawTwoAttackStrategy() {
+		this(3);
+	}
+	
+	/**
+     * Constructs an attacking strategy with the given threshold.
+     *
+     * @param threshold the hand size of the next player at or below which to attack.
+     */
+	public DrawTwoAttackStrategy(int threshold) {
+		this.threshold = threshold;
+	}
+	
+	@Override
+	public int chooseMove(LegalMoves moves, GameStateView state) {
+		if (state.getNextPlayerHandSize() <= threshold) {
+			int attack = firstWithAction(moves, Action.DRAWTWO);
+			if (attack == -1) attack = firstWithAction(moves, Action.WILDFOUR);
+			if (attack == -1) attack = firstWithAction(moves, Action.SKIP);
+			if (attack != -1) return attack;
+		}
+		
+		int best = -1;
+		for (int i = 0; i < moves.size(); i++) {
+			Action action = moves.get(i).getAction();
+			if (action == Action.DRAWTWO || action == Action.WILDFOUR || action == Action.SKIP) continue;
+			if (best == -1 || moves.get(i).getScore() > moves.get(best).getScore()) best = i;
+		}
+		return (best == -1) ? highestScore(moves, true) : best;
+	}
+
+	@Override
+	public String getName() {
+		return NAME;
+	}
+}
@@ -0,0 +1,67 @@
+package ai;
+
+import uno.Card;
+import uno.EColor;
+
+/**
+ * Read-only view of a game session as seen by a single AI player.
+ * <p>
+ * Strategies only get to look at the game through this interface, so they can neither
+ * mutate the session nor peek at the hands of other players. Implementations are expected
+ * to answer every query without allocating.
+ * </p>
+ *
+ * @author Bedirhan Sakaoğlu
+ */
+public interface GameStateView {
+
+	/**
+     * Gets the card on top of the discard pile.
+     *
+     * @return the top card of the discard pile.
+     */
+	Card getCardTopDeck();
+	
+	/**
+     * Gets the color that has to be matched, including a color chosen for a wild card.
+     *
+     * @return the active color.
+     */
+	EColor getCurrentColor();
+	
+	/**
+     * Checks if a given card can be played on the current top card.
+     *
+     * @param card the card to check.
+     * @return true if the card is playable, otherwise false.
+     */
+	boolean cardIsPlayable(Card card);
+	
+	/**
+     * Gets the number of cards left in the draw pile.
+     *
+     * @return the size of the draw pile.
+     */
+	int getDrawPileSize();
+	
+	/**
+     * Gets the number of players seated in the session.
+     *
+     * @return the number of players.
+     */
+	int getNumberOfPlayers();
+	
+	/**
+     * Gets the number of cards in the hand of the player this view belongs to.
+     *
+     * @return the size of the player's own hand.
+     */
+	int getHandSize();
+	
+	/**
+     * Gets the number of cards in the hand of the player who plays after this one.
+     *
+     * @return the size of the next player's hand.
+     */
+	int getNextPlayerHandSize();
+}
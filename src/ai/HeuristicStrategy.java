@@ -0,0 +1,108 @@
+package ai;
+
+import java.util.List;
+
+import uno.Action;
+import uno.Card;
+import uno.EColor;
+
+/**
+ * Base class for the cheap heuristic strategies.
+ * <p>
+ * Provides the shared color choice, which is the color the player holds the most cards of,
+ * and a few allocation-free helpers for scanning the legal moves.
+ * </p>
+ *
+ * @author Bedirhan Sakaoğlu
+ */
+public abstract class HeuristicStrategy implements AiStrategy {
+
+	/** The colors a wild card can be set to, in tie-breaking order. */
+	protected static final EColor[] COLORS = {EColor.RED, EColor.GREEN, EColor.BLUE, EColor.YELLOW};
+	
+	/**
+     * Chooses the color the player holds the most cards of.
+     *
+     * @param moves the legal moves of this turn.
+     * @param state the read-only view of the game.
+     * @return the majority color of the hand.
+     */
+	@Override
+	public EColor chooseColor(LegalMoves moves, GameStateView state) {
+		return majorityColor(moves.getHand());
+	}
+	
+	/**
+     * Finds the color the hand holds the most cards of, ignoring wild cards.
+     *
+     * @param hand the hand to scan.
+     * @return the majority color, red if the hand holds only wild cards.
+     */
+	protected static EColor majorityColor(List<Card> hand) {
+		EColor best = COLORS[0];
+		int bestCount = -1;
+		for (EColor color : COLORS) {
+			int count = countColor(hand, color);
+			if (count > bestCount) {
+				best = color; bestCount = count;
+			}
+		}
+		return best;
+	}
+	
+	/**
+     * Counts the cards of a color in a hand.
+     *
+     * @param hand  the hand to scan.
+     * @param color the color to count.
+     * @return the number of cards of that color.
+     */
+	protected static int countColor(List<Card> hand, EColor color) {
+		int count = 0;
+		for (int i = 0; i < hand.size(); i++) {
+			if (hand.get(i).getColorEnum() == color) count++;
+		}
+		return count;
+	}
+	
+	/**
+     * Checks if a card is a wild card.
+     *
+     * @param card the card to check.
+     * @return true if the card is a Wild or a Wild Draw Four, otherwise false.
+     */
+	protected static boolean isWild(Card card) {
+		return card.getAction() == Action.WILD || card.getAction() == Action.WILDFOUR;
+	}
+	
+	/**
+     * Finds the legal move with the highest score.
+     *
+     * @param moves       the legal moves of this turn.
+     * @param includeWild whether wild cards may be chosen.
+     * @return the index of the highest scoring move, or -1 if no move qualifies.
+     */
+	protected static int highestScore(LegalMoves moves, boolean includeWild) {
+		int best = -1;
+		for (int i = 0; i < moves.size(); i++) {
+			Card card = moves.get(i);
+			if (!includeWild && isWild(card)) continue;
+			if (best == -1 || card.getScore() > moves.get(best).getScore()) best = i;
+		}
+		return best;
+	}
+	
+	/**
+     * Finds the first legal move with a given action.
+     *
+     * @param moves  the legal moves of this turn.
+     * @param action the action to look for.
+     * @return the index of the first matching move, or -1 if there is none.
+     */
+	protected static int firstWithAction(LegalMoves moves, Action action) {
+		for (int i = 0; i < moves.size(); i++) {
+			if (moves.get(i).getAction() == action) return i;
+		}
+		return -1;
+	}
+}
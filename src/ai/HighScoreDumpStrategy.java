@@ -0,0 +1,25 @@
+package ai;
+
+/**
+ * Strategy that always gets rid of the card worth the most points.
+ * <p>
+ * Wild cards are worth the most, so they are dumped first, followed by action cards and then
+ * the highest numbers. This minimizes the penalty if another player goes out first.
+ * </p>
+ *
+ * @author Bedirhan Sakaoğlu
+ */
+public class HighScoreDumpStrategy extends HeuristicStrategy {
+
+	public static final String NAME = "highscore";
+	
+	@Override
+	public int chooseMove(LegalMoves moves, GameStateView state) {
+		return highestScore(moves, true);
+	}
+
+	@Override
+	public String getName() {
+		return NAME;
+	}
+}
@@ -0,0 +1,76 @@
+package ai;
+
+import java.util.List;
+
+import uno.Card;
+import uno.Decks;
+
+/**
+ * Reusable buffer holding the cards a player is allowed to play this turn.
+ * <p>
+ * Each AI player owns one instance and refills it at the start of every turn, so collecting
+ * the legal moves does not allocate. The buffer is sized for a whole deck from the start.
+ * </p>
+ *
+ * @author Bedirhan Sakaoğlu
+ */
+public final class LegalMoves {
+
+	private Card[] moves = new Card[Decks.DECKSIZE];
+	private int size;
+	private List<Card> hand;
+	
+	/**
+     * Refills the buffer with the playable cards of a hand.
+     *
+     * @param hand  the hand of the player whose turn it is.
+     * @param state the state used to check the playability of each card.
+     */
+	public void collect(List<Card> hand, GameStateView state) {
+		this.hand = hand;
+		size = 0;
+		if (moves.length < hand.size()) moves = new Card[hand.size() * 2];
+		for (int i = 0; i < hand.size(); i++) {
+			Card card = hand.get(i);
+			if (state.cardIsPlayable(card)) moves[size++] = card;
+		}
+	}
+	
+	/**
+     * Gets the number of legal moves.
+     *
+     * @return the number of playable cards.
+     */
+	public int size() {
+		return size;
+	}
+	
+	/**
+     * Checks if there are no legal moves, meaning the player has to draw.
+     *
+     * @return true if no card can be played, otherwise false.
+     */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+	
+	/**
+     * Gets a legal move by its index.
+     *
+     * @param index the index of the move, between 0 and {@link #size()} exclusive.
+     * @return the playable card at that index.
+     */
+	public Card get(int index) {
+		if (index < 0 || index >= size) throw new IndexOutOfBoundsException(index);
+		return moves[index];
+	}
+	
+	/**
+     * Gets the whole hand the moves were collected from. The list must not be modified.
+     *
+     * @return the hand of the player whose turn it is.
+     */
+	public List<Card> getHand() {
+		return hand;
+	}
+}
@@ -0,0 +1,36 @@
+package ai;
+
+import uno.Card;
+import uno.EColor;
+
+/**
+ * Strategy that steers the game towards the color it holds the most cards of.
+ * <p>
+ * Cards of the majority color are preferred, highest score first, so that the active color
+ * keeps matching the hand. Wild cards are set to the majority color as well.
+ * </p>
+ *
+ * @author Bedirhan Sakaoğlu
+ */
+public class MajorityColorStrategy extends HeuristicStrategy {
+
+	public static final String NAME = "majoritycolor";
+	
+	@Override
+	public int chooseMove(LegalMoves moves, GameStateView state) {
+		EColor majority = majorityColor(moves.getHand());
+		int best = -1;
+		for (int i = 0; i < moves.size(); i++) {
+			Card card = moves.get(i);
+			if (card.getColorEnum() != majority) continue;
+			if (best == -1 || card.getScore() > moves.get(best).getScore()) best = i;
+		}
+		if (best == -1) best = highestScore(moves, false);
+		return (best == -1) ? 0 : best;
+	}
+
+	@Override
+	public String getName() {
+		return NAME;
+	}
+}
@@ -0,0 +1,55 @@
+package ai;
+
+import java.security.SecureRandom;
+import java.util.Random;
+
+import uno.EColor;
+
+/**
+ * Strategy that plays a uniformly random legal card and picks a random color for wild cards.
+ * <p>
+ * This is the original behaviour of {@link management.AiPlayer}. The random generator is
+ * created once per strategy instead of once per move, and can be seeded for reproducible games.
+ * </p>
+ *
+ * @author Bedirhan Sakaoğlu
+ */
+public class RandomStrategy implements AiStrategy {
+
+	public static final String NAME = "random";
+	
+	private static final EColor[] COLORS = {EColor.RED, EColor.GREEN, EColor.BLUE, EColor.YELLOW};
+	
+	private final Random random;
+	
+	/**
+     * Constructs a random strategy with an unpredictable seed.
+     */
+	public RandomStrategy() {
+		this(new SecureRandom().nextLong());
+	}
+	
+	/**
+     * Constructs a random strategy with the given seed.
+     *
+     * @param seed the seed of the random generator.
+     */
+	public RandomStrategy(long seed) {
+		random = new Random(seed);
+	}
+	
+	@Override
+	public int chooseMove(LegalMoves moves, GameStateView state) {
+		return random.nextInt(moves.size());
+	}
+
+	@Override
+	public EColor chooseColor(LegalMoves moves, GameStateView state) {
+		return COLORS[random.nextInt(COLORS.length)];
+	}
+
+	@Override
+	public String getName() {
+		return NAME;
+	}
+}
@@ -0,0 +1,69 @@
+package ai;
+
+/**
+ * Factory for the built-in AI strategies.
+ * <p>
+ * Strategies are looked up by the name returned from {@link AiStrategy#getName()}, which lets
+ * configuration files and game logs refer to them as plain text.
+ * </p>
+ *
+ * @author Bedirhan Sakaoğlu
+ */
+public final class Strategies {
+
+	private static final String[] NAMES = {RandomStrategy.NAME, HighScoreDumpStrategy.NAME, WildHoarderStrategy.NAME,
+			MajorityColorStrategy.NAME, DrawTwoAttackStrategy.NAME, WeightedStrategy.NAME};
+	
+	private Strategies() {}
+	
+	/**
+     * Creates a new instance of the strategy with the given name.
+     *
+     * @param name the name of the strategy.
+     * @return a new strategy instance.
+     * @throws IllegalArgumentException if there is no strategy with that name.
+     */
+	public static AiStrategy forName(String name) {
+		return (name.equals(RandomStrategy.NAME)) ? new RandomStrategy() : forName(name, 0);
+	}
+	
+	/**
+     * Creates a new instance of the strategy with the given name, seeding it if it uses randomness.
+     * Used by simulations that have to be reproducible.
+     *
+     * @param name the name of the strategy.
+     * @param seed the seed for strategies that use randomness.
+     * @return a new strategy instance.
+     * @throws IllegalArgumentException if there is no strategy with that name.
+     */
+	public static AiStrategy forName(String name, long seed) {
+		switch (name) {
+			case RandomStrategy.NAME: return new RandomStrategy(seed);
+			case HighScoreDumpStrategy.NAME: return new HighScoreDumpStrategy();
+			case WildHoarderStrategy.NAME: return new WildHoarderStrategy();
+			case MajorityColorStrategy.NAME: return new MajorityColorStrategy();
+			case DrawTwoAttackStrategy.NAME: return new DrawTwoAttackStrategy();
+			case WeightedStrategy.NAME: return new WeightedStrategy();
+			default: throw new IllegalArgumentException("There exists no strategy with the name: ".concat(name));
+		}
+	}
+	
+	/**
+     * Creates the strategy used by AI players that were not given one.
+     * This is the weighted strategy if tuned weights have been exported, otherwise the random strategy.
+     *
+     * @return a new strategy instance.
+     */
+	public static AiStrategy defaultStrategy() {
+		return (WeightedStrategy.hasTunedWeights()) ? new WeightedStrategy() : new RandomStrategy();
+	}
+	
+	/**
+     * Gets the names of all built-in strategies.
+     *
+     * @return the strategy names.
+     */
+	public static String[] names() {
+		return NAMES.clone();
+	}
+}
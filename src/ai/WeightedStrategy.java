@@ -0,0 +1,208 @@
+package ai;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Scanner;
+
+import uno.Action;
+import uno.Card;
+import uno.EColor;
+
+/**
+ * Strategy that scores every legal move as a weighted sum of features and plays the best one.
+ * <p>
+ * The weights are a plain vector so they can be tuned by self-play instead of being guessed by hand.
+ * Tuned weights are exported to {@link #DEFAULT_WEIGHTS_PATH}, which is read once at startup and
+ * used by every AI player created with the default strategy.
+ * </p>
+ * <p>
+ * The features of a card, in weight order:
+ * <ul>
+ *     <li>SCORE: the card's score divided by 50.</li>
+ *     <li>WILD: 1 for a Wild.</li>
+ *     <li>WILDFOUR: 1 for a Wild Draw Four.</li>
+ *     <li>ACTION: 1 for a Draw Two, Reverse or Skip.</li>
+ *     <li>MAJORITY: 1 if the card has the color the hand holds the most of.</li>
+ *     <li>ATTACK: 1 for a Draw Two, Wild Draw Four or Skip while the next player holds 3 cards or fewer.</li>
+ *     <li>COLORCHANGE: 1 if the card changes the active color.</li>
+ *     <li>NUMBER: the number of a number card divided by 9.</li>
+ * </ul>
+ * </p>
+ *
+ * @author Bedirhan Sakaoğlu
+ */
+public class WeightedStrategy extends HeuristicStrategy {
+
+	public static final String NAME = "weighted";
+	public static final int NUMBEROFWEIGHTS = 8;
+	public static final Path DEFAULT_WEIGHTS_PATH = Paths.get("Data", "ai_weights.txt");
+	
+	private static final double[] FALLBACK_WEIGHTS = {1.0, -0.5, -1.0, 0.3, 0.8, 2.0, -0.2, 0.1};
+	private static double[] defaultWeights;
+	
+	private final double[] weights;
+	
+	/**
+     * Constructs a weighted strategy with the default weights.
+     */
+	public WeightedStrategy() {
+		this(defaultWeights());
+	}
+	
+	/**
+     * Constructs a weighted strategy with the given weights.
+     *
+     * @param weights the feature weights, {@link #NUMBEROFWEIGHTS} of them.
+     * @throws IllegalArgumentException if the number of weights is wrong.
+     */
+	public WeightedStrategy(double[] weights) {
+		if (weights.length != NUMBEROFWEIGHTS) throw new IllegalArgumentException("Expected " + NUMBEROFWEIGHTS + " weights, got " + weights.length);
+		this.weights = weights.clone();
+	}
+	
+	@Override
+	public int chooseMove(LegalMoves moves, GameStateView state) {
+		EColor majority = majorityColor(moves.getHand());
+		boolean nextIsClose = state.getNextPlayerHandSize() <= 3;
+		
+		int best = 0;
+		double bestValue = Double.NEGATIVE_INFINITY;
+		for (int i = 0; i < moves.size(); i++) {
+			double value = evaluate(moves.get(i), state, majority, nextIsClose);
+			if (value > bestValue) {
+				best = i; bestValue = value;
+			}
+		}
+		return best;
+	}
+	
+	/**
+     * Computes the weighted sum of the features of a card.
+     *
+     * @param card        the card to evaluate.
+     * @param state       the read-only view of the game.
+     * @param majority    the majority color of the hand.
+     * @param nextIsClose whether the next player is close to going out.
+     * @return the value of playing the card.
+     */
+	private double evaluate(Card card, GameStateView state, EColor majority, boolean nextIsClose) {
+		Action action = card.getAction();
+		boolean isAction = action == Action.DRAWTWO || action == Action.REVERSE || action == Action.SKIP;
+		boolean isAttack = action == Action.DRAWTWO || action == Action.WILDFOUR || action == Action.SKIP;
+		
+		double value = weights[0] * card.getScore() / 50.0;
+		if (action == Action.WILD) value += weights[1];
+		if (action == Action.WILDFOUR) value += weights[2];
+		if (isAction) value += weights[3];
+		if (card.getColorEnum() == majority) value += weights[4];
+		if (isAttack && nextIsClose) value += weights[5];
+		if (card.getColorEnum() != state.getCurrentColor()) value += weights[6];
+		if (action == Action.NUMBER) value += weights[7] * card.getScore() / 9.0;
+		return value;
+	}
+
+	@Override
+	public String getName() {
+		return NAME;
+	}
+	
+	/**
+     * Gets a copy of the weights of this strategy.
+     *
+     * @return the feature weights.
+     */
+	public double[] getWeights() {
+		return weights.clone();
+	}
+	
+	/**
+     * Gets the weights used by default, read once from {@link #DEFAULT_WEIGHTS_PATH}.
+     * Falls back to hand-picked weights if no tuned weights have been exported.
+     *
+     * @return a copy of the default weights.
+     */
+	public static synchronized double[] defaultWeights() {
+		if (defaultWeights == null) {
+			double[] loaded = readWeights(DEFAULT_WEIGHTS_PATH);
+			defaultWeights = (loaded != null) ? loaded : FALLBACK_WEIGHTS;
+		}
+		return defaultWeights.clone();
+	}
+	
+	/**
+     * Checks if tuned weights have been exported to {@link #DEFAULT_WEIGHTS_PATH}.
+     *
+     * @return true if the weights file exists, otherwise false.
+     */
+	public static boolean hasTunedWeights() {
+		return DEFAULT_WEIGHTS_PATH.toFile().isFile();
+	}
+	
+	/**
+     * Reads a weights file. The file holds one line with the weights separated by commas.
+     *
+     * @param filePath the path to the weights file.
+     * @return the weights read from the file, or null if the file is missing or malformed.
+     */
+	public static double[] readWeights(Path filePath) {
+		File file = new File(filePath.toString());
+		try (Scanner input = new Scanner(file)) {
+			if (!input.hasNextLine()) return null;
+			double[] weights = parseWeights(input.nextLine());
+			return (weights.length == NUMBEROFWEIGHTS) ? weights : null;
+		} catch (FileNotFoundException | NumberFormatException e) {
+			return null;
+		}
+	}
+	
+	/**
+     * Writes weights to a file in the format read by {@link #readWeights(Path)}.
+     *
+     * @param filePath the path to the weights file.
+     * @param weights  the weights to write.
+     */
+	public static void writeWeights(Path filePath, double[] weights) {
+		try (BufferedWriter writer = new BufferedWriter(new FileWriter(filePath.toString()))) {
+			writer.write(formatWeights(weights));
+			writer.newLine();
+		} catch (IOException e) {
+			System.out.println(e.getMessage());
+		}
+	}
+	
+	/**
+     * Formats weights as a comma separated line.
+     *
+     * @param weights the weights to format.
+     * @return the formatted weights.
+     */
+	public static String formatWeights(double[] weights) {
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < weights.length; i++) {
+			if (i > 0) builder.append(',');
+			builder.append(weights[i]);
+		}
+		return builder.toString();
+	}
+	
+	/**
+     * Parses a comma separated line of weights.
+     *
+     * @param line the line to parse.
+     * @return the parsed weights.
+     * @throws NumberFormatException if a weight is not a number.
+     */
+	public static double[] parseWeights(String line) {
+		String[] parts = line.trim().split(",");
+		double[] weights = new double[parts.length];
+		for (int i = 0; i < parts.length; i++) {
+			weights[i] = Double.parseDouble(parts[i]);
+		}
+		return weights;
+	}
+}
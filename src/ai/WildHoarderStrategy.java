@@ -0,0 +1,29 @@
+package ai;
+
+import uno.Action;
+
+/**
+ * Strategy that keeps its wild cards for as long as possible.
+ * <p>
+ * The highest scoring colored card is played whenever there is one. A Wild is only played when
+ * nothing else fits, and a Wild Draw Four is kept until it is the last option.
+ * </p>
+ *
+ * @author Bedirhan Sakaoğlu
+ */
+public class WildHoarderStrategy extends HeuristicStrategy {
+
+	public static final String NAME = "wildhoarder";
+	
+	@Override
+	public int chooseMove(LegalMoves moves, GameStateView state) {
+		int choice = highestScore(moves, false);
+		if (choice == -1) choice = firstWithAction(moves, Action.WILD);
+		return (choice == -1) ? 0 : choice;
+	}
+
+	@Override
+	public String getName() {
+		return NAME;
+	}
+}
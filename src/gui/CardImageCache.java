@@ -0,0 +1,142 @@
+package gui;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.ConcurrentHashMap;
+
+import uno.Action;
+import uno.Card;
+import uno.EColor;
+import uno.NumberCard;
+
+/**
+ * Cache of pre-rendered card faces.
+ * <p>
+ * Every card kind is rendered once per pixel size and then only copied onto the screen, so painting a hand
+ * costs one image copy per visible card no matter how the card looks. The images are built lazily, the first
+ * time a kind is painted at a size, and kept for the lifetime of the application. A new set is built when
+ * the resolution changes, for example when a window is moved to a screen with a different scale.
+ * </p>
+ *
+ * @author Bedirhan Sakaoğlu
+ */
+public class CardImageCache {
+
+	private static final CardImageCache SHARED = new CardImageCache();
+	
+	private static final Color WILDCOLOR = new Color(30, 30, 30);
+	private static final Color EDGECOLOR = new Color(245, 245, 245);
+	
+	private final ConcurrentHashMap<Long, BufferedImage[]> imagesBySize = new ConcurrentHashMap<Long, BufferedImage[]>();
+	
+	/**
+     * Gets the cache shared by all hand components.
+     *
+     * @return the shared cache.
+     */
+	public static CardImageCache get() {
+		return SHARED;
+	}
+	
+	/**
+     * Gets the face of a card at the given pixel size, rendering it the first time it is asked for.
+     * The face only depends on the kind of the card, a wild card is always rendered without a chosen color.
+     *
+     * @param card   the card.
+     * @param width  the width of the image in pixels.
+     * @param height the height of the image in pixels.
+     * @return the image of the card.
+     */
+	public BufferedImage getImage(Card card, int width, int height) {
+		BufferedImage[] images = imagesBySize.computeIfAbsent(((long)width << 32) | height, size -> new BufferedImage[Card.NUMBEROFKINDS]);
+		BufferedImage image = images[card.getKind()];
+		if (image == null) {
+			image = render(card, width, height);
+			images[card.getKind()] = image;
+		}
+		return image;
+	}
+	
+	/**
+     * Gets the number of sizes card faces have been rendered at.
+     *
+     * @return the number of sizes.
+     */
+	public int getSizeCount() {
+		return imagesBySize.size();
+	}
+	
+	/**
+     * Renders the face of a card.
+     *
+     * @param card   the card.
+     * @param width  the width of the image in pixels.
+     * @param height the height of the image in pixels.
+     * @return the rendered image.
+     */
+	private static BufferedImage render(Card card, int width, int height) {
+		BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+		Graphics2D g = image.createGraphics();
+		g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+		g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+		
+		int arc = Math.max(4, width / 6);
+		int edge = Math.max(2, width / 25);
+		g.setColor(EDGECOLOR);
+		g.fillRoundRect(0, 0, width, height, arc, arc);
+		g.setColor(colorOf(card));
+		g.fillRoundRect(edge, edge, width - 2 * edge, height - 2 * edge, arc - edge, arc - edge);
+		
+		AffineTransform transform = g.getTransform();
+		g.rotate(Math.toRadians(30), width / 2.0, height / 2.0);
+		g.setColor(new Color(255, 255, 255, 60));
+		g.fillOval(width / 8, height / 5, width * 3 / 4, height * 3 / 5);
+		g.setTransform(transform);
+		
+		String label = labelOf(card);
+		boolean isNumber = card.getAction() == Action.NUMBER;
+		Font font = new Font(Font.SANS_SERIF, Font.BOLD, Math.max(6, isNumber ? width * 2 / 5 : width / 8));
+		g.setFont(font);
+		FontMetrics metrics = g.getFontMetrics();
+		int x = (width - metrics.stringWidth(label)) / 2;
+		int y = (height - metrics.getHeight()) / 2 + metrics.getAscent();
+		g.setColor(Color.black);
+		g.drawString(label, x + 1, y + 1);
+		g.setColor(Color.white);
+		g.drawString(label, x, y);
+		
+		g.setFont(font.deriveFont(Math.max(6f, width / 9f)));
+		metrics = g.getFontMetrics();
+		String corner = isNumber ? label : label.substring(0, 1);
+		g.drawString(corner, edge * 3, edge * 2 + metrics.getAscent());
+		g.dispose();
+		return image;
+	}
+	
+	/**
+     * Gets the color a card is rendered in, which only depends on its kind.
+     *
+     * @param card the card.
+     * @return the color of the card face.
+     */
+	private static Color colorOf(Card card) {
+		if (card.getKind() < 2) return WILDCOLOR;
+		return EColor.values()[(card.getKind() - 2) / 13].getColor();
+	}
+	
+	/**
+     * Gets the text shown on a card, the same text the top deck label uses.
+     *
+     * @param card the card.
+     * @return the text of the card.
+     */
+	private static String labelOf(Card card) {
+		if (card.getAction() == Action.NUMBER) return Integer.toString(((NumberCard)card).getNumberInt());
+		return card.getAction().toString();
+	}
+}
@@ -1,170 +1,147 @@
 package gui;
 
-import java.awt.Container;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.util.ArrayList;
-
-import javax.swing.JLabel;
 
 import gui.GameWindow.GamePanel;
-import gui.GameWindow.GamePanel.PlayerLabel;
-import gui.GameWindow.WinnerPanel;
 import management.AiPlayer;
-import management.GameLogListener;
 import management.GameSession;
 import management.Player;
-import uno.Action;
-import uno.ActionCard;
+import management.RuleTable;
+import management.TurnCursor;
 import uno.Card;
-import uno.WildCard;
 
 /**
  * ActionListener implementation for managing the game loop events.
- * Responsible for handling actions triggered during the game loop, such as card button clicks.
+ * Responsible for handling actions triggered during the game loop, such as clicks on the cards of the player's hand.
+ * Whose turn it is and the direction of play are kept by the {@link TurnCursor} of the session,
+ * the cards played are applied by the session by the rules compiled into its {@link RuleTable}, the same rules headless games are played by.
  */
 public class GameLoopActionListener implements ActionListener {
 
-	private GameLogListener logListener = new GameLogListener();
-	
 	private GameSession gameSession;
 	private GamePanel gamePanel;
-	private JLabel topDeckLabel;
-	private GameWindow gameWindow;
-	private boolean startReversed;
-
-	public boolean skippedPlayer = false;
+	
 	public int cardsToDraw = 0;
+	public boolean handsChanged = false;
 	
 	/**
      * Constructs a new GameLoopActionListener instance.
-     * @param gameWindow The main game window.
      * @param gameSession The ongoing game session.
      * @param gamePanel The game panel containing UI components.
-     * @param topDeckLabel The label displaying the top card of the deck.
-     * @param startReversed Indicates whether the game starts in reverse order.
      */
-	public GameLoopActionListener(GameWindow gameWindow, GameSession gameSession, GamePanel gamePanel, JLabel topDeckLabel, boolean startReversed) {
+	public GameLoopActionListener(GameSession gameSession, GamePanel gamePanel) {
 		super();
 		this.gameSession = gameSession;
 		this.gamePanel = gamePanel;
-		this.topDeckLabel = topDeckLabel;
-		this.startReversed = startReversed;
-		this.gameWindow = gameWindow;
 	}
-
+	
 	/**
      * Handles action events triggered during the game loop.
      * @param e The ActionEvent triggered by the user.
      */
 	@Override
 	public void actionPerformed(ActionEvent e) {
-		if (e.getSource().getClass().getSimpleName().equals("CardButton")) {
-			Player winnerBot = performGameLoop();
-			if (winnerBot != null) {
-				Container mainFrame = gamePanel.getPane().getParent();
-				gamePanel.getPane().setVisible(false);
-				mainFrame.remove(gamePanel.getPane());
-				mainFrame.add(gameWindow.new WinnerPanel(gamePanel, winnerBot));
-				mainFrame.repaint();
-				mainFrame.revalidate();
-			}
+		if (e.getSource() instanceof HandComponent) {
+			performGameLoop(true);
 		}
 	}
 	
+	/**
+     * Lets the bots play after the player passed without playing a card, see {@link management.HouseRule#DRAWUNTILPLAYABLE}.
+     */
+	public void performPass() {
+		performGameLoop(false);
+	}
+	
 	/**
      * Performs the main game loop logic.
-     * Iterates through players, allowing them to play their turns.
-     * Checks for special actions and updates the game state accordingly.
+     * Applies the card the player just played, then lets the bots play their turns until the turn comes back to the player.
+     * The rules are those of the session, shared with headless games: a bot that has to draw a penalty draws it and loses
+     * its turn, see {@link GameSession#mustDrawPenalty(Player)}, a bot that drew passes once {@link GameSession#mustPass(Player, int)}
+     * says so, and a skipped player, the human included, is passed over.
+     * @param cardPlayed Whether the player played a card, otherwise the player passed.
      * @return The winning player if the game ends, otherwise null.
      */
-	@SuppressWarnings("unchecked")
-	private Player performGameLoop() {
-		ArrayList<Player> playerList = (ArrayList<Player>) ((ArrayList<Player>) gameSession.getPlayerListGameOrder()).clone();
-
+	private Player performGameLoop(boolean cardPlayed) {
+		TurnCursor cursor = gameSession.getTurnCursor();
 		Player humanPlayer = gameSession.getHumanPlayer();
-		playerList.remove(humanPlayer);
-		
-		int loopLength = playerList.size(); int i = 0;
-		int turnEndType = 1;
-		
-		boolean usedSkipBeforeEnd = false;
+		cursor.moveTo(humanPlayer);
+		cardsToDraw = 0;
+		handsChanged = false;
+		if (!cardPlayed) cursor.next();
+		else {
+			Player winner = afterPlay(gameSession.getCardTopDeck());
+			if (winner != null) return winner;
+		}
 		
-		while (i < loopLength && i >= 0) {
-			Card cardLastPlayed = gameSession.getCardTopDeck();
-			if (cardLastPlayed instanceof ActionCard) {
-				if (cardLastPlayed.getAction() == Action.SKIP && !skippedPlayer) {
-					i += 1;
-					if (i >= loopLength || i < 0) return null;
+		int draws = 0;
+		while (cursor.current() != humanPlayer) {
+			AiPlayer player = (AiPlayer) cursor.current();
+			gameSession.publishSnapshot(player);
+			if (gameSession.mustDrawPenalty(player)) {
+				int penalty = gameSession.getPenalty();
+				if (player.forcedDrawCard(penalty) == AiPlayer.NO_ACTION) {
+					gameSession.reshuffleDiscardPile(penalty);
+					int available = Math.min(penalty, gameSession.getDrawPile().size());
+					if (available > 0) player.forcedDrawCard(available);
 				}
+				gameSession.clearPenalty();
+				cursor.next();
+				continue;
 			}
-			Player player = playerList.get(i);
-			PlayerLabel.updatePlayerLabels(gamePanel.playerLabels, player);
 			
-			if (cardLastPlayed instanceof ActionCard || cardLastPlayed instanceof WildCard) {
-				int returnDraw = 1;
-				switch (cardLastPlayed.getAction()) {
-					case DRAWTWO: {
-						returnDraw = ((AiPlayer)player).forcedDrawCard(2);
-						break;
-					}
-					case WILDFOUR: {
-						returnDraw = ((AiPlayer)player).forcedDrawCard(4);
-						break;
-					}
-					case REVERSE: {
-						if (startReversed) break;
-						gameSession.reverse();
-						playerList = (ArrayList<Player>) ((ArrayList<Player>) gameSession.getPlayerListGameOrder()).clone();
-						PlayerLabel.updatePlayerLabelLocations(gamePanel.panelNorth, gamePanel.playerLabels, playerList);
-						PlayerLabel.updatePlayerLabels(gamePanel.playerLabels, player);
-						playerList.remove(humanPlayer);
-						i = playerList.size() - i;
-						break;
-					}
-				}
-				if (i >= loopLength || i < 0) break;
-				if (returnDraw == 3) {
-					gameSession.reshuffleDiscardPile();
-				}
+			int turnEndType = player.playTurn();
+			if (turnEndType == AiPlayer.NO_ACTION) {
+				gameSession.reshuffleDiscardPile();
+				if (!gameSession.getDrawPile().isEmpty()) continue;
+			} else if (turnEndType == AiPlayer.DREW_CARD && !gameSession.mustPass(player, ++draws)) {
+				continue;
 			}
-			
-			turnEndType = ((AiPlayer)player).playRandom();
-			if (turnEndType == 2) {
+			draws = 0;
+			if (turnEndType == AiPlayer.NO_ACTION || turnEndType == AiPlayer.DREW_CARD) {
+				cursor.next();
+				continue;
+			}
+			if (turnEndType == AiPlayer.PLAYED_WILD) {
 				gamePanel.wildColorEnum = gameSession.getCardTopDeck().getColorEnum();
 				gamePanel.wildColor = gamePanel.wildColorEnum.getColor();
-			} else if (turnEndType == 3) {
-				gameSession.reshuffleDiscardPile();
-			} else if (turnEndType == 4) {
-				usedSkipBeforeEnd = (i != loopLength - 1);
 			}
 			
-			i += (turnEndType != 0) ? 1 : 0;
-			
-			long sleepDuration = (turnEndType != 0) ? 1000 : 200;
-			try {
-				Thread.sleep(sleepDuration);
-			} catch (InterruptedException e) {
-				e.printStackTrace();
-			}
-			
-			gamePanel.updateTopDeckLabel(topDeckLabel, gameSession);
-			System.out.println(gameSession.getDrawPile().size());
-			if (player.getDeck().size() == 1) {
-				String logEntry = String.format("%s says: UNO!", ((AiPlayer)player).getBotName());
-				logListener.updateGameLogEvent(logListener.new GameLogEvent(this, logEntry, gamePanel.getGameName()));
-			} else if (player.getDeck().size() == 0) {
-				String logEntry = String.format("%s wins the game", ((AiPlayer)player).getBotName());
-				logListener.updateGameLogEvent(logListener.new GameLogEvent(this, logEntry, gamePanel.getGameName()));
+			if (player.getDeck().size() == 0) {
+				gameSession.finishGame(player);
 				return player;
 			}
+			Player winner = afterPlay(gameSession.getCardTopDeck());
+			if (winner != null) return winner;
 		}
-
-		skippedPlayer = gameSession.getCardTopDeck().getAction() == Action.SKIP && !usedSkipBeforeEnd;
-		int draw = (gameSession.getCardTopDeck().getAction() == Action.DRAWTWO) ? 2 : 4;
-		cardsToDraw = (gameSession.getCardTopDeck().getAction() == Action.DRAWTWO || gameSession.getCardTopDeck().getAction() == Action.WILDFOUR) ?
-				draw : 0;
+		cardsToDraw = gameSession.getPenalty();
 		return null;
 	}
 	
+	/**
+     * Lets the bots jump in on a card that was just played, see {@link GameSession#jumpIn(Card)}, then passes the turn on
+     * from the last player who played.
+     * @param cardPlayed The card that was just played.
+     * @return The winning player if a bot went out by jumping in, otherwise null.
+     */
+	private Player afterPlay(Card cardPlayed) {
+		Player jumper = gameSession.jumpIn(cardPlayed);
+		if (jumper != null && jumper.getDeck().size() == 0) {
+			gameSession.finishGame(jumper);
+			return jumper;
+		}
+		passTurn(gameSession.getCardTopDeck());
+		return null;
+	}
+	
+	/**
+     * Passes the turn on after a card has been played, see {@link GameSession#passTurn(Card)}.
+     * @param cardPlayed The card that was just played.
+     */
+	private void passTurn(Card cardPlayed) {
+		int effect = gameSession.passTurn(cardPlayed);
+		if (effect == RuleTable.SWAPHANDS || effect == RuleTable.PASSHANDS) handsChanged = true;
+	}
+
 }
@@ -17,17 +17,21 @@ import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.EnumSet;
 import java.util.EventListener;
 import java.util.EventObject;
 import java.util.List;
 import java.util.Scanner;
+import java.util.concurrent.CompletableFuture;
 
 import javax.swing.BorderFactory;
 import javax.swing.Box;
 import javax.swing.ImageIcon;
 import javax.swing.JButton;
+import javax.swing.JCheckBoxMenuItem;
 import javax.swing.JComboBox;
 import javax.swing.JFrame;
 import javax.swing.JLabel;
@@ -40,16 +44,31 @@ import javax.swing.JTextArea;
 import javax.swing.JTextField;
 import javax.swing.ScrollPaneConstants;
 import javax.swing.SwingConstants;
+import javax.swing.SwingUtilities;
 import javax.swing.border.Border;
 
 import gui.GameWindow.GamePanel.PlayerLabel;
 import management.AiPlayer;
+import management.DealPool;
+import management.GameEvent;
+import management.GameEventBus;
+import management.GameEventBus.SlowConsumerPolicy;
 import management.GameLogListener;
 import management.GameSession;
+import management.HouseRule;
 import management.Player;
+import management.RenderSnapshot;
+import management.RuleTable;
+import management.SessionActor;
+import metrics.GameMetrics;
+import rating.RatingEngine;
+import rating.RatingEngine.ResultMode;
+import sim.EvaluationCache;
+import sim.MoveAnalyzer;
+import sim.MoveAnalyzer.Estimate;
+import sim.Position;
 import uno.Action;
 import uno.Card;
-import uno.Decks;
 import uno.EColor;
 import uno.NumberCard;
 import uno.WildCard;
@@ -67,7 +86,6 @@ import uno.WildCard;
 public class GameWindow {
 	
 	private StartGameListener startGameListener;
-	private GameLogListener logListener = new GameLogListener();
 	private MenuPanel menuPanel;
 	private LogPanel logPanel;
 	private JPanel gamePanel;
@@ -76,10 +94,16 @@ public class GameWindow {
 	private Color darkerPurple = new Color(50, 40, 80);
 	
 	private static ImageIcon unoLogo = new ImageIcon("Assets\\logo.png");
-	
-	private GameWindow findThis() {
-		return this;
-	}
+	private static final Path RATINGSPATH = Paths.get("Data", "ratings.txt");
+	private static final Path EVALUATIONCACHEPATH = Paths.get("Data", "evaluation_cache.bin");
+	private static final int MAXTABLEPLAYERS = 10;
+	private RatingEngine ratingEngine = RatingEngine.load(RATINGSPATH, ResultMode.RANKED);
+	private boolean analysisEnabled = false;
+	private boolean turboEnabled = false;
+	private EnumSet<HouseRule> houseRules = EnumSet.copyOf(RuleTable.STANDARD.getHouseRules());
+	private MoveAnalyzer moveAnalyzer;
+	private GamePanel currentGame;
+	private final DealPool dealPool = new DealPool(MAXTABLEPLAYERS);
 	
 	/**
 	 * Panel for displaying logs.
@@ -308,9 +332,8 @@ public class GameWindow {
 			if (gameName.equals("")) return;
 			
 			int playerCount = e.getPlayerCount();
-			new GamePanel(gameName, playerCount);
-			String logEntry = String.format("Started game with name: %s", gameName);
-			logListener.updateGameLogEvent(logListener.new GameLogEvent(this, logEntry, gameName));
+			leaveGame();
+			currentGame = new GamePanel(gameName, playerCount);
 			sourcePanel.setVisible(false); parentPanel.setVisible(false);
 		}
 		
@@ -369,7 +392,10 @@ public class GameWindow {
 				}
 			});
 			
-			Integer[] choices = {2, 3, 4, 5, 6, 7, 8, 9, 10};
+			Integer[] choices = new Integer[MAXTABLEPLAYERS - 1];
+			for (int i = 0; i < choices.length; i++) {
+				choices[i] = i + 2;
+			}
 			JComboBox<Integer> comboBox = new JComboBox(choices);
 			comboBox.setFocusable(false);
 			comboBox.setBounds(new Rectangle(190, 50, 60, 40));
@@ -555,20 +581,36 @@ public class GameWindow {
 		private String gameName;
 		
 		private static ImageIcon arrow = new ImageIcon(new ImageIcon("Assets/right_facing_arrow.png").getImage().getScaledInstance(90, 40, Image.SCALE_DEFAULT));
+		private static final Font ARROWFONT = new Font(Font.SANS_SERIF, Font.BOLD, 10);
+		private static final Border HIGHLIGHTBORDER = BorderFactory.createLineBorder(Color.red, 3);
+		
+		private static final String RENDERUPDATE = "render";
+		private static final String TURNUPDATE = "turn";
+		private static final String UNOUPDATE = "uno";
+		private static final String WINNERUPDATE = "winner";
 		
 		private MenuButton drawButton;
 		private MenuButton unoButton;
 		private GameSession gameSession;
 		private Player humanPlayer;
 		private GameLoopActionListener gameLoopListener;
+		private HandComponent hand;
+		private UiUpdateQueue uiUpdates = new UiUpdateQueue();
+		private TurnAnimator animator = new TurnAnimator(uiUpdates, () -> turboEnabled);
+		private RenderSnapshot shownSnapshot;
 		
 		private boolean saidUno = false;
-		private boolean isYourTurn = true;
+		private volatile boolean isYourTurn = true;
+		private boolean moveInFlight = false;
 		private boolean inForceDraw = false;
 		private int numOfCardsDrawn = 0;
+		private int numOfCardsToDraw = 0;
+		private int cardsDrawnThisTurn = 0;
+		private boolean penaltyStackable = false;
+		private boolean penaltyPending = false;
+		private int analysisGeneration = 0;
 		
 		ArrayList<PlayerLabel> playerLabels;
-		ArrayList<CardButton> cardButtons;
 		
 		/**
 	     * Inner class representing a player label. Serves as a template for a widely used component.
@@ -577,8 +619,12 @@ public class GameWindow {
 			
 			private static final long serialVersionUID = -1206035377034500794L;
 			
-			private Border turnBorder = BorderFactory.createLineBorder(Color.red, 3);
+			private static final Font LABELFONT = new Font(Font.SANS_SERIF, Font.BOLD, 16);
+			private static final Dimension LABELSIZE = new Dimension(100, 80);
+			
 			private Player player;
+			private String name;
+			private int seat;
 
 			/**
 		     * Constructs a new player label.
@@ -587,14 +633,15 @@ public class GameWindow {
 			public PlayerLabel(Player player) {
 				super();
 				this.player = player;
+				this.name = (player == gameSession.getHumanPlayer()) ? "You": ((AiPlayer)player).getBotName();
+				this.seat = gameSession.getPlayerList().indexOf(player);
 				setBackground(darkerPurple);
 				setForeground(Color.white);
-				setFont(new Font(Font.SANS_SERIF, Font.BOLD, 16));
-				setPreferredSize(new Dimension(100, 80));
+				setFont(LABELFONT);
+				setPreferredSize(LABELSIZE);
 				setOpaque(true);
 				setHorizontalAlignment(SwingConstants.CENTER);
-				String text = (player == gameSession.getHumanPlayer()) ? "You": ((AiPlayer)player).getBotName(); 
-				setText(String.format("%s: %d", text, player.getDeck().size()));
+				setText(String.format("%s: %d", name, player.getDeck().size()));
 			}
 			
 			/**
@@ -610,82 +657,41 @@ public class GameWindow {
 		     * @param isTurn Indicates if it's the player's turn.
 		     */
 			private void updateBorder(boolean isTurn) {
-				setBorder((isTurn) ? turnBorder : defaultBorder);
+				setBorder((isTurn) ? HIGHLIGHTBORDER : defaultBorder);
 			}
 			
 			/**
 		     * Updates the player labels based on the current player and their deck size.
-		     * @param labels The list of player labels.
-		     * @param currentPlayer The current player.
+		     * @param labels The list of player labels, one per seat.
+		     * @param snapshot The snapshot of the game to show.
 		     */
-			public static void updatePlayerLabels(ArrayList<PlayerLabel> labels, Player currentPlayer) {
+			public static void updatePlayerLabels(ArrayList<PlayerLabel> labels, RenderSnapshot snapshot) {
 				for (PlayerLabel label : labels) {
-					label.updateBorder(currentPlayer == label.getPlayer());
-					Player player = label.getPlayer();
-					String text = (player == player.getGameSession().getHumanPlayer()) ? "You": ((AiPlayer)player).getBotName(); 
-					label.setText(String.format("%s: %d", text, player.getDeck().size()));
-					label.repaint();
-					label.revalidate();
+					label.updateBorder(snapshot.getCurrentSeat() == label.seat);
+					label.setText(String.format("%s: %d", label.name, snapshot.getHandSize(label.seat)));
 				}
 			}
 			
 			/**
 		     * Updates the location of player labels on the panel.
 		     * @param northPanel The panel containing player labels.
-		     * @param labels The list of player labels.
-		     * @param newPlayerList The updated list of players.
+		     * @param labels The list of player labels, one per seat.
+		     * @param snapshot The snapshot of the game whose order of play to show.
 		     */
-			public static void updatePlayerLabelLocations(JPanel northPanel, ArrayList<PlayerLabel> labels, List<Player> newPlayerList) {
+			public static void updatePlayerLabelLocations(JPanel northPanel, ArrayList<PlayerLabel> labels, RenderSnapshot snapshot) {
 				northPanel.removeAll();
 				JLabel arrowLabel = new JLabel();
 				arrowLabel.setIcon(arrow);
 				arrowLabel.setPreferredSize(new Dimension(120, 90));
 				arrowLabel.setText("DIRECTION OF PLAY");
-				arrowLabel.setFont(new Font(Font.SANS_SERIF, Font.BOLD, 10));
+				arrowLabel.setFont(ARROWFONT);
 				arrowLabel.setForeground(Color.LIGHT_GRAY);
 				arrowLabel.setVerticalTextPosition(JLabel.BOTTOM);
 				arrowLabel.setHorizontalTextPosition(JLabel.CENTER);
 				northPanel.add(arrowLabel);
-				for (Player player : newPlayerList) {
-					for (PlayerLabel label : labels) {
-						if (label.getPlayer() == player) {
-							northPanel.add(label);
-						}
-					}
-				}
-			}
-		}
-		
-		/**
-		 * Inner class representing a card button. Serves as a template for a widely used component.
-		 */
-		private class CardButton extends JButton {
-			
-			private static final long serialVersionUID = -6546407021475779805L;
-
-			private Card card;
-			
-			public CardButton(Card card) {
-				super(); this.card = card;
-				setFocusable(false);
-				setBackground(card.getColorEnum().getColor());
-				setForeground(Color.white);
-				setSize(100, 130);
-				setPreferredSize(new Dimension(100, 100));
-				int fontSize = 20;
-				if (card.getAction() == Action.NUMBER) {
-					int num = ((NumberCard)card).getNumberInt();
-					setText(String.format("%d", num));
-				} else {
-					setText(card.getAction().toString());
-					fontSize = 10;
+				for (int i = 0; i < snapshot.getSeatCount(); i++) {
+					northPanel.add(labels.get(snapshot.getSeatInPlayOrder(i)));
 				}
-				
-				setFont(new Font(Font.SANS_SERIF, Font.BOLD, fontSize));
-			}
-			
-			public Card getCard() {
-				return card;
 			}
 		}
 		
@@ -721,66 +727,58 @@ public class GameWindow {
 		}
 		
 		/**
-		 * Inner class for handling card button actions.
+		 * Inner class for handling clicks on the cards of the player's hand.
 		 */
-		private class CardButtonListener implements ActionListener {
+		private class CardListener implements ActionListener {
 
-			private JPanel cardPanel;
 			private JLabel topDeckLabel;
-			private ArrayList<CardButton> buttons;
-			private CardButton sourceButton;
 			private GameSession gameSession;
 			
 			/**
-		     * Constructs a new card button listener.
-		     * @param cardPanel The panel containing the cards.
+		     * Constructs a new card listener.
 		     * @param topDeckLabel The label for the top card of the deck.
-		     * @param buttons The list of card buttons.
-		     * @param sourceButton The button representing the played card.
 		     * @param gameSession The ongoing game session.
 		     */
-			public CardButtonListener(JPanel cardPanel, JLabel topDeckLabel, ArrayList<CardButton> buttons, CardButton sourceButton, GameSession gameSession) {
-				this.cardPanel = cardPanel; this.topDeckLabel = topDeckLabel; this.buttons = buttons; this.sourceButton = sourceButton; this.gameSession = gameSession;
+			public CardListener(JLabel topDeckLabel, GameSession gameSession) {
+				this.topDeckLabel = topDeckLabel; this.gameSession = gameSession;
 			}
 			
 			/**
-		     * Performs the action when a card button is clicked.
-		     * @param e The action event triggered by the button click.
+		     * Performs the action when a card is clicked.
+		     * @param e The card event triggered by the click.
 		     */
 			@Override
 			public void actionPerformed(ActionEvent e) {
-				playCard(e, cardPanel, topDeckLabel, sourceButton, gameSession);
+				playCard(e, topDeckLabel, ((HandComponent.CardEvent)e).getCard(), gameSession);
 			}
 			
 		}
 		
 		/**
-		 * Inner class representing the game loop thread. Use this to perform the game loop while the gui keeps rendering in a separate thread.
+		 * Inner class representing the bots' turns as a single command of the session's actor, so the game loop never runs on the EDT.
 		 */
-		private class GameLoopThread extends Thread {
+		private class GameLoopCommand implements Runnable {
 			
 			private ActionEvent e;
-			private GameSession gameSession;
 			
 			/**
-		     * Constructs a new game loop thread.
-		     * @param e The action event triggering the game loop.
-		     * @param gameSession The ongoing game session.
+		     * Constructs a new game loop command.
+		     * @param e The action event triggering the game loop, or null if the player passed without playing.
 		     */
-			public GameLoopThread(ActionEvent e, GameSession gameSession) {
-				super();
+			public GameLoopCommand(ActionEvent e) {
 				this.e = e;
-				this.gameSession = gameSession;
 			}
 
 			/**
-		     * Sets the enabled status of card buttons.
-		     * @param enabled Indicates if the buttons should be enabled.
+		     * Sets the enabled status of the player's hand and the draw button with the next frame.
+		     * @param enabled Indicates if the player can play or draw.
 		     */
 			public void setButtonsEnabled(boolean enabled) {
-				for (CardButton button : cardButtons) {
-					button.setEnabled(enabled);
-				}
+				animator.enqueue(TURNUPDATE, null, () -> {
+					hand.setEnabled(enabled);
+					drawButton.setEnabled(enabled);
+					if (enabled) moveInFlight = false;
+				});
 			}
 			
 			/**
@@ -790,17 +788,29 @@ public class GameWindow {
 			public void run() {
 				isYourTurn = false;
 				setButtonsEnabled(false);
-				drawButton.setEnabled(false);
-				gameLoopListener.actionPerformed(e);
-				isYourTurn = !gameLoopListener.skippedPlayer;
-				setButtonsEnabled(isYourTurn);
-				drawButton.setEnabled(isYourTurn);
-				if (!isYourTurn) run();
-				PlayerLabel.updatePlayerLabels(playerLabels, humanPlayer);
-				forceDrawCard(gameLoopListener.cardsToDraw);
+				if (e == null) gameLoopListener.performPass();
+				else gameLoopListener.actionPerformed(e);
+				if (gameLoopListener.handsChanged) {
+					List<Card> cards = new ArrayList<Card>(humanPlayer.getDeck());
+					SwingUtilities.invokeLater(() -> hand.setCards(cards));
+				}
+				isYourTurn = true;
+				setButtonsEnabled(true);
+				gameSession.publishSnapshot(humanPlayer);
+				// A stacked penalty can outgrow the cards left to draw, the player then draws all there are.
+				int available = gameSession.getDrawPile().size() + gameSession.getDiscardPile().size() - 1;
+				int penalty = Math.min(gameLoopListener.cardsToDraw, available);
+				boolean stackable = penalty > 0 && !gameSession.mustDrawPenalty(humanPlayer);
+				SwingUtilities.invokeLater(() -> {
+					cardsDrawnThisTurn = 0;
+					penaltyStackable = stackable;
+					penaltyPending = penalty > 0;
+				});
+				forceDrawCard(penalty);
 				if (humanPlayer.getDeck().size() == 1 && !saidUno) {
-					forceDrawCard(2);
+					forceDrawCard(Math.min(2, available - penalty));
 				}
+				startAnalysis();
 			}
 			
 		}
@@ -809,20 +819,43 @@ public class GameWindow {
 		 * Method for handling both playing player's cards and updating the GUI
 		 * 
 		 * @param e action event related to card button
-		 * @param cardPanel panel where cards are displayed
 		 * @param topDeckLabel top deck label that displays the card on top of discard pile
-		 * @param sourceButton card button that is associated with card
+		 * @param card the card that was clicked
 		 * @param gameSession game session object that is currently in play
 		 */
-		private void playCard(ActionEvent e, JPanel cardPanel, JLabel topDeckLabel, CardButton sourceButton, GameSession gameSession) {
-			if(inForceDraw) return;
-			if (!(gameSession.getCardTopDeck() instanceof WildCard)) wildColorEnum = EColor.NONE;
-			gameSession.setWildColor(wildColorEnum);
-			
-			if (gameSession.getCardTopDeck() instanceof WildCard && sourceButton.getCard().getColorEnum().equals(wildColorEnum)) {}
-			else if (!gameSession.cardIsPlayable(sourceButton.getCard())) return;
+		private void playCard(ActionEvent e, JLabel topDeckLabel, Card card, GameSession gameSession) {
+			if((inForceDraw && (!penaltyStackable || numOfCardsDrawn > 0)) || moveInFlight || !isYourTurn) return;
+			moveInFlight = true;
+			// The color is read here on the event dispatch thread, the command gets it as a value and returns the color in effect, or null if the card cannot be played.
+			EColor chosenColor = wildColorEnum;
+			releaseOnFailure(gameSession.getActor().submit(() -> {
+				EColor colorInEffect = (gameSession.getCardTopDeck() instanceof WildCard) ? chosenColor : EColor.NONE;
+				gameSession.setWildColor(colorInEffect);
+				boolean playable = (gameSession.getCardTopDeck() instanceof WildCard && card.getColorEnum().equals(colorInEffect)) || gameSession.cardIsPlayable(card);
+				return playable ? colorInEffect : null;
+			})).thenAccept(colorInEffect -> SwingUtilities.invokeLater(() -> {
+				if (colorInEffect == null) {
+					moveInFlight = false;
+					return;
+				}
+				wildColorEnum = colorInEffect;
+				// Stacking on the penalty passes it on instead of drawing it.
+				if (inForceDraw) endForceDraw();
+				playPlayableCard(e, topDeckLabel, card);
+			}));
+		}
+		/**
+		 * 
+		 * Method for playing a card the game session has accepted, asking for the color of a wild card first
+		 * 
+		 * @param e action event related to card button
+		 * @param topDeckLabel top deck label that displays the card on top of discard pile
+		 * @param card the card that was clicked
+		 */
+		private void playPlayableCard(ActionEvent e, JLabel topDeckLabel, Card card) {
+			stopAnalysis();
 				
-			if (sourceButton.getCard() instanceof WildCard) {
+			if (card instanceof WildCard) {
 				String[] choices = {"Red", "Green", "Blue", "Yellow"};
 				JComboBox<String> comboBox = new JComboBox<String>(choices);
 				MenuButton confirmButton = new MenuButton("Confirm", new Dimension(100,100));
@@ -850,132 +883,136 @@ public class GameWindow {
 							}
 						}
 						wildColor = wildColorEnum.getColor();
-						gameSession.setWildColor(wildColorEnum);
-						((WildCard)sourceButton.getCard()).setColorEnum(wildColorEnum);
+						releaseOnFailure(gameSession.getActor().chooseColor(humanPlayer, (WildCard)card, wildColorEnum));
 						selectionPopup.setVisible(false);
-						String logEntry = String.format("Player plays: %s with color: %s", sourceButton.getCard(), wildColorEnum.toString());
-						logListener.updateGameLogEvent(logListener.new GameLogEvent(this, logEntry, gameName));
-						initializeGameLoop(e, cardPanel, topDeckLabel, sourceButton, false);
+						initializeGameLoop(e, topDeckLabel, card);
 					}
 				});
-				return;
-			} else if (sourceButton.getCard().getAction() == Action.REVERSE) {
-				List<Player> playerList = gameSession.getPlayerListGameOrder();
-				Collections.reverse(playerList);
-				PlayerLabel.updatePlayerLabelLocations(panelNorth, playerLabels, playerList);
-				String logEntry = String.format("Player plays: %s", sourceButton.getCard());
-				logListener.updateGameLogEvent(logListener.new GameLogEvent(this, logEntry, gameName));
-				initializeGameLoop(e, cardPanel, topDeckLabel, sourceButton, true);
+				moveInFlight = false;
 				return;
 			}
 			
-			String logEntry = String.format("Player plays: %s", sourceButton.getCard());
-			logListener.updateGameLogEvent(logListener.new GameLogEvent(this, logEntry, gameName));
-			initializeGameLoop(e, cardPanel, topDeckLabel, sourceButton, false);
+			initializeGameLoop(e, topDeckLabel, card);
 		}
 		 /**
 		  * 
 		  * Method for handling common operations in all outcomes of playing a card
 		  * 
 		  * @param e action event related to card button
-		  * @param cardPanel panel where cards are displayed
 		  * @param topDeckLabel top deck label that displays the card on top of discard pile
-		  * @param sourceButton card button that is associated with card
-		  * @param startReversed boolean value for checking if the loop is going to be reversed
+		  * @param card the card that is played
 		  */
-		private void initializeGameLoop(ActionEvent e, JPanel cardPanel, JLabel topDeckLabel, CardButton sourceButton, boolean startReversed) {
-			gameLoopListener = new GameLoopActionListener(findThis(), gameSession, this, topDeckLabel, startReversed);
-			GameLoopThread loopThread = new GameLoopThread(e, gameSession);
-			humanPlayer.playCard(sourceButton.getCard());
-			cardButtons.remove(sourceButton);
-			cardPanel.remove(sourceButton);
-			cardPanel.repaint();
-			cardPanel.revalidate();
-			PlayerLabel.updatePlayerLabels(playerLabels, humanPlayer);
-			gameSession.setCardTopDeck(sourceButton.getCard());
-			updateTopDeckLabel(topDeckLabel, gameSession);
-			checkUno();
-			if (humanPlayer.getDeck().size() == 0) {
-				WinnerPanel winnerPanel = new WinnerPanel(this, humanPlayer);
-				gamePanel.getParent().add(winnerPanel, BorderLayout.CENTER);
-				gamePanel.setVisible(false);
-				return;
-			}
-			loopThread.start();
+		private void initializeGameLoop(ActionEvent e, JLabel topDeckLabel, Card card) {
+			moveInFlight = true;
+			gameLoopListener = new GameLoopActionListener(gameSession, this);
+			SessionActor actor = gameSession.getActor();
+			releaseOnFailure(actor.play(humanPlayer, card)).thenAccept(index -> {
+				checkUno();
+				SwingUtilities.invokeLater(() -> hand.removeCard(index));
+			});
+			releaseOnFailure(actor.execute(() -> {
+				if (humanPlayer.getDeck().size() == 0) {
+					gameSession.finishGame(humanPlayer);
+					return;
+				}
+				new GameLoopCommand(e).run();
+			}));
 		}
 		 /**
 		  * Method for player's draw card action and also for updating the GUI
 		  * 
-		  * @param cardPanel the panel where card buttons are displayed 
 		  * @param topDeckLabel label for displaying the card currently on top of the discard pile
 		  * @param gameSession game session which is currently in play
 		  */
-		private void drawCard(JPanel cardPanel, JLabel topDeckLabel, GameSession gameSession) {
-			List<Card> drawPile = gameSession.getDrawPile();
-			if (drawPile.size() == 0) gameSession.reshuffleDiscardPile();
-			Card cardDrawn = drawPile.get(drawPile.size() - 1);
-			numOfCardsDrawn++;
-			humanPlayer.drawCard(cardDrawn);
-			CardButton button = new CardButton(cardDrawn);
-			button.addActionListener(new CardButtonListener(cardPanel, topDeckLabel, cardButtons, button, gameSession));
-			cardButtons.add(button);
-			checkUno();
-			PlayerLabel.updatePlayerLabels(playerLabels, humanPlayer);
-			cardPanel.add(button);
-			cardPanel.repaint();
-			cardPanel.revalidate();
-			
-			String logEntry = String.format("Player draws card: %s", cardDrawn);
-			logListener.updateGameLogEvent(logListener.new GameLogEvent(this, logEntry, gameName));
+		private void drawCard(JLabel topDeckLabel, GameSession gameSession) {
+			if (moveInFlight || !isYourTurn) return;
+			moveInFlight = true;
+			stopAnalysis();
+			releaseOnFailure(gameSession.getActor().draw(humanPlayer)).thenAccept(cardDrawn -> SwingUtilities.invokeLater(() -> {
+				moveInFlight = false;
+				hand.addCard(cardDrawn);
+				if (inForceDraw) {
+					if (++numOfCardsDrawn >= numOfCardsToDraw) {
+						boolean drewPenalty = penaltyPending;
+						endForceDraw();
+						if (drewPenalty) {
+							checkUno();
+							losePenaltyTurn();
+							return;
+						}
+					}
+				} else if (++cardsDrawnThisTurn >= gameSession.getRules().getDrawLimit()) {
+					checkUno();
+					passIfUnplayable(cardsDrawnThisTurn);
+					return;
+				}
+				checkUno();
+				startAnalysis();
+			}));
 		}
 		
 		/**
-		 * 
-		 * Method for updating the GUI elements of the panel which stores card buttons
-		 * 
-		 * @param cardPanel card panel which stores the card buttons
-		 * @param topDeckLabel label for displaying the card currently on top of the discard pile
-		 * @param playerCards arraylist containing the player's cards
-		 * @param gameSession game session which is currently in play
+		 * Passes the turn to the bots once the player has drawn the penalty of a draw card, which costs the turn as it
+		 * does for the bots, see {@link GameSession#mustDrawPenalty(Player)}.
 		 */
-		private void updateCardPanel(JPanel cardPanel, JLabel topDeckLabel, ArrayList<Card> playerCards, GameSession gameSession) {
-			updateCardButtonList(cardPanel, topDeckLabel, playerCards, gameSession);
-			for(CardButton button : cardButtons) {
-				cardPanel.add(button);
-			}
+		private void losePenaltyTurn() {
+			moveInFlight = true;
+			gameLoopListener = new GameLoopActionListener(gameSession, this);
+			releaseOnFailure(gameSession.getActor().execute(() -> {
+				gameSession.clearPenalty();
+				new GameLoopCommand(null).run();
+			}));
 		}
 		
 		/**
-		 * Updates the list of card buttons based on the player's cards.
-		 * Clears the existing card buttons and creates new ones based on the sorted player cards.
-		 * Attaches action listeners to each card button.
-		 * @param cardPanel card panel which stores the card buttons
-		 * @param topDeckLabel label for displaying the card currently on top of the discard pile
-		 * @param playerCards arraylist containing the player's cards
-		 * @param gameSession game session which is currently in play
+		 * Passes the turn to the bots if the player has drawn as many cards as the rules allow and still cannot play,
+		 * see {@link GameSession#mustPass(Player, int)}.
+		 * @param draws The number of cards the player has drawn this turn.
 		 */
-		private void updateCardButtonList(JPanel cardPanel, JLabel topDeckLabel, ArrayList<Card> playerCards, GameSession gameSession) {
-			cardButtons.clear();
-			for (Card card : Decks.sortedDeck(playerCards)) {
-				CardButton button = new CardButton(card);
-				button.addActionListener(new CardButtonListener(cardPanel, topDeckLabel, cardButtons, button, gameSession));
-				cardButtons.add(button);
-			}
+		private void passIfUnplayable(int draws) {
+			moveInFlight = true;
+			gameLoopListener = new GameLoopActionListener(gameSession, this);
+			releaseOnFailure(gameSession.getActor().execute(() -> {
+				if (!gameSession.mustPass(humanPlayer, draws)) {
+					SwingUtilities.invokeLater(() -> moveInFlight = false);
+					startAnalysis();
+					return;
+				}
+				new GameLoopCommand(null).run();
+			}));
+		}
+		
+		/**
+		 * Gives the player control back if a command of the session's actor fails, so that a failed move does not leave
+		 * the hand locked. The actor has already dumped the flight recorder of the session.
+		 * @param command The future of the command.
+		 * @return A future completed like the command, after the player has been given control back on failure.
+		 */
+		private <T> CompletableFuture<T> releaseOnFailure(CompletableFuture<T> command) {
+			return command.whenComplete((result, failure) -> {
+				if (failure == null) return;
+				isYourTurn = true;
+				animator.enqueue(TURNUPDATE, null, () -> {
+					moveInFlight = false;
+					hand.setEnabled(true);
+					drawButton.setEnabled(true);
+				});
+			});
 		}
 		
 		/**
-		 * Updates the top deck label based on the top card of the deck.
-		 * Sets the background color, text, and border of the label according to the top deck card.
+		 * Shows a snapshot of the game on the player labels and the top deck label.
+		 * Runs on the EDT and reads nothing but the snapshot, snapshots older than the one shown are ignored.
+		 * @param snapshot The snapshot to show.
 		 * @param topDeckLabel The label displaying the top card of the deck.
-		 * @param gameSession The ongoing game session.
 		 */
-		public void updateTopDeckLabel(JLabel topDeckLabel, GameSession gameSession) {
-			Card topDeckCard = gameSession.getCardTopDeck();
-			if (topDeckCard instanceof WildCard) {
-				topDeckLabel.setBackground(wildColor);
-			} else {
-				topDeckLabel.setBackground(topDeckCard.getColorEnum().getColor());
-			}
+		private void render(RenderSnapshot snapshot, JLabel topDeckLabel) {
+			if (shownSnapshot != null && snapshot.getSequence() <= shownSnapshot.getSequence()) return;
+			if (!snapshot.hasSamePlayOrder(shownSnapshot)) PlayerLabel.updatePlayerLabelLocations(panelNorth, playerLabels, snapshot);
+			PlayerLabel.updatePlayerLabels(playerLabels, snapshot);
+			
+			Card topDeckCard = snapshot.getTopCard();
+			topDeckLabel.setBackground(snapshot.getActiveColor().getColor());
 			topDeckLabel.setForeground(Color.white);
 			topDeckLabel.setOpaque(true);
 			if (topDeckCard.getAction().equals(Action.NUMBER)) {
@@ -983,45 +1020,137 @@ public class GameWindow {
 			} else {
 				topDeckLabel.setText(topDeckCard.getAction().toString());
 			}
-			topDeckLabel.repaint();
-			topDeckLabel.revalidate();
+			shownSnapshot = snapshot;
+		}
+		
+		/**
+		 * Replaces the game panel with the winner panel once the pending updates have been shown.
+		 * Can be called from any thread.
+		 * @param winner The player who won the game.
+		 */
+		public void showWinner(Player winner) {
+			animator.enqueue(WINNERUPDATE, null, () -> {
+				WinnerPanel winnerPanel = new WinnerPanel(this, winner);
+				Container mainFrame = gamePanel.getParent();
+				gamePanel.setVisible(false);
+				mainFrame.remove(gamePanel);
+				mainFrame.add(winnerPanel);
+				mainFrame.repaint();
+				mainFrame.revalidate();
+			});
 		}
 		
 		/**
 		 * Checks if the player is able to call UNO and enables the UNO button accordingly.
+		 * Reads the hand from the last published snapshot, so it can be called from any thread.
 		 */
 		private void checkUno() {
 			if (unoButton == null) return;
 			
-			if(gameSession.getHumanPlayer().getDeck().size() == 1 && isYourTurn) {
-				unoButton.setEnabled(true);
-			} else {
-				unoButton.setEnabled(false);
-			}			
+			boolean oneCardLeft = gameSession.getSnapshot().getHumanHand().size() == 1 && isYourTurn;
+			animator.enqueue(UNOUPDATE, null, () -> unoButton.setEnabled(oneCardLeft && !inForceDraw));
+		}
+		
+		/**
+		 * Starts estimating the win probability of every playable card if analysis mode is on and it is the player's turn.
+		 * Can be called from any thread, the analysis is started on the EDT. The position is taken by a command of the
+		 * session's actor, the rollouts run off the EDT and the card buttons are annotated once the latency budget has run out.
+		 */
+		private void startAnalysis() {
+			if (!SwingUtilities.isEventDispatchThread()) {
+				SwingUtilities.invokeLater(this::startAnalysis);
+				return;
+			}
+			if (!analysisEnabled || !isYourTurn) return;
+			if (moveAnalyzer == null) {
+				EvaluationCache cache = EvaluationCache.load(EVALUATIONCACHEPATH, EvaluationCache.DEFAULTCAPACITY);
+				cache.saveOnShutdown(EVALUATIONCACHEPATH);
+				moveAnalyzer = new MoveAnalyzer(Math.max(1, Runtime.getRuntime().availableProcessors() - 1), cache);
+			}
+			
+			int generation = ++analysisGeneration;
+			long budget = Long.getLong("uno.analysis.budgetMillis", MoveAnalyzer.DEFAULTBUDGETMILLIS);
+			gameSession.getActor().submit(() -> {
+				Position position = new Position(gameSession, humanPlayer);
+				List<Card> realHand = new ArrayList<Card>(humanPlayer.getDeck());
+				SwingUtilities.invokeLater(() -> {
+					if (generation != analysisGeneration) return;
+					moveAnalyzer.analyze(position, realHand, budget, estimates -> SwingUtilities.invokeLater(() -> {
+						if (generation == analysisGeneration) annotateCards(estimates);
+					}));
+				});
+				return position;
+			});
+		}
+		
+		/**
+		 * Leaves the game, finished or not: cancels the running analysis and closes the session. Runs on the EDT.
+		 */
+		private void leave() {
+			stopAnalysis();
+			gameSession.close();
+		}
+		
+		/**
+		 * Cancels the running analysis and removes the annotations from the cards. Runs on the EDT.
+		 */
+		private void stopAnalysis() {
+			analysisGeneration++;
+			if (moveAnalyzer != null) moveAnalyzer.cancel();
+			hand.clearAnnotations();
+		}
+		
+		/**
+		 * Annotates every card of the hand with the estimated win probability of playing it.
+		 * Wild cards show the best color to choose as well.
+		 * @param estimates the estimates of all playable cards.
+		 */
+		private void annotateCards(List<Estimate> estimates) {
+			for (Card card : hand.getCards()) {
+				Estimate best = null;
+				for (Estimate estimate : estimates) {
+					if (estimate.getCard() != card) continue;
+					if (best == null || estimate.getWinProbability() > best.getWinProbability()) best = estimate;
+				}
+				if (best == null || best.getRollouts() == 0) {
+					hand.setAnnotation(card, null);
+					continue;
+				}
+				String color = (best.getColor() == null) ? "" : " " + best.getColor().getString();
+				hand.setAnnotation(card, String.format("%.0f%%%s", best.getWinProbability() * 100, color));
+			}
 		}
 		
 		/**
 		 * Forces the player to draw a specified number of cards.
-		 * Displays a red border around the draw button during the forced draw.
+		 * Displays a red border around the draw button until the cards have been drawn, see {@link #drawCard(JLabel, GameSession)}.
+		 * Forced draws that add up, such as a draw two followed by the penalty for not saying UNO, are drawn together.
 		 * @param numberOfCardsToDraw The number of cards to draw.
 		 */
 		private void forceDrawCard(int numberOfCardsToDraw) {
+			if (numberOfCardsToDraw <= 0) {
+				checkUno();
+				return;
+			}
+			GameMetrics.get().forcedDraw(numberOfCardsToDraw);
+			animator.enqueue(new Object(), null, () -> {
+				numOfCardsToDraw += numberOfCardsToDraw;
+				inForceDraw = true;
+				drawButton.setBorder(HIGHLIGHTBORDER);
+			});
+			checkUno();
+		}
+		
+		/**
+		 * Ends a forced draw once all of its cards have been drawn.
+		 */
+		private void endForceDraw() {
+			inForceDraw = false;
+			penaltyStackable = false;
+			penaltyPending = false;
 			numOfCardsDrawn = 0;
-			Thread forceDrawThread = new Thread() {
-				@Override
-				public void run() {
-					inForceDraw = true;
-					unoButton.setEnabled(false);
-					while (numOfCardsDrawn < numberOfCardsToDraw) {
-						drawButton.setBorder(BorderFactory.createLineBorder(Color.red, 3));
-					}
-					inForceDraw = false;
-					drawButton.setBorder(defaultBorder);
-					checkUno();
-				}
-			};
-			
-			forceDrawThread.start();
+			numOfCardsToDraw = 0;
+			drawButton.setBorder(defaultBorder);
 		}
 		
 		/**
@@ -1054,10 +1183,17 @@ public class GameWindow {
 			
 			System.out.println("Started game with " + playerCount);
 			
-			gameSession = new GameSession(gameName);
+			gameSession = new GameSession(gameName, dealPool);
+			gameSession.setRules(RuleTable.of(houseRules));
+			GameEventBus eventBus = gameSession.getEventBus();
+			eventBus.subscribe(gameName + "-log", new GameLogListener(), SlowConsumerPolicy.BLOCK);
+			eventBus.subscribe(gameName + "-ui", event -> {
+				if (event.getType() == GameEvent.WON) showWinner(event.getPlayer());
+			}, SlowConsumerPolicy.DROP);
 			gameSession.initializeGame(playerCount);
+			gameSession.addGameResultListener(ratingEngine);
+			gameSession.addGameResultListener((session, winner) -> ratingEngine.save(RATINGSPATH));
 			humanPlayer = gameSession.getHumanPlayer();
-			cardButtons = new ArrayList<CardButton>();
 			playerLabels = new ArrayList<PlayerLabel>();
 			JLabel topDeckLabel = new JLabel();
 			
@@ -1069,7 +1205,7 @@ public class GameWindow {
 			arrowLabel.setIcon(arrow);
 			arrowLabel.setPreferredSize(new Dimension(120, 90));
 			arrowLabel.setText("DIRECTION OF PLAY");
-			arrowLabel.setFont(new Font(Font.SANS_SERIF, Font.BOLD, 10));
+			arrowLabel.setFont(ARROWFONT);
 			arrowLabel.setForeground(Color.LIGHT_GRAY);
 			arrowLabel.setVerticalTextPosition(JLabel.BOTTOM);
 			arrowLabel.setHorizontalTextPosition(JLabel.CENTER);
@@ -1079,20 +1215,23 @@ public class GameWindow {
 				playerLabels.add(label);
 				panelNorth.add(label);
 			}
-			PlayerLabel.updatePlayerLabels(playerLabels, humanPlayer);
 			
 			JPanel panelSouth = new JPanel();
 			panelSouth.setBackground(defaultPurple);
 			panelSouth.setPreferredSize(new Dimension(1, 200));
-			FlowLayout fl = new FlowLayout();
-			panelSouth.setLayout(fl);
+			panelSouth.setLayout(new BorderLayout());
+			hand = new HandComponent();
+			hand.addActionListener(new CardListener(topDeckLabel, gameSession));
+			hand.setCards(humanPlayer.getDeck());
+			panelSouth.add(hand, BorderLayout.CENTER);
 			
 			topDeckLabel.setFont(new Font(Font.SANS_SERIF, Font.BOLD, 30));
 			topDeckLabel.setHorizontalAlignment(SwingConstants.CENTER);
 			topDeckLabel.setBorder(defaultBorder);
 			topDeckLabel.setPreferredSize(new Dimension(200, 260));
-			updateTopDeckLabel(topDeckLabel, gameSession);
-			updateCardPanel(panelSouth, topDeckLabel, Decks.sortedDeck(humanPlayer.getDeck()), gameSession);
+			gameSession.addSnapshotListener(snapshot -> animator.enqueue(snapshot, RENDERUPDATE, panelNorth, () -> render(snapshot, topDeckLabel)));
+			gameSession.publishSnapshot(humanPlayer);
+			render(gameSession.getSnapshot(), topDeckLabel);
 			
 			JPanel panelEast = new JPanel();
 			panelEast.setBackground(defaultPurple);
@@ -1108,7 +1247,8 @@ public class GameWindow {
 			unoButton.addActionListener(new ActionListener() {
 				@Override
 				public void actionPerformed(ActionEvent e) {
-					saidUno = true;					
+					saidUno = true;
+					gameSession.getActor().execute(() -> gameSession.emit(GameEvent.UNO, humanPlayer, null, null));					
 				}
 			});
 			panelEast.add(unoButton, gbc_panelEast);
@@ -1126,7 +1266,7 @@ public class GameWindow {
 			drawButton.addActionListener(new ActionListener() {
 				@Override
 				public void actionPerformed(ActionEvent e) {
-					drawCard(panelSouth, topDeckLabel, gameSession);					
+					drawCard(topDeckLabel, gameSession);					
 				}
 			});
 			
@@ -1157,6 +1297,7 @@ public class GameWindow {
 			
 			checkUno();
 			frame.add(gamePanel);
+			startAnalysis();
 		}
 	}
 	
@@ -1167,6 +1308,7 @@ public class GameWindow {
 	 * Initializes the main frame and adds menu options.
 	 */
 	public GameWindow() {
+		dealPool.start();
 		startGameListener = new StartGameListener();
 		frame = new JFrame();
 		frame.setIconImage(unoLogo.getImage());
@@ -1220,16 +1362,68 @@ public class GameWindow {
 			@Override
 			public void actionPerformed(ActionEvent e) {
 				if (gamePanel != null) gamePanel.setVisible(false);
+				leaveGame();
 				menuPanel.setVisible(true);
 				logPanel.setVisible(false);
 				menuBar.remove(((JMenuItem)e.getSource()));
 			}
 		});
+		JCheckBoxMenuItem turboItem = new JCheckBoxMenuItem("Turbo Mode");
+		turboItem.setBackground(darkerPurple);
+		turboItem.setForeground(Color.white);
+		turboItem.setBorder(BorderFactory.createLineBorder(darkerPurple, 3));
+		turboItem.addActionListener(new ActionListener() {
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				turboEnabled = turboItem.isSelected();
+			}
+		});
+		JCheckBoxMenuItem analysisItem = new JCheckBoxMenuItem("Analysis Mode");
+		analysisItem.setBackground(darkerPurple);
+		analysisItem.setForeground(Color.white);
+		analysisItem.setBorder(BorderFactory.createLineBorder(darkerPurple, 3));
+		analysisItem.addActionListener(new ActionListener() {
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				analysisEnabled = analysisItem.isSelected();
+			}
+		});
+		
+		JMenu rulesMenu = new JMenu("House Rules");
+		rulesMenu.setForeground(Color.white);
+		String[] ruleNames = {"Stacking +2/+4", "Seven-O", "Jump-In", "Draw Until Playable"};
+		for (HouseRule rule : HouseRule.values()) {
+			JCheckBoxMenuItem ruleItem = new JCheckBoxMenuItem(ruleNames[rule.ordinal()], houseRules.contains(rule));
+			ruleItem.setBackground(darkerPurple);
+			ruleItem.setForeground(Color.white);
+			ruleItem.setBorder(BorderFactory.createLineBorder(darkerPurple, 3));
+			ruleItem.addActionListener(new ActionListener() {
+				@Override
+				public void actionPerformed(ActionEvent e) {
+					if (ruleItem.isSelected()) houseRules.add(rule);
+					else houseRules.remove(rule);
+				}
+			});
+			rulesMenu.add(ruleItem);
+		}
+		
 		gameMenu.add(exitItem);
 		gameMenu.add(mainMenuItem);
+		gameMenu.add(analysisItem);
+		gameMenu.add(turboItem);
+		gameMenu.add(rulesMenu);
 		menuBar.add(gameMenu);
 		
 		frame.setJMenuBar(menuBar);
 		frame.setVisible(true);
 	}
+	
+	/**
+	 * Leaves the current game, if there is one, so that an unfinished game does not keep its event threads running.
+	 */
+	private void leaveGame() {
+		if (currentGame == null) return;
+		currentGame.leave();
+		currentGame = null;
+	}
 }
\ No newline at end of file
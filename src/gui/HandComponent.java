@@ -0,0 +1,444 @@
+package gui;
+
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.Composite;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.swing.JComponent;
+
+import uno.Card;
+import uno.Decks;
+
+/**
+ * A hand of cards painted by a single component.
+ * <p>
+ * The cards are copied from the {@link CardImageCache} instead of being one button each, and of a card that is
+ * covered by the next one only the visible strip is copied, so the cost of a frame is bounded by the width of
+ * the component rather than the number of cards. Cards are laid out side by side while they fit. A larger hand is
+ * fanned out by overlapping the cards, and once the cards would overlap more than {@link #MINSTEP} pixels
+ * the hand scrolls with the mouse wheel instead, so that the number of cards painted per frame stays bounded
+ * however many cards the hand holds.
+ * </p>
+ * <p>
+ * The component does its own hit-testing: clicking the visible part of a card fires a {@link CardEvent} to
+ * the action listeners. Changes only repaint the region of the hand they affect, see
+ * {@link #insertCard(int, Card)} and {@link #removeCard(int)}.
+ * </p>
+ *
+ * @author Bedirhan Sakaoğlu
+ */
+public class HandComponent extends JComponent {
+
+	private static final long serialVersionUID = 3018422911203981733L;
+	
+	public static final int CARDWIDTH = 100;
+	public static final int CARDHEIGHT = 130;
+	public static final int GAP = 5;
+	public static final int MARGIN = 8;
+	public static final int RAISE = 16;
+	public static final int MINSTEP = 24;
+	
+	/** Width of the rounded corner of a card, the part of a covered card that shows through the corner of the card on top of it. */
+	private static final int CORNER = CARDWIDTH / 6;
+	
+	private static final Font ANNOTATIONFONT = new Font(Font.SANS_SERIF, Font.BOLD, 14);
+	private static final Color ANNOTATIONBACKGROUND = new Color(0, 0, 0, 170);
+	private static final Color DISABLEDOVERLAY = new Color(0, 0, 0, 90);
+	
+	private final CardImageCache imageCache;
+	private final ArrayList<Card> cards = new ArrayList<Card>(Decks.DECKSIZE);
+	private final ArrayList<String> annotations = new ArrayList<String>(Decks.DECKSIZE);
+	private final List<ActionListener> listeners = new ArrayList<ActionListener>();
+	
+	private int hoverIndex = -1;
+	private int scrollOffset = 0;
+	
+	private int layoutWidth = -1;
+	private int layoutCount = -1;
+	private int origin;
+	private int step;
+	private int maxScrollOffset;
+	
+	/**
+	 * Event fired when a card of the hand is clicked.
+	 */
+	public static class CardEvent extends ActionEvent {
+		
+		private static final long serialVersionUID = -2460873624145932730L;
+		
+		private final Card card;
+		private final int index;
+		
+		/**
+	     * Constructs a new card event.
+	     * @param source the hand the card was clicked in.
+	     * @param card the clicked card.
+	     * @param index the index of the card in the hand.
+	     */
+		public CardEvent(HandComponent source, Card card, int index) {
+			super(source, ACTION_PERFORMED, "card");
+			this.card = card;
+			this.index = index;
+		}
+		
+		/**
+	     * Gets the clicked card.
+	     * @return the card.
+	     */
+		public Card getCard() {
+			return card;
+		}
+		
+		/**
+	     * Gets the index of the clicked card in the hand.
+	     * @return the index.
+	     */
+		public int getIndex() {
+			return index;
+		}
+	}
+	
+	/**
+     * Constructs an empty hand that paints its cards from the shared image cache.
+     */
+	public HandComponent() {
+		this(CardImageCache.get());
+	}
+	
+	/**
+     * Constructs an empty hand.
+     *
+     * @param imageCache the cache the card faces are taken from.
+     */
+	public HandComponent(CardImageCache imageCache) {
+		this.imageCache = imageCache;
+		setOpaque(false);
+		setPreferredSize(new Dimension(7 * (CARDWIDTH + GAP) + 2 * MARGIN, CARDHEIGHT + RAISE + 2 * MARGIN));
+		
+		MouseAdapter mouseHandler = new MouseAdapter() {
+			@Override
+			public void mouseMoved(MouseEvent e) {
+				setHoverIndex(isEnabled() ? cardAt(e.getX(), e.getY()) : -1);
+			}
+			
+			@Override
+			public void mouseExited(MouseEvent e) {
+				setHoverIndex(-1);
+			}
+			
+			@Override
+			public void mouseClicked(MouseEvent e) {
+				if (!isEnabled()) return;
+				int index = cardAt(e.getX(), e.getY());
+				if (index != -1) fireCardEvent(index);
+			}
+			
+			@Override
+			public void mouseWheelMoved(MouseWheelEvent e) {
+				scrollBy(e.getWheelRotation() * step);
+			}
+		};
+		addMouseListener(mouseHandler);
+		addMouseMotionListener(mouseHandler);
+		addMouseWheelListener(mouseHandler);
+	}
+	
+	/**
+     * Adds a listener notified with a {@link CardEvent} whenever a card is clicked.
+     *
+     * @param listener the listener to add.
+     */
+	public void addActionListener(ActionListener listener) {
+		listeners.add(listener);
+	}
+	
+	/**
+     * Removes a listener added with {@link #addActionListener(ActionListener)}.
+     *
+     * @param listener the listener to remove.
+     */
+	public void removeActionListener(ActionListener listener) {
+		listeners.remove(listener);
+	}
+	
+	/**
+     * Replaces all cards of the hand and repaints it.
+     *
+     * @param hand the cards, in the order they are shown.
+     */
+	public void setCards(List<Card> hand) {
+		cards.clear();
+		cards.addAll(hand);
+		annotations.clear();
+		for (int i = 0; i < hand.size(); i++) {
+			annotations.add(null);
+		}
+		hoverIndex = -1;
+		invalidateLayout();
+		repaint();
+	}
+	
+	/**
+     * Inserts a card, repainting only the cards from the inserted one on if the layout stays the same.
+     *
+     * @param index the index to insert the card at, see {@link management.Player#drawCard(Card)}.
+     * @param card the card to insert.
+     */
+	public void insertCard(int index, Card card) {
+		if (index < 0 || index > cards.size()) return;
+		cards.add(index, card);
+		annotations.add(index, null);
+		if (hoverIndex >= index) hoverIndex++;
+		repaintFrom(index);
+	}
+	
+	/**
+     * Inserts a card at its place in Uno card order, as {@link management.Player#drawCard(Card)} does.
+     *
+     * @param card the card to insert.
+     * @return the index the card was inserted at.
+     */
+	public int addCard(Card card) {
+		int index = Decks.insertSorted(cards, card);
+		annotations.add(index, null);
+		if (hoverIndex >= index) hoverIndex++;
+		repaintFrom(index);
+		return index;
+	}
+	
+	/**
+     * Removes a card, repainting only the cards from the removed one on if the layout stays the same.
+     *
+     * @param index the index of the card to remove, see {@link management.Player#playCard(Card)}.
+     * @return the removed card, or null if the index is out of range.
+     */
+	public Card removeCard(int index) {
+		if (index < 0 || index >= cards.size()) return null;
+		Card card = cards.remove(index);
+		annotations.remove(index);
+		if (hoverIndex == index) hoverIndex = -1;
+		else if (hoverIndex > index) hoverIndex--;
+		repaintFrom(index);
+		return card;
+	}
+	
+	/**
+     * Gets the cards of the hand in the order they are shown.
+     *
+     * @return the cards, not to be modified.
+     */
+	public List<Card> getCards() {
+		return cards;
+	}
+	
+	/**
+     * Shows an annotation such as an estimated win probability at the bottom of a card.
+     *
+     * @param card the card, compared by identity.
+     * @param annotation the annotation to show, or null to remove it.
+     */
+	public void setAnnotation(Card card, String annotation) {
+		int index = Decks.indexOfSorted(cards, card);
+		if (index == -1) return;
+		if (annotation == null ? annotations.get(index) == null : annotation.equals(annotations.get(index))) return;
+		annotations.set(index, annotation);
+		repaint(cardBounds(index));
+	}
+	
+	/**
+     * Removes the annotations of all cards.
+     */
+	public void clearAnnotations() {
+		for (int i = 0; i < annotations.size(); i++) {
+			if (annotations.get(i) == null) continue;
+			annotations.set(i, null);
+			repaint(cardBounds(i));
+		}
+	}
+	
+	@Override
+	public void setEnabled(boolean enabled) {
+		if (enabled == isEnabled()) return;
+		super.setEnabled(enabled);
+		if (!enabled) setHoverIndex(-1);
+		repaint();
+	}
+	
+	@Override
+	public void setBounds(int x, int y, int width, int height) {
+		super.setBounds(x, y, width, height);
+		invalidateLayout();
+	}
+	
+	/**
+     * Finds the card shown at a point of the component. Overlapping cards are hit-tested front to back.
+     *
+     * @param x the x coordinate of the point.
+     * @param y the y coordinate of the point.
+     * @return the index of the card, or -1 if there is no card at the point.
+     */
+	public int cardAt(int x, int y) {
+		updateLayout();
+		if (cards.isEmpty() || y < MARGIN || y >= MARGIN + RAISE + CARDHEIGHT) return -1;
+		int index = Math.min(cards.size() - 1, Math.floorDiv(x - origin, step));
+		if (index < 0 || x >= cardX(index) + CARDWIDTH) return -1;
+		return index;
+	}
+	
+	/**
+     * Gets the area a card is painted in, including the space it is raised into while hovered.
+     *
+     * @param index the index of the card.
+     * @return the bounds of the card.
+     */
+	public Rectangle cardBounds(int index) {
+		updateLayout();
+		return new Rectangle(cardX(index), MARGIN, CARDWIDTH, RAISE + CARDHEIGHT);
+	}
+	
+	@Override
+	protected void paintComponent(Graphics graphics) {
+		updateLayout();
+		if (cards.isEmpty()) return;
+		Graphics2D g = (Graphics2D)graphics;
+		Rectangle clip = g.getClipBounds();
+		if (clip == null) clip = new Rectangle(0, 0, getWidth(), getHeight());
+		
+		int first = Math.max(0, Math.floorDiv(clip.x - origin - CARDWIDTH, step) + 1);
+		int last = Math.min(cards.size() - 1, Math.floorDiv(clip.x + clip.width - origin - 1, step));
+		int pixelWidth = (int)Math.round(CARDWIDTH * g.getTransform().getScaleX());
+		int pixelHeight = (int)Math.round(CARDHEIGHT * g.getTransform().getScaleY());
+		for (int i = first; i <= last; i++) {
+			int x = cardX(i);
+			int y = (i == hoverIndex) ? MARGIN : MARGIN + RAISE;
+			int visibleWidth = (i == cards.size() - 1 || i == hoverIndex) ? CARDWIDTH : Math.min(CARDWIDTH, step + CORNER);
+			int sourceWidth = visibleWidth * pixelWidth / CARDWIDTH;
+			g.drawImage(imageCache.getImage(cards.get(i), pixelWidth, pixelHeight), x, y, x + visibleWidth, y + CARDHEIGHT, 0, 0, sourceWidth, pixelHeight, null);
+			String annotation = annotations.get(i);
+			if (annotation != null) paintAnnotation(g, annotation, x, y, Math.min(visibleWidth, step));
+		}
+		
+		if (!isEnabled()) {
+			Composite composite = g.getComposite();
+			g.setComposite(AlphaComposite.SrcOver);
+			g.setColor(DISABLEDOVERLAY);
+			g.fillRect(clip.x, MARGIN, clip.width, RAISE + CARDHEIGHT);
+			g.setComposite(composite);
+		}
+	}
+	
+	/**
+     * Paints an annotation on the visible part of a card.
+     */
+	private void paintAnnotation(Graphics2D g, String annotation, int x, int y, int visibleWidth) {
+		g.setFont(ANNOTATIONFONT);
+		FontMetrics metrics = g.getFontMetrics();
+		int height = metrics.getHeight() + 4;
+		g.setColor(ANNOTATIONBACKGROUND);
+		g.fillRect(x, y + CARDHEIGHT - height, visibleWidth, height);
+		g.setColor(Color.white);
+		g.drawString(annotation, x + 3, y + CARDHEIGHT - 2 - metrics.getDescent());
+	}
+	
+	/**
+     * Gets the x coordinate of the left edge of a card.
+     */
+	private int cardX(int index) {
+		return origin + index * step;
+	}
+	
+	/**
+     * Marks the layout as out of date, it is computed again before the next paint or hit-test.
+     */
+	private void invalidateLayout() {
+		layoutWidth = -1;
+	}
+	
+	/**
+     * Computes where the cards go if the width of the component or the number of cards changed.
+     * Cards sit side by side if they fit, overlap if they don't, and scroll once they would overlap too much.
+     */
+	private void updateLayout() {
+		int width = getWidth();
+		if (width == layoutWidth && cards.size() == layoutCount) return;
+		layoutWidth = width;
+		layoutCount = cards.size();
+		
+		int count = cards.size();
+		int available = Math.max(CARDWIDTH, width - 2 * MARGIN);
+		int sideBySide = count * CARDWIDTH + Math.max(0, count - 1) * GAP;
+		maxScrollOffset = 0;
+		if (sideBySide <= available || count < 2) {
+			step = CARDWIDTH + GAP;
+			origin = MARGIN + (available - sideBySide) / 2;
+		} else if ((available - CARDWIDTH) / (count - 1) >= MINSTEP) {
+			step = (available - CARDWIDTH) / (count - 1);
+			origin = MARGIN;
+		} else {
+			step = MINSTEP;
+			maxScrollOffset = (count - 1) * MINSTEP + CARDWIDTH - available;
+			origin = MARGIN - Math.min(scrollOffset, maxScrollOffset);
+		}
+		scrollOffset = Math.min(scrollOffset, maxScrollOffset);
+	}
+	
+	/**
+     * Repaints the cards from an index on, or the whole hand if the change moved the other cards as well.
+     */
+	private void repaintFrom(int index) {
+		int oldOrigin = origin;
+		int oldStep = step;
+		updateLayout();
+		if (origin != oldOrigin || step != oldStep) {
+			repaint();
+			return;
+		}
+		int x = Math.max(0, cardX(index));
+		repaint(x, 0, getWidth() - x, getHeight());
+	}
+	
+	/**
+     * Scrolls an overflowing hand.
+     */
+	private void scrollBy(int pixels) {
+		updateLayout();
+		int offset = Math.max(0, Math.min(maxScrollOffset, scrollOffset + pixels));
+		if (offset == scrollOffset) return;
+		scrollOffset = offset;
+		invalidateLayout();
+		repaint();
+	}
+	
+	/**
+     * Raises the hovered card, repainting only the cards that moved.
+     */
+	private void setHoverIndex(int index) {
+		if (index == hoverIndex) return;
+		if (hoverIndex != -1 && hoverIndex < cards.size()) repaint(cardBounds(hoverIndex));
+		hoverIndex = index;
+		if (hoverIndex != -1) repaint(cardBounds(hoverIndex));
+	}
+	
+	/**
+     * Notifies the listeners that a card was clicked.
+     */
+	private void fireCardEvent(int index) {
+		CardEvent event = new CardEvent(this, cards.get(index), index);
+		for (ActionListener listener : new ArrayList<ActionListener>(listeners)) {
+			listener.actionPerformed(event);
+		}
+	}
+}
@@ -10,6 +10,7 @@ import java.util.Map.Entry;
 import exception.InvalidInputException;
 import exception.NoSuchUserException;
 import management.GameLogs;
+import metrics.LoginAttemptEvent;
 
 /**
  * Listens for login events and performs corresponding actions such as logging in or registering.
@@ -44,6 +45,26 @@ public class LoginListener implements EventListener {
 	 * @param eventType  the type of login event (LOGIN or REGISTER).
 	 */
 	public void loginActionPerformed(LoginEvent loginEvent, int eventType) {
+		LoginAttemptEvent attempt = new LoginAttemptEvent();
+		attempt.begin();
+		boolean successful = performLoginAction(loginEvent, eventType);
+		attempt.end();
+		if (attempt.shouldCommit()) {
+			attempt.username = loginEvent.getUsername();
+			attempt.register = eventType == REGISTER;
+			attempt.successful = successful;
+			attempt.commit();
+		}
+	}
+	
+	/**
+	 * Logs the user in or registers them, see {@link #loginActionPerformed(LoginEvent, int)}.
+	 *
+	 * @param loginEvent the login event containing username and password information.
+	 * @param eventType  the type of login event (LOGIN or REGISTER).
+	 * @return true if the user was logged in or registered.
+	 */
+	private boolean performLoginAction(LoginEvent loginEvent, int eventType) {
 
 		String username = loginEvent.getUsername();
 		String password = loginEvent.getPassword();
@@ -54,7 +75,7 @@ public class LoginListener implements EventListener {
 					new InvalidInputException(String.format("%s:%s", username, password)); }
 				catch (InvalidInputException e) {
 					System.out.println(e.getMessage());
-					return;
+					return false;
 				}
 				
 				boolean loginSuccessful = false;
@@ -63,7 +84,7 @@ public class LoginListener implements EventListener {
 					GameLogs.validateUsernameExistence(Paths.get("Data\\passwords.txt"), username);
 				} catch (NoSuchUserException e1) {
 					System.out.println(e1.getMessage());
-					return;
+					return false;
 				}
 				
 				Map<String, String> passwords = GameLogs.readPasswordFile(Paths.get("Data\\passwords.txt"));
@@ -82,21 +103,22 @@ public class LoginListener implements EventListener {
 					Component source = ((Component) loginEvent.getSource());
 					source.setVisible(false);
 					new GameWindow();
-					
+					return true;
 				}
 				else if (incorrectPassword) System.out.println("Incorrect password please try again.");
-				break;
+				return false;
 			}
 			case (REGISTER): {
 				try {
 					GameLogs.registerPasswordToFile(Paths.get("Data\\passwords.txt"), username, password);
 				} catch (InvalidInputException e) {
 					System.out.println(e.getMessage());
+					return false;
 				}
-				break;
+				return true;
 			}
 			default:
-				return;
+				return false;
 		}
 	}
 }
@@ -0,0 +1,33 @@
+package gui;
+
+import java.awt.AWTEvent;
+import java.awt.EventQueue;
+import java.awt.Toolkit;
+
+import metrics.GameMetrics;
+
+/**
+ * Event queue that measures how long every event takes to dispatch on the Swing event dispatch thread,
+ * so that game logic blocking the GUI shows up in the {@link GameMetrics}.
+ *
+ * @author Bedirhan Sakaoğlu
+ */
+public class MeteredEventQueue extends EventQueue {
+
+	/**
+     * Replaces the system event queue with a metered one.
+     */
+	public static void install() {
+		Toolkit.getDefaultToolkit().getSystemEventQueue().push(new MeteredEventQueue());
+	}
+	
+	@Override
+	protected void dispatchEvent(AWTEvent event) {
+		long start = System.nanoTime();
+		try {
+			super.dispatchEvent(event);
+		} finally {
+			GameMetrics.get().edtDispatched(System.nanoTime() - start);
+		}
+	}
+}
@@ -0,0 +1,146 @@
+package gui;
+
+import java.awt.Component;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import javax.swing.Timer;
+
+import management.RenderSnapshot;
+
+/**
+ * Paces the turns of the bots for the eye, without ever holding up the engine.
+ * <p>
+ * The game loop plays the bots' turns as fast as it can and publishes a {@link RenderSnapshot} after each of
+ * them. The animator queues the snapshots together with the GUI updates that have to wait for them, such as
+ * enabling the player's hand, and a single Swing timer hands them to the {@link UiUpdateQueue} one after the
+ * other. A move is shown as soon as the turn it belongs to, and the turn passes to the next player after
+ * {@link #TURNDELAYMILLIS}, or after {@link #STEPDELAYMILLIS} if the same player goes again. Both are divided
+ * by the speed, which the {@code uno.animation.speed} system property sets.
+ * </p>
+ * <p>
+ * In turbo mode nothing is delayed: everything queued is handed over at once, and since the update queue
+ * coalesces snapshots, only the final state of the round is rendered.
+ * </p>
+ *
+ * @author Bedirhan Sakaoğlu
+ */
+public class TurnAnimator {
+
+	public static final long TURNDELAYMILLIS = 1000;
+	public static final long STEPDELAYMILLIS = 200;
+	public static final double DEFAULTSPEED = 1.0;
+	
+	private final UiUpdateQueue target;
+	private final BooleanSupplier turbo;
+	private final ArrayDeque<Step> steps = new ArrayDeque<Step>();
+	private final Timer timer;
+	
+	private volatile double speed = Double.parseDouble(System.getProperty("uno.animation.speed", Double.toString(DEFAULTSPEED)));
+	private RenderSnapshot lastQueued;
+	private long lastShownNanos = 0;
+	
+	/**
+	 * A queued GUI update and how long after the previous one it may be shown.
+	 */
+	private static class Step {
+		
+		private final Object key;
+		private final Component component;
+		private final Runnable update;
+		private final long delayMillis;
+		
+		private Step(Object key, Component component, Runnable update, long delayMillis) {
+			this.key = key;
+			this.component = component;
+			this.update = update;
+			this.delayMillis = delayMillis;
+		}
+	}
+	
+	/**
+     * Constructs an animator.
+     *
+     * @param target the queue the updates are handed to when it is their turn.
+     * @param turbo  tells whether turbo mode is on, asked on every frame.
+     */
+	public TurnAnimator(UiUpdateQueue target, BooleanSupplier turbo) {
+		this.target = target;
+		this.turbo = turbo;
+		timer = new Timer(UiUpdateQueue.FRAMEMILLIS, e -> tick());
+		timer.setCoalesce(true);
+	}
+	
+	/**
+     * Queues the rendering of a snapshot, delayed by the pace of the turn it shows. Can be called from any thread.
+     *
+     * @param snapshot  the snapshot.
+     * @param key       the key the rendering is posted under, see {@link UiUpdateQueue#post(Object, Component, Runnable)}.
+     * @param component the component to lay out and repaint after rendering, or null.
+     * @param render    renders the snapshot.
+     */
+	public void enqueue(RenderSnapshot snapshot, Object key, Component component, Runnable render) {
+		long delay;
+		synchronized (this) {
+			if (lastQueued == null || !snapshot.isSameTable(lastQueued)) delay = 0;
+			else if (snapshot.getCurrentSeat() == lastQueued.getCurrentSeat()) delay = STEPDELAYMILLIS;
+			else delay = TURNDELAYMILLIS;
+			lastQueued = snapshot;
+		}
+		enqueue(key, component, render, delay);
+	}
+	
+	/**
+     * Queues a GUI update that must not be shown before the snapshots queued so far. Can be called from any thread.
+     *
+     * @param key       the key the update is posted under.
+     * @param component the component to lay out and repaint after the update, or null.
+     * @param update    the update.
+     */
+	public void enqueue(Object key, Component component, Runnable update) {
+		enqueue(key, component, update, 0);
+	}
+	
+	/**
+     * Sets how fast the turns are animated.
+     *
+     * @param speed the speed, 2 halves the delays.
+     */
+	public void setSpeed(double speed) {
+		this.speed = Math.max(0.01, speed);
+	}
+	
+	private void enqueue(Object key, Component component, Runnable update, long delayMillis) {
+		synchronized (this) {
+			steps.add(new Step(key, component, update, delayMillis));
+		}
+		timer.start();
+	}
+	
+	/**
+     * Hands every step whose delay has passed over to the update queue. Runs once per frame while steps are queued.
+     */
+	private void tick() {
+		long now = System.nanoTime();
+		boolean skip = turbo.getAsBoolean();
+		List<Step> due = new ArrayList<Step>();
+		synchronized (this) {
+			while (!steps.isEmpty()) {
+				Step step = steps.peek();
+				long delayNanos = (skip) ? 0 : (long)(step.delayMillis * 1000000L / speed);
+				if (now - lastShownNanos < delayNanos) break;
+				steps.poll();
+				due.add(step);
+				lastShownNanos = now;
+			}
+			if (steps.isEmpty()) {
+				timer.stop();
+			}
+		}
+		for (Step step : due) {
+			target.post(step.key, step.component, step.update);
+		}
+	}
+}
@@ -0,0 +1,107 @@
+package gui;
+
+import java.awt.Component;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+
+/**
+ * Queue of GUI updates that can be posted from any thread and are applied on the event dispatch thread.
+ * <p>
+ * The game loop runs on its own thread and must not touch Swing components. Instead it posts updates under
+ * a key, and a Swing timer drains the queue at most once per frame. An update posted under a key that is
+ * still pending replaces the pending one, so a burst of turns between two frames only applies the last state
+ * of every part of the window. Components an update changes are marked dirty and are laid out and repainted
+ * once per frame, after all updates of that frame have run.
+ * </p>
+ *
+ * @author Bedirhan Sakaoğlu
+ */
+public class UiUpdateQueue {
+
+	public static final int FRAMEMILLIS = 16;
+	
+	private final LinkedHashMap<Object, Runnable> pending = new LinkedHashMap<Object, Runnable>();
+	private final LinkedHashSet<Component> dirty = new LinkedHashSet<Component>();
+	private final Timer timer;
+	
+	private long posted = 0;
+	private long applied = 0;
+	
+	/**
+     * Constructs an empty queue. The timer only runs while updates are pending.
+     */
+	public UiUpdateQueue() {
+		timer = new Timer(FRAMEMILLIS, e -> drain());
+		timer.setCoalesce(true);
+		timer.setRepeats(false);
+	}
+	
+	/**
+     * Posts an update, replacing a pending update posted under the same key.
+     * Can be called from any thread.
+     *
+     * @param key       identifies the part of the window the update sets.
+     * @param component the component to lay out and repaint after the update, or null.
+     * @param update    the update, run on the event dispatch thread.
+     */
+	public void post(Object key, Component component, Runnable update) {
+		synchronized (this) {
+			pending.remove(key);
+			pending.put(key, update);
+			if (component != null) dirty.add(component);
+			posted++;
+			if (pending.size() > 1) return;
+		}
+		timer.start();
+	}
+	
+	/**
+     * Applies all pending updates right away if called on the event dispatch thread, for example before the
+     * window is replaced.
+     */
+	public void flush() {
+		if (SwingUtilities.isEventDispatchThread()) drain();
+	}
+	
+	/**
+     * Gets the number of updates posted and the number applied, the difference being the updates that were
+     * replaced before they ran.
+     *
+     * @return the posted and the applied updates.
+     */
+	public synchronized long[] getCounts() {
+		return new long[] { posted, applied };
+	}
+	
+	/**
+     * Runs the pending updates and then lays out and repaints every dirty component once.
+     */
+	private void drain() {
+		List<Runnable> updates;
+		List<Component> components;
+		synchronized (this) {
+			if (pending.isEmpty()) return;
+			updates = new ArrayList<Runnable>(pending.values());
+			components = new ArrayList<Component>(dirty);
+			pending.clear();
+			dirty.clear();
+			applied += updates.size();
+		}
+		for (Runnable update : updates) {
+			update.run();
+		}
+		for (Component component : components) {
+			component.revalidate();
+			component.repaint();
+		}
+		synchronized (this) {
+			if (pending.isEmpty()) return;
+		}
+		timer.start();
+	}
+}
@@ -1,10 +1,14 @@
 package main;
 
 import gui.LoginWindow;
+import gui.MeteredEventQueue;
 import gui.GameWindow;
+import metrics.GameMetrics;
 
 public class Main {
 	public static void main(String[] args) {
+		GameMetrics.register();
+		MeteredEventQueue.install();
 		Runnable app = new Runnable() {
 
 			@Override
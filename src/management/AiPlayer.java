@@ -1,10 +1,14 @@
 package management;
 
-import java.awt.Color;
-import java.security.SecureRandom;
-import java.util.ArrayList;
 import java.util.List;
 
+import ai.AiStrategy;
+import ai.GameStateView;
+import ai.LegalMoves;
+import ai.Strategies;
+import metrics.ForcedDrawEvent;
+import metrics.GameMetrics;
+import metrics.TurnEvent;
 import uno.Action;
 import uno.Card;
 import uno.EColor;
@@ -14,9 +18,12 @@ import uno.WildCard;
  * Represents an AI player in the game.
  * <p>
  * An AI player makes decisions based on the game rules and current state to play cards or draw from the deck.
+ * The decisions themselves are delegated to an {@link AiStrategy}, which only sees the legal moves and a
+ * read-only view of the game.
  * </p>
  * <p>
- * AI players have random names assigned to them from a predefined list.
+ * AI players are named from a predefined list in the order they are seated in their session, so every session
+ * starts over at the first name and any number of sessions can seat bots at once.
  * </p>
  * <p>
  * This class extends the {@link Player} class and implements AI-specific gameplay logic.
@@ -26,97 +33,172 @@ import uno.WildCard;
  */
 public class AiPlayer extends Player {
 	
-	private GameLogListener logListener = new GameLogListener();
-	private static final String[] botNames = {"Connor", "Markus", "Kara", "Hank", "Mat", "John", "Evelyn", "Emily", "Mike"};
-	private static int botID = 0;
+	/** Outcome of a turn: a card was drawn from the deck and the player plays again. */
+	public static final int DREW_CARD = 0;
+	/** Outcome of a turn: a regular card was played. */
+	public static final int PLAYED_CARD = 1;
+	/** Outcome of a turn: a wild card was played with a chosen color. */
+	public static final int PLAYED_WILD = 2;
+	/** Outcome of a turn: no action was possible because the draw pile is empty. */
+	public static final int NO_ACTION = 3;
+	/** Outcome of a turn: a skip card was played. */
+	public static final int PLAYED_SKIP = 4;
+	/** Outcome of a turn: a reverse card was played. */
+	public static final int PLAYED_REVERSE = 5;
 	
+	private static final String[] BOTNAMES = {"Connor", "Markus", "Kara", "Hank", "Mat", "John", "Evelyn", "Emily", "Mike"};
+	
+	private final int botID;
 	private String botName;
+	private AiStrategy strategy;
+	private final LegalMoves legalMoves = new LegalMoves();
+	private final GameStateView stateView = new SessionView();
 	
 	/**
-	 * Constructs a new AI player with a randomly assigned name.
+	 * Read-only view of the game session from the point of view of this player.
+	 */
+	private class SessionView implements GameStateView {
+
+		@Override
+		public Card getCardTopDeck() {
+			return gameSession.getCardTopDeck();
+		}
+
+		@Override
+		public EColor getCurrentColor() {
+			return gameSession.getCurrentColor();
+		}
+
+		@Override
+		public boolean cardIsPlayable(Card card) {
+			return gameSession.cardIsPlayable(card);
+		}
+
+		@Override
+		public int getDrawPileSize() {
+			return gameSession.getDrawPile().size();
+		}
+
+		@Override
+		public int getNumberOfPlayers() {
+			return gameSession.getPlayerListGameOrder().size();
+		}
+
+		@Override
+		public int getHandSize() {
+			return getDeck().size();
+		}
+
+		@Override
+		public int getNextPlayerHandSize() {
+			Player next = gameSession.getNextPlayer(AiPlayer.this);
+			return (next == null) ? 0 : next.getDeck().size();
+		}
+	}
+	
+	/**
+	 * Constructs a new AI player named after its seat in the session that plays with the default strategy.
 	 *
 	 * @param gameSession the game session this player belongs to.
 	 */
 	public AiPlayer(GameSession gameSession) {
+		this(gameSession, Strategies.defaultStrategy());
+	}
+	
+	/**
+	 * Constructs a new AI player named after its seat in the session that plays with the given strategy.
+	 *
+	 * @param gameSession the game session this player belongs to.
+	 * @param strategy the strategy used to choose cards and colors.
+	 */
+	public AiPlayer(GameSession gameSession, AiStrategy strategy) {
+		this(gameSession, strategy, null);
+	}
+	
+	/**
+	 * Constructs a new AI player with the given name that plays with the given strategy.
+	 *
+	 * @param gameSession the game session this player belongs to.
+	 * @param strategy the strategy used to choose cards and colors.
+	 * @param botName the name of the player, or null to name it after its seat in the session, see {@link #defaultBotName(int)}.
+	 */
+	public AiPlayer(GameSession gameSession, AiStrategy strategy, String botName) {
 		super(gameSession);
-		botName = botNames[botID++];
+		this.botID = (gameSession == null) ? 0 : gameSession.allocateBotID();
+		this.botName = (botName == null) ? defaultBotName(botID) : botName;
+		this.strategy = strategy;
 	}
-
+	
 	/**
-	 * Get a list of playable cards from the AI player's deck.
+	 * Gets the predefined name of the bot with a given ID. Once the names run out they are reused with a number,
+	 * so a session can seat any number of bots.
 	 *
-	 * @return a list of playable cards.
+	 * @param botID the ID of the bot in its session, starting at 0.
+	 * @return the name of the bot.
 	 */
-	private List<Card> getPlayableCards() {
-		List<Card> playableCards = new ArrayList<Card>();
- 		for (Card card : getDeck()) {
-			if (gameSession.cardIsPlayable(card)) {
-				playableCards.add(card);
-			}
+	public static String defaultBotName(int botID) {
+		String name = BOTNAMES[botID % BOTNAMES.length];
+		return (botID < BOTNAMES.length) ? name : name + " " + (botID / BOTNAMES.length + 1);
+	}
+	
+	/**
+	 * Plays a turn, letting the strategy of the player choose the card and the color of wild cards.
+	 * If no card is playable a card is drawn instead.
+	 *
+	 * @return the outcome of the turn, one of {@link #DREW_CARD}, {@link #PLAYED_CARD}, {@link #PLAYED_WILD},
+	 *         {@link #NO_ACTION}, {@link #PLAYED_SKIP} or {@link #PLAYED_REVERSE}.
+	 */
+	public int playTurn() {
+		TurnEvent event = new TurnEvent();
+		event.begin();
+		long start = System.nanoTime();
+		int outcome = takeTurn();
+		if (getDeck().size() == 1 && outcome != DREW_CARD && outcome != NO_ACTION) {
+			gameSession.emit(GameEvent.UNO, this, null, null);
+		}
+		GameMetrics.get().turnPlayed(strategy.getName(), System.nanoTime() - start);
+		gameSession.publishSnapshot(this);
+		event.end();
+		if (event.shouldCommit()) {
+			event.gameName = gameSession.getGameName();
+			event.seat = gameSession.getPlayerListGameOrder().indexOf(this);
+			event.aiType = strategy.getName();
+			event.outcome = outcome;
+			event.commit();
 		}
-		return playableCards;
+		return outcome;
 	}
 	
 	/**
-	 * Plays a random card from the AI player's deck.
+	 * Plays or draws a card, see {@link #playTurn()}.
 	 *
-	 * @return an integer representing the outcome of the play action:
-	 *         0 - Drawn a card from the deck.
-	 *         1 - Played a regular card.
-	 *         2 - Played a wild card with a chosen color.
-	 *         3 - No available actions (draw pile is empty).
-	 *         4 - Played a skip card.
+	 * @return the outcome of the turn.
 	 */
-	public int playRandom() {
-		List<Card> cards = getPlayableCards();
+	private int takeTurn() {
+		legalMoves.collect(getDeck(), stateView);
 		
-		if (cards.size() == 0) {
+		if (legalMoves.isEmpty()) {
 			List<Card> drawPile = gameSession.getDrawPile();
-			if (drawPile.size() == 0) return 3;
+			if (drawPile.size() == 0) return NO_ACTION;
 			Card cardDrawn = drawPile.get(drawPile.size() - 1);
 			drawCard(cardDrawn);
-			System.out.println(botName + " drew a card.\n");
-			String logEntry = String.format("%s drew a card: %s", botName, cardDrawn);
-			logListener.updateGameLogEvent(logListener.new GameLogEvent(this, logEntry, gameSession.getGameName()));
-			return 0;
+			return DREW_CARD;
 		}
-		else {
-			SecureRandom random = new SecureRandom();
-			random.setSeed(random.nextLong());
-			int randomInt = random.nextInt(0, cards.size());
-			Card cardPlayed = cards.get(randomInt);
-			if (cardPlayed instanceof WildCard) {
-				WildCard wild = (WildCard) cardPlayed;
-				EColor[] colors = {EColor.RED, EColor.GREEN, EColor.BLUE, EColor.YELLOW};
-				
-				EColor wildColor = colors[random.nextInt(0, 4)];
-				wild.setColorEnum(wildColor);
-				playCard(wild);
-				System.out.println(botName + " played " + wild);
-				String logEntry = String.format("%s played card: %s with color: ", botName, wild, wildColor.toString());
-				logListener.updateGameLogEvent(logListener.new GameLogEvent(this, logEntry, gameSession.getGameName()));
-				return 2;
-			} else if (cardPlayed.getAction() == Action.REVERSE) {
-				playCard(cardPlayed);
-				System.out.println(botName + " played " + cardPlayed);
-				String logEntry = String.format("%s played card: %s", botName, cardPlayed);
-				logListener.updateGameLogEvent(logListener.new GameLogEvent(this, logEntry, gameSession.getGameName()));
-				return 0;
-			} else if (cardPlayed.getAction() == Action.SKIP) {
-				playCard(cardPlayed);
-				System.out.println(botName + " played " + cardPlayed);
-				String logEntry = String.format("%s played card: %s", botName, cardPlayed);
-				logListener.updateGameLogEvent(logListener.new GameLogEvent(this, logEntry, gameSession.getGameName()));
-				return 4;
-			}
-			else {
-				playCard(cardPlayed);
-				System.out.println(botName + " played " + cardPlayed);
-				String logEntry = String.format("%s played card: %s", botName, cardPlayed);
-				logListener.updateGameLogEvent(logListener.new GameLogEvent(this, logEntry, gameSession.getGameName()));
-				return 1;
-			}
+		
+		Card cardPlayed = legalMoves.get(strategy.chooseMove(legalMoves, stateView));
+		if (cardPlayed instanceof WildCard) {
+			WildCard wild = (WildCard) cardPlayed;
+			EColor wildColor = strategy.chooseColor(legalMoves, stateView);
+			wild.setColorEnum(wildColor);
+			gameSession.emit(GameEvent.COLORCHOSEN, this, wild, wildColor);
+			playCard(wild);
+			return PLAYED_WILD;
 		}
+		
+		playCard(cardPlayed);
+		if (cardPlayed.getAction() == Action.REVERSE) return PLAYED_REVERSE;
+		if (cardPlayed.getAction() == Action.SKIP) return PLAYED_SKIP;
+		return PLAYED_CARD;
 	}
 	
 	/**
@@ -125,37 +207,69 @@ public class AiPlayer extends Player {
 	 * @param num the number of cards to draw.
 	 * @return an integer representing the outcome of the draw action:
 	 *         1 - Cards drawn successfully.
-	 *         3 - Insufficient cards in the draw pile.
+	 *         {@link #NO_ACTION} - Insufficient cards in the draw pile.
 	 */
 	public int forcedDrawCard(int num) {
 		List<Card> drawPile = gameSession.getDrawPile();
-		if (drawPile.size() < num) return 3;
+		if (drawPile.size() < num) return NO_ACTION;
+		if (!ForcedDrawEvent.enabled()) {
+			drawCards(drawPile, num);
+			return 1;
+		}
+		ForcedDrawEvent event = new ForcedDrawEvent();
+		event.begin();
+		drawCards(drawPile, num);
+		event.end();
+		if (event.shouldCommit()) {
+			event.gameName = gameSession.getGameName();
+			event.player = botName;
+			event.cards = num;
+			event.commit();
+		}
+		return 1;
+	}
+	
+	/**
+	 * Draws cards from the top of the draw pile for a forced draw.
+	 *
+	 * @param drawPile the draw pile, holding at least the number of cards to draw.
+	 * @param num the number of cards to draw.
+	 */
+	private void drawCards(List<Card> drawPile, int num) {
 		for (int i = 0; i < num; i++) {
 			Card cardDrawn = drawPile.get(drawPile.size() - 1);
 			drawCard(cardDrawn);
-			System.out.println(botName + " drew a card.\n");
-			String logEntry = String.format("%s drew a card: %s", botName, cardDrawn);
-			logListener.updateGameLogEvent(logListener.new GameLogEvent(this, logEntry, gameSession.getGameName()));
 		}
-		return 1;
+		GameMetrics.get().forcedDraw(num);
+		gameSession.getRecorder().record(SessionRecorder.FORCEDDRAW, this, num, 0);
+		gameSession.publishSnapshot(this);
 	}
-
+	
 	/**
-	 * Gets the ID of the AI player.
+	 * Gets the ID of the AI player among the bots of its session.
 	 *
 	 * @return the bot ID.
 	 */
-	public static int getBotID() {
+	public int getBotID() {
 		return botID;
 	}
 
 	/**
-	 * Sets the ID of the AI player.
+	 * Gets the strategy the AI player plays with.
+	 *
+	 * @return the strategy of the player.
+	 */
+	public AiStrategy getStrategy() {
+		return strategy;
+	}
+
+	/**
+	 * Sets the strategy the AI player plays with.
 	 *
-	 * @param botID the bot ID to set.
+	 * @param strategy the strategy to set.
 	 */
-	public static void setBotID(int botID) {
-		AiPlayer.botID = botID;
+	public void setStrategy(AiStrategy strategy) {
+		this.strategy = strategy;
 	}
 
 	/**
@@ -179,9 +293,9 @@ public class AiPlayer extends Player {
 	/**
 	 * Gets the array of predefined bot names.
 	 *
-	 * @return the array of bot names.
+	 * @return a copy of the array of bot names.
 	 */
 	public static String[] getBotnames() {
-		return botNames;
+		return BOTNAMES.clone();
 	}
 }
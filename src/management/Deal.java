@@ -0,0 +1,177 @@
+package management;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import uno.ActionCard;
+import uno.Card;
+import uno.Decks;
+import uno.WildCard;
+
+/**
+ * A shuffled deck dealt out for a number of players: the hands, the draw pile and a number card turned over
+ * to start the discard pile.
+ * <p>
+ * A deal only depends on its seed, so a session dealt by a {@link DealPool} in the background plays exactly
+ * like a session that dealt the same seed itself. The random generator is handed over together with the
+ * cards, in the state dealing left it in, for the session to reshuffle with later.
+ * </p>
+ *
+ * @author Bedirhan Sakaoğlu
+ */
+public final class Deal {
+
+	public static final int HANDSIZE = 7;
+	
+	private final long seed;
+	private final Random random;
+	private final int players;
+	private final int decks;
+	private final List<Card> drawPile;
+	private final List<Card> discardPile;
+	private final List<List<Card>> hands;
+	
+	private Deal(long seed, Random random, int players, int decks, List<Card> drawPile, List<Card> discardPile, List<List<Card>> hands) {
+		this.seed = seed;
+		this.random = random;
+		this.players = players;
+		this.decks = decks;
+		this.drawPile = drawPile;
+		this.discardPile = discardPile;
+		this.hands = hands;
+	}
+	
+	/**
+     * Deals a new game from a seed, with as many decks as {@link Decks#decksFor(int)} gives the table.
+     *
+     * @param seed    the seed of the shuffle.
+     * @param players the number of players.
+     * @return the deal, or null if the shoe holds no number card to start the discard pile with.
+     */
+	public static Deal deal(long seed, int players) {
+		return deal(seed, new Random(seed), players);
+	}
+	
+	/**
+     * Deals a new game with a random generator created from a seed and not used yet, with as many decks as
+     * {@link Decks#decksFor(int)} gives the table.
+     *
+     * @param seed    the seed the generator was created from.
+     * @param random  the generator, used for the shuffle and handed over with the deal.
+     * @param players the number of players.
+     * @return the deal, or null if the shoe holds no number card to start the discard pile with.
+     */
+	public static Deal deal(long seed, Random random, int players) {
+		return deal(seed, random, players, Decks.decksFor(players));
+	}
+	
+	/**
+     * Deals a new game from a shoe of several decks, with a random generator created from a seed and not used yet.
+     * <p>
+     * Action and wild cards on top of the shuffled deck are moved to the bottom until a number card comes up,
+     * which starts the discard pile. Then every player in turn gets the top {@value #HANDSIZE} cards, sorted as
+     * if drawn one by one, and all dealt cards leave the draw pile at once.
+     * </p>
+     *
+     * @param seed    the seed the generator was created from.
+     * @param random  the generator, used for the shuffle and handed over with the deal.
+     * @param players the number of players.
+     * @param decks   the number of decks in the shoe.
+     * @return the deal, or null if the shoe holds no number card to start the discard pile with.
+     * @throws IllegalArgumentException if the shoe is too small to deal every player a hand.
+     */
+	public static Deal deal(long seed, Random random, int players, int decks) {
+		if (decks < 1 || players * HANDSIZE >= decks * Decks.DECKSIZE) {
+			throw new IllegalArgumentException(decks + " decks cannot be dealt to " + players + " players");
+		}
+		List<Card> drawPile = Decks.initializeDrawPile(random, decks);
+		Card cardTopDeck = drawPile.get(drawPile.size() - 1);
+		
+		int trial = 1;
+		while (cardTopDeck instanceof ActionCard || cardTopDeck instanceof WildCard) {
+			drawPile.remove(drawPile.size() - 1);
+			drawPile.add(0, cardTopDeck);
+			cardTopDeck = drawPile.get(drawPile.size() - 1);
+			if (trial++ > drawPile.size()) return null;
+		}
+		List<Card> discardPile = new ArrayList<Card>(drawPile.size() + 1);
+		discardPile.add(drawPile.remove(drawPile.size() - 1));
+		
+		int top = drawPile.size() - 1;
+		List<List<Card>> hands = new ArrayList<List<Card>>(players);
+		for (int player = 0; player < players; player++) {
+			List<Card> hand = new ArrayList<Card>(HANDSIZE);
+			for (int i = 0; i < HANDSIZE; i++) {
+				Decks.insertSorted(hand, drawPile.get(top - player * HANDSIZE - i));
+			}
+			hands.add(hand);
+		}
+		drawPile.subList(drawPile.size() - players * HANDSIZE, drawPile.size()).clear();
+		return new Deal(seed, random, players, decks, drawPile, discardPile, hands);
+	}
+	
+	/**
+     * Gets the seed the deal was shuffled with.
+     *
+     * @return the seed.
+     */
+	public long getSeed() {
+		return seed;
+	}
+	
+	/**
+     * Gets the random generator the deal was shuffled with, in the state dealing left it in.
+     *
+     * @return the random generator.
+     */
+	public Random getRandom() {
+		return random;
+	}
+	
+	/**
+     * Gets the number of players the deal is for.
+     *
+     * @return the number of hands.
+     */
+	public int getPlayers() {
+		return players;
+	}
+	
+	/**
+     * Gets the number of decks the deal was shuffled from.
+     *
+     * @return the number of decks in the shoe.
+     */
+	public int getDecks() {
+		return decks;
+	}
+	
+	/**
+     * Gets the draw pile left after dealing, top card last.
+     *
+     * @return the draw pile.
+     */
+	public List<Card> getDrawPile() {
+		return drawPile;
+	}
+	
+	/**
+     * Gets the discard pile, holding the card turned over to start the game.
+     *
+     * @return the discard pile.
+     */
+	public List<Card> getDiscardPile() {
+		return discardPile;
+	}
+	
+	/**
+     * Gets the hand of a seat, in Uno card order.
+     *
+     * @param seat the seat.
+     * @return the hand.
+     */
+	public List<Card> getHand(int seat) {
+		return hands.get(seat);
+	}
+}
@@ -0,0 +1,211 @@
+package management;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A pool of {@link Deal}s shuffled ahead of time, so that starting a game does not have to wait for the deck.
+ * <p>
+ * One queue of deals is kept per number of players. A daemon thread, started by {@link #start()}, tops every
+ * queue up to its target whenever a deal is taken. The targets follow the rate of starts: once per
+ * {@link #RATEWINDOWMILLIS} the starts of the last window are folded into a decaying average, and a queue is
+ * kept at {@link #MINDEALS} plus that average, at most {@link #MAXDEALS}. Player counts nobody plays stay at
+ * the minimum, while a burst of starts grows its queue until the producer catches up.
+ * </p>
+ * <p>
+ * Every pooled deal has a seed of its own, which the session that takes it adopts, so a pooled game can still
+ * be replayed from its seed. Only sessions without a seed of their own take from a pool: a seeded session has
+ * to deal its seed and deals itself. When a queue is empty, or the number of players is beyond the pool,
+ * {@link #take(int)} deals on the calling thread instead.
+ * </p>
+ *
+ * @author Bedirhan Sakaoğlu
+ */
+public class DealPool {
+
+	public static final int MINPLAYERS = 2;
+	public static final int MINDEALS = 2;
+	public static final int MAXDEALS = 64;
+	public static final long RATEWINDOWMILLIS = 1000;
+	
+	private final int maxPlayers;
+	private final List<ArrayBlockingQueue<Deal>> ready;
+	private final AtomicIntegerArray starts;
+	private final AtomicIntegerArray targets;
+	private final double[] rates;
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+	private final Object refill = new Object();
+	private volatile boolean running = false;
+	private Thread producer;
+	
+	/**
+     * Constructs an empty pool for {@link #MINPLAYERS} up to a number of players. Nothing is dealt until the
+     * pool is started.
+     *
+     * @param maxPlayers the largest number of players deals are pooled for.
+     */
+	public DealPool(int maxPlayers) {
+		this.maxPlayers = maxPlayers;
+		int counts = Math.max(0, maxPlayers - MINPLAYERS + 1);
+		ready = new ArrayList<ArrayBlockingQueue<Deal>>(counts);
+		for (int i = 0; i < counts; i++) {
+			ready.add(new ArrayBlockingQueue<Deal>(MAXDEALS));
+		}
+		starts = new AtomicIntegerArray(counts);
+		targets = new AtomicIntegerArray(counts);
+		rates = new double[counts];
+		for (int i = 0; i < counts; i++) {
+			targets.set(i, MINDEALS);
+		}
+	}
+	
+	/**
+     * Starts the producer thread, which fills every queue up to {@link #MINDEALS} right away.
+     */
+	public synchronized void start() {
+		if (running) return;
+		running = true;
+		producer = new Thread(this::produce, "deal-pool");
+		producer.setDaemon(true);
+		producer.start();
+	}
+	
+	/**
+     * Stops the producer thread. Deals already pooled can still be taken.
+     */
+	public synchronized void stop() {
+		if (!running) return;
+		running = false;
+		producer.interrupt();
+		producer = null;
+	}
+	
+	/**
+     * Takes a deal for a number of players, dealing one on the calling thread if none is ready.
+     *
+     * @param players the number of players.
+     * @return a deal nobody else has taken.
+     */
+	public Deal take(int players) {
+		if (players < MINPLAYERS || players > maxPlayers) {
+			misses.incrementAndGet();
+			return dealNew(players);
+		}
+		int index = players - MINPLAYERS;
+		starts.incrementAndGet(index);
+		Deal deal = ready.get(index).poll();
+		synchronized (refill) {
+			refill.notifyAll();
+		}
+		if (deal == null) {
+			misses.incrementAndGet();
+			return dealNew(players);
+		}
+		hits.incrementAndGet();
+		return deal;
+	}
+	
+	/**
+     * Deals a game with a fresh seed, shuffling again in the rare case the deck turns up no number card.
+     *
+     * @param players the number of players.
+     * @return the deal.
+     */
+	private static Deal dealNew(int players) {
+		Deal deal = null;
+		while (deal == null) {
+			deal = Deal.deal(ThreadLocalRandom.current().nextLong(), players);
+		}
+		return deal;
+	}
+	
+	/**
+     * The loop of the producer thread: adapts the targets once per window and tops the queues up, waiting
+     * for a deal to be taken whenever every queue is full.
+     */
+	private void produce() {
+		long windowStart = System.currentTimeMillis();
+		while (running) {
+			long now = System.currentTimeMillis();
+			if (now - windowStart >= RATEWINDOWMILLIS) {
+				adaptTargets();
+				windowStart = now;
+			}
+			
+			boolean dealt = false;
+			for (int index = 0; index < ready.size(); index++) {
+				ArrayBlockingQueue<Deal> queue = ready.get(index);
+				if (queue.size() < targets.get(index)) {
+					queue.offer(dealNew(index + MINPLAYERS));
+					dealt = true;
+				}
+			}
+			if (dealt) continue;
+			
+			synchronized (refill) {
+				try {
+					refill.wait(RATEWINDOWMILLIS);
+				} catch (InterruptedException e) {
+					return;
+				}
+			}
+		}
+	}
+	
+	/**
+     * Folds the starts of the window that just ended into the average rate of every player count, and sets
+     * the targets from the new rates.
+     */
+	private void adaptTargets() {
+		for (int index = 0; index < rates.length; index++) {
+			rates[index] = rates[index] / 2 + starts.getAndSet(index, 0);
+			int target = MINDEALS + (int) Math.ceil(rates[index]);
+			targets.set(index, Math.min(MAXDEALS, target));
+		}
+	}
+	
+	/**
+     * Gets the number of deals ready for a number of players.
+     *
+     * @param players the number of players.
+     * @return the number of pooled deals, 0 if the pool does not cover the number of players.
+     */
+	public int getReady(int players) {
+		if (players < MINPLAYERS || players > maxPlayers) return 0;
+		return ready.get(players - MINPLAYERS).size();
+	}
+	
+	/**
+     * Gets the number of deals the producer keeps ready for a number of players.
+     *
+     * @param players the number of players.
+     * @return the current target, 0 if the pool does not cover the number of players.
+     */
+	public int getTarget(int players) {
+		if (players < MINPLAYERS || players > maxPlayers) return 0;
+		return targets.get(players - MINPLAYERS);
+	}
+	
+	/**
+     * Gets the number of takes served from the pool.
+     *
+     * @return the number of hits.
+     */
+	public long getHits() {
+		return hits.get();
+	}
+	
+	/**
+     * Gets the number of takes that had to deal on the calling thread.
+     *
+     * @return the number of misses.
+     */
+	public long getMisses() {
+		return misses.get();
+	}
+}
@@ -0,0 +1,139 @@
+package management;
+
+import uno.Card;
+import uno.EColor;
+
+/**
+ * An event of the engine, such as a card played or a player going out, published on a {@link GameEventBus}.
+ * <p>
+ * Events are not created per occurrence. The bus owns one event per slot of its ring buffer and overwrites
+ * it, and every consumer copies the slot into an event of its own before handling it. A handler may therefore
+ * keep the event until it returns, but has to copy what it needs beyond that.
+ * </p>
+ *
+ * @author Bedirhan Sakaoğlu
+ */
+public final class GameEvent {
+
+	/** A dealt game started. Has no player, card or color. */
+	public static final int GAMESTARTED = 0;
+	/** A player played a card. The color is the color of the card when it was played. */
+	public static final int CARDPLAYED = 1;
+	/** A player drew a card. */
+	public static final int CARDDRAWN = 2;
+	/** A player chose the color of a wild card. */
+	public static final int COLORCHOSEN = 3;
+	/** A player was skipped. */
+	public static final int SKIPPED = 4;
+	/** The order of play was reversed. */
+	public static final int REVERSED = 5;
+	/** A player called UNO. */
+	public static final int UNO = 6;
+	/** A player won the game. */
+	public static final int WON = 7;
+	/** Hands changed owners under {@link HouseRule#SEVENO}. The player is the one whose card it was, the card the 7 or 0. */
+	public static final int HANDSSWAPPED = 8;
+	
+	private static final String[] TYPENAMES = { "GAMESTARTED", "CARDPLAYED", "CARDDRAWN", "COLORCHOSEN", "SKIPPED", "REVERSED", "UNO", "WON", "HANDSSWAPPED" };
+	
+	private long sequence = -1;
+	private int type;
+	private GameSession gameSession;
+	private Player player;
+	private Card card;
+	private EColor color;
+	
+	/**
+     * Constructs an empty event, to be filled by the bus.
+     */
+	public GameEvent() {}
+	
+	/**
+     * Fills the event in place.
+     */
+	void set(long sequence, int type, GameSession gameSession, Player player, Card card, EColor color) {
+		this.sequence = sequence;
+		this.type = type;
+		this.gameSession = gameSession;
+		this.player = player;
+		this.card = card;
+		this.color = color;
+	}
+	
+	/**
+     * Copies another event into this one.
+     */
+	void copyFrom(GameEvent other) {
+		set(other.sequence, other.type, other.gameSession, other.player, other.card, other.color);
+	}
+	
+	/**
+     * Gets the position of the event in the stream of its bus.
+     *
+     * @return the sequence number, starting at 0.
+     */
+	public long getSequence() {
+		return sequence;
+	}
+	
+	/**
+     * Gets the type of the event.
+     *
+     * @return one of {@link #GAMESTARTED}, {@link #CARDPLAYED}, {@link #CARDDRAWN}, {@link #COLORCHOSEN},
+     *         {@link #SKIPPED}, {@link #REVERSED}, {@link #UNO}, {@link #WON} or {@link #HANDSSWAPPED}.
+     */
+	public int getType() {
+		return type;
+	}
+	
+	/**
+     * Gets the session the event happened in.
+     *
+     * @return the game session.
+     */
+	public GameSession getGameSession() {
+		return gameSession;
+	}
+	
+	/**
+     * Gets the player the event is about.
+     *
+     * @return the player, or null if the event is about the whole table.
+     */
+	public Player getPlayer() {
+		return player;
+	}
+	
+	/**
+     * Gets the card that was played or drawn.
+     *
+     * @return the card, or null.
+     */
+	public Card getCard() {
+		return card;
+	}
+	
+	/**
+     * Gets the color that was played or chosen.
+     *
+     * @return the color, or null.
+     */
+	public EColor getColor() {
+		return color;
+	}
+	
+	/**
+     * Gets the name of an event type.
+     *
+     * @param type the type.
+     * @return the name, such as {@code CARDPLAYED}.
+     */
+	public static String typeName(int type) {
+		return (type >= 0 && type < TYPENAMES.length) ? TYPENAMES[type] : Integer.toString(type);
+	}
+	
+	@Override
+	public String toString() {
+		return String.format("#%d %s %s %s %s", sequence, typeName(type), player, card, color);
+	}
+}
@@ -0,0 +1,266 @@
+package management;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import metrics.GameMetrics;
+import uno.Card;
+import uno.EColor;
+
+/**
+ * Ring buffer that carries the {@link GameEvent}s of a session from the engine to any number of consumers.
+ * <p>
+ * The buffer holds a fixed number of events, all of them created up front. Publishing fills the next slot in
+ * place, so the engine never allocates for an event, and wakes the consumers only if one of them is waiting.
+ * Every consumer has a thread of its own and its own position in the buffer, so the log writer, the GUI and
+ * the metrics each read at their own pace and a slow one never holds up the others.
+ * </p>
+ * <p>
+ * What happens when a consumer falls a whole buffer behind is chosen per consumer, see
+ * {@link SlowConsumerPolicy}. Consumers only see the events published after they subscribed.
+ * </p>
+ *
+ * @author Bedirhan Sakaoğlu
+ */
+public class GameEventBus {
+
+	public static final int DEFAULTCAPACITY = 1024;
+	
+	/**
+     * What the bus does with a consumer that is a whole buffer behind.
+     */
+	public enum SlowConsumerPolicy {
+		/** The engine waits for the consumer, so it never misses an event. Meant for consumers such as the game log. */
+		BLOCK,
+		/** The consumer skips the events that were overwritten and counts them as dropped. Meant for consumers such as the GUI. */
+		DROP
+	}
+	
+	/**
+     * A subscribed consumer and its position in the buffer.
+     */
+	public class Consumer implements Runnable {
+		
+		private final String name;
+		private final GameEventHandler handler;
+		private final SlowConsumerPolicy policy;
+		private final GameEvent event = new GameEvent();
+		private long cursor;
+		private long dropped = 0;
+		private long failures = 0;
+		
+		private Consumer(String name, GameEventHandler handler, SlowConsumerPolicy policy, long cursor) {
+			this.name = name;
+			this.handler = handler;
+			this.policy = policy;
+			this.cursor = cursor;
+		}
+		
+		/**
+         * Hands the events to the handler one by one until the bus is closed and every event has been handled.
+         */
+		@Override
+		public void run() {
+			while (true) {
+				synchronized (GameEventBus.this) {
+					try {
+						while (cursor == published && !closed) {
+							waitingConsumers++;
+							try {
+								GameEventBus.this.wait();
+							} finally {
+								waitingConsumers--;
+							}
+						}
+					} catch (InterruptedException e) {
+						consumers.remove(this);
+						GameEventBus.this.notifyAll();
+						return;
+					}
+					if (cursor == published) {
+						consumers.remove(this);
+						return;
+					}
+					if (published - cursor > slots.length) {
+						long skipped = published - slots.length - cursor;
+						dropped += skipped;
+						cursor += skipped;
+						GameMetrics.get().gameEventsDropped(skipped);
+					}
+					event.copyFrom(slots[(int)(cursor & mask)]);
+					cursor++;
+					if (waitingProducers > 0) GameEventBus.this.notifyAll();
+				}
+				try {
+					handler.eventPublished(event);
+				} catch (RuntimeException e) {
+					boolean first;
+					synchronized (GameEventBus.this) {
+						first = failures++ == 0;
+					}
+					if (first) gameSession.getRecorder().dump(e);
+				}
+			}
+		}
+		
+		/**
+         * Gets the name of the consumer, which its thread is named after.
+         *
+         * @return the name.
+         */
+		public String getName() {
+			return name;
+		}
+		
+		/**
+         * Gets the policy of the consumer.
+         *
+         * @return the policy.
+         */
+		public SlowConsumerPolicy getPolicy() {
+			return policy;
+		}
+		
+		/**
+         * Gets the number of events the consumer missed because it fell behind, always 0 with {@link SlowConsumerPolicy#BLOCK}.
+         *
+         * @return the dropped events.
+         */
+		public long getDropped() {
+			synchronized (GameEventBus.this) {
+				return dropped;
+			}
+		}
+		
+		/**
+         * Gets the number of events the handler failed on. Only the first failure dumps the flight recorder of the
+         * session, the consumer goes on with the next event either way.
+         *
+         * @return the failed events.
+         */
+		public long getFailures() {
+			synchronized (GameEventBus.this) {
+				return failures;
+			}
+		}
+		
+		/**
+         * Gets the number of published events the consumer has not handled yet.
+         *
+         * @return the lag in events.
+         */
+		public long getLag() {
+			synchronized (GameEventBus.this) {
+				return Math.min(published - cursor, slots.length);
+			}
+		}
+	}
+	
+	private final GameSession gameSession;
+	private final GameEvent[] slots;
+	private final int mask;
+	private final List<Consumer> consumers = new ArrayList<Consumer>();
+	private long published = 0;
+	private int waitingConsumers = 0;
+	private int waitingProducers = 0;
+	private boolean closed = false;
+	
+	/**
+     * Constructs a bus for a session.
+     *
+     * @param gameSession the session whose events are published.
+     * @param capacity    the number of events the buffer holds, rounded up to a power of two.
+     */
+	public GameEventBus(GameSession gameSession, int capacity) {
+		int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+		this.gameSession = gameSession;
+		this.slots = new GameEvent[size];
+		this.mask = size - 1;
+		for (int i = 0; i < size; i++) {
+			slots[i] = new GameEvent();
+		}
+	}
+	
+	/**
+     * Subscribes a consumer, which starts reading with the next event published.
+     *
+     * @param name    the name of the consumer.
+     * @param handler handles the events on the consumer's thread.
+     * @param policy  what to do when the consumer falls a whole buffer behind.
+     * @return the consumer.
+     */
+	public synchronized Consumer subscribe(String name, GameEventHandler handler, SlowConsumerPolicy policy) {
+		Consumer consumer = new Consumer(name, handler, policy, published);
+		consumers.add(consumer);
+		Thread thread = new Thread(consumer, "game-events-" + name);
+		thread.setDaemon(true);
+		thread.start();
+		return consumer;
+	}
+	
+	/**
+     * Publishes an event. Does not allocate, but waits while a consumer with {@link SlowConsumerPolicy#BLOCK}
+     * is a whole buffer behind. Events published after {@link #close()} are ignored. An event is counted as a queued
+     * game log event for every game log consumer that writes it, see {@link GameMetrics#logEventQueued()}.
+     *
+     * @param type   the type of the event, see {@link GameEvent#getType()}.
+     * @param player the player the event is about, or null.
+     * @param card   the card played or drawn, or null.
+     * @param color  the color played or chosen, or null.
+     */
+	public synchronized void publish(int type, Player player, Card card, EColor color) {
+		if (closed) return;
+		waitingProducers++;
+		try {
+			while (isBlockedByConsumer()) {
+				wait();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			waitingProducers--;
+		}
+		slots[(int)(published & mask)].set(published, type, gameSession, player, card, color);
+		published++;
+		if (GameLogListener.isLogged(type, player)) {
+			for (int i = 0; i < consumers.size(); i++) {
+				if (consumers.get(i).handler instanceof GameLogListener) GameMetrics.get().logEventQueued();
+			}
+		}
+		if (waitingConsumers > 0) notifyAll();
+	}
+	
+	/**
+     * Closes the bus. The consumers handle the events published so far and then stop.
+     */
+	public synchronized void close() {
+		closed = true;
+		notifyAll();
+	}
+	
+	/**
+     * Gets the number of events published.
+     *
+     * @return the published events.
+     */
+	public synchronized long getPublished() {
+		return published;
+	}
+	
+	/**
+     * Gets the consumers that have not stopped yet.
+     *
+     * @return a copy of the consumers.
+     */
+	public synchronized List<Consumer> getConsumers() {
+		return new ArrayList<Consumer>(consumers);
+	}
+	
+	private boolean isBlockedByConsumer() {
+		for (int i = 0; i < consumers.size(); i++) {
+			Consumer consumer = consumers.get(i);
+			if (consumer.policy == SlowConsumerPolicy.BLOCK && published - consumer.cursor >= slots.length) return true;
+		}
+		return false;
+	}
+}
@@ -0,0 +1,18 @@
+package management;
+
+import java.util.EventListener;
+
+/**
+ * A consumer of the events of a {@link GameEventBus}.
+ *
+ * @author Bedirhan Sakaoğlu
+ */
+public interface GameEventHandler extends EventListener {
+
+	/**
+     * Handles an event. Called on the thread of the consumer, never on the thread that changed the game.
+     *
+     * @param event the event, only valid until the handler returns.
+     */
+	void eventPublished(GameEvent event);
+}
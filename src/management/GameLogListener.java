@@ -9,11 +9,17 @@ import java.util.EventListener;
 import java.util.EventObject;
 import java.util.Scanner;
 
+import metrics.GameMetrics;
+import metrics.LogFlushEvent;
+import uno.NumberCard;
+import uno.WildCard;
+
 /**
  * A listener class for handling game log events and updating log files.
  * <p>
  * This class listens for game log events and updates the corresponding log file
- * with the provided log entry.
+ * with the provided log entry. Subscribed to the {@link GameEventBus} of a session, it turns the events of
+ * the engine into log entries on its own thread, see {@link #eventPublished(GameEvent)}.
  * </p>
  * <p>
  * It maintains an entry ID to keep track of log entries within each game log file.
@@ -21,7 +27,7 @@ import java.util.Scanner;
  *
  * @author Bedirhan Sakaoğlu
  */
-public class GameLogListener implements EventListener {
+public class GameLogListener implements EventListener, GameEventHandler {
 
 	/**
      * An event object representing a game log entry.
@@ -74,6 +80,9 @@ public class GameLogListener implements EventListener {
 	public void updateGameLogEvent(GameLogEvent event) {
 		String entry = event.getEntry();
 		String gameName = event.getGameName();
+		LogFlushEvent flushEvent = new LogFlushEvent();
+		flushEvent.begin();
+		long start = System.nanoTime();
 		
 		entryId = getEntryIdFromLog(gameName);		
 		try {
@@ -81,11 +90,86 @@ public class GameLogListener implements EventListener {
 			String log = String.format("%d. %s%n", ++entryId, entry);
 			writer.append(log);
 			writer.close();
+			GameMetrics.get().logEventFlushed(System.nanoTime() - start);
+			flushEvent.end();
+			if (flushEvent.shouldCommit()) {
+				flushEvent.gameName = gameName;
+				flushEvent.entryId = entryId;
+				flushEvent.commit();
+			}
 		} catch (IOException e) {
 			e.printStackTrace();
 		}
 	}
 	
+	/**
+     * Writes the log entry of an engine event to the console and to the log file of its game.
+     * Events that are not logged, such as a chosen color, are ignored.
+     *
+     * @param event the event published by the engine.
+     */
+	@Override
+	public void eventPublished(GameEvent event) {
+		String entry = formatEntry(event);
+		if (entry == null) return;
+		System.out.println(entry);
+		updateGameLogEvent(new GameLogEvent(event.getGameSession(), entry, event.getGameSession().getGameName()));
+	}
+	
+	/**
+     * Formats the log entry of an engine event.
+     *
+     * @param event the event.
+     * @return the entry, or null if the event is not logged.
+     */
+	public static String formatEntry(GameEvent event) {
+		Player player = event.getPlayer();
+		if (!isLogged(event.getType(), player)) return null;
+		boolean bot = player instanceof AiPlayer;
+		String name = (bot) ? ((AiPlayer)player).getBotName() : "Player";
+		switch (event.getType()) {
+			case GameEvent.GAMESTARTED:
+				return String.format("Started game with name: %s", event.getGameSession().getGameName());
+			case GameEvent.CARDPLAYED:
+				String verb = (bot) ? "played card" : "plays";
+				if (event.getCard() instanceof WildCard) return String.format("%s %s: %s with color: %s", name, verb, event.getCard(), event.getColor());
+				return String.format("%s %s: %s", name, verb, event.getCard());
+			case GameEvent.CARDDRAWN:
+				return String.format((bot) ? "%s drew a card: %s" : "%s draws card: %s", name, event.getCard());
+			case GameEvent.UNO:
+				return String.format("%s says: UNO!", name);
+			case GameEvent.HANDSSWAPPED:
+				boolean seven = event.getCard() instanceof NumberCard && ((NumberCard)event.getCard()).getNumberInt() == 7;
+				return String.format((seven) ? "%s swaps hands" : "%s passes every hand on", name);
+			case GameEvent.WON:
+				return String.format("%s wins the game", name);
+			default:
+				return null;
+		}
+	}
+	
+	/**
+     * Checks whether an engine event gets a log entry, see {@link #formatEntry(GameEvent)}. Does not allocate.
+     *
+     * @param type   the type of the event.
+     * @param player the player the event is about, or null.
+     * @return true if the event is logged.
+     */
+	public static boolean isLogged(int type, Player player) {
+		switch (type) {
+			case GameEvent.GAMESTARTED:
+			case GameEvent.CARDPLAYED:
+			case GameEvent.CARDDRAWN:
+			case GameEvent.UNO:
+			case GameEvent.HANDSSWAPPED:
+				return true;
+			case GameEvent.WON:
+				return player != null;
+			default:
+				return false;
+		}
+	}
+	
 	/**
      * Gets the last entry ID from the game log file.
      *
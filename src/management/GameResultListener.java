@@ -0,0 +1,23 @@
+package management;
+
+import java.util.EventListener;
+
+/**
+ * A listener that is notified when a game session ends with a winner.
+ * <p>
+ * Listeners are registered on a {@link GameSession} and called by whoever detects the win,
+ * right after the win has been written to the game log.
+ * </p>
+ *
+ * @author Bedirhan Sakaoğlu
+ */
+public interface GameResultListener extends EventListener {
+
+	/**
+     * Called when a player has gone out.
+     *
+     * @param gameSession the session that ended.
+     * @param winner      the player who won the game.
+     */
+	void gameFinished(GameSession gameSession, Player winner);
+}
@@ -3,9 +3,14 @@ package management;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 
+import ai.AiStrategy;
+import metrics.GameFinishedEvent;
+import metrics.GameMetrics;
+import metrics.GameStartedEvent;
+import metrics.ReshuffleEvent;
 import uno.Action;
-import uno.ActionCard;
 import uno.Card;
 import uno.EColor;
 import uno.Decks;
@@ -25,10 +30,13 @@ import uno.WildCard;
  */
 public class GameSession {
 
-	public static final int MAXNUMBEROFPLAYERS = 10;
+	public static final int MAXNUMBEROFPLAYERS = 50;
+	/** The draw pile is reshuffled once it holds fewer cards than this, enough for any single draw card. */
+	public static final int MINDRAWPILE = 4;
 	
 	private List<Player> playerList;
 	private List<Player> playerListGameOrder;
+	private TurnCursor turnCursor = new TurnCursor(Collections.<Player>emptyList());
 	
 	private List<Card> drawPile;
 	private List<Card> discardPile;
@@ -37,13 +45,33 @@ public class GameSession {
 	private ENumber currentCardNumber;
 	
 	private String gameName;
-	private int playerIndexInGameOrder;
 	private boolean gameStarted = false;
 	private boolean topDeckIsWild = false;
 	private EColor wildColor;
 	private Card cardTopDeck;
 	
 	private Player humanPlayer;
+	
+	private Random random;
+	private long seed;
+	private final DealPool dealPool;
+	private int decks = 0;
+	private RuleTable rules = RuleTable.STANDARD;
+	private int penalty = 0;
+	private final ArrayList<Card> handBuffer = new ArrayList<Card>(Decks.DECKSIZE);
+	private boolean loggingEnabled = true;
+	private boolean counted = false;
+	private boolean finished = false;
+	private GameFinishedEvent finishedEvent;
+	private SessionRecorder recorder = SessionRecorder.DISABLED;
+	private final List<GameResultListener> resultListeners = new ArrayList<GameResultListener>();
+	private final List<RenderSnapshotListener> snapshotListeners = new ArrayList<RenderSnapshotListener>();
+	private volatile RenderSnapshot snapshot;
+	private long snapshotSequence = 0;
+	private SessionActor actor;
+	private int playerIDs = 0;
+	private int botIDs = 0;
+	private volatile GameEventBus eventBus;
 
 	/**
      * Constructs a game session with the given name.
@@ -51,7 +79,36 @@ public class GameSession {
      * @param gameName the name of the game session.
      */
 	public GameSession(String gameName) {
+		this(gameName, new Random().nextLong());
+	}
+	
+	/**
+     * Constructs a game session with the given name that takes its deal from a pool of shuffled deals.
+     * The session adopts the seed of the deal it takes, see {@link #getSeed()}.
+     *
+     * @param gameName the name of the game session.
+     * @param dealPool the pool to take the deal from.
+     */
+	public GameSession(String gameName, DealPool dealPool) {
+		this(gameName, new Random().nextLong(), dealPool);
+	}
+	
+	/**
+     * Constructs a game session with the given name whose shuffles are driven by the given seed.
+     * Two sessions with the same seed and the same players deal and reshuffle identically.
+     *
+     * @param gameName the name of the game session.
+     * @param seed the seed of the session's random generator.
+     */
+	public GameSession(String gameName, long seed) {
+		this(gameName, seed, null);
+	}
+	
+	private GameSession(String gameName, long seed, DealPool dealPool) {
 		this.gameName = gameName;
+		this.seed = seed;
+		this.random = new Random(seed);
+		this.dealPool = dealPool;
 		playerList = new ArrayList<Player>();
 		playerListGameOrder = new ArrayList<Player>();
 	}
@@ -71,55 +128,184 @@ public class GameSession {
      *
      * @param playerCount the number of players to initialize the game with.
      */
-	@SuppressWarnings("unchecked")
 	public void initializeGame(int playerCount) {
-		drawPile = Decks.initializeDrawPile();
-		discardPile = new ArrayList<Card>();
-		cardTopDeck = drawPile.get(drawPile.size() - 1);
-		
-		int trial = 1;
-		while (cardTopDeck instanceof ActionCard || cardTopDeck instanceof WildCard) {
-			drawPile.remove(cardTopDeck);
-			drawPile.add(0, cardTopDeck);
-			cardTopDeck = drawPile.get(drawPile.size() - 1);
-			if (trial++ > drawPile.size()) return;
-		}
-		System.out.println(cardTopDeck);
-		discardPile.add(cardTopDeck);
-		drawPile.remove(cardTopDeck);
+		Deal deal = preparePiles(playerCount);
+		if (deal == null) return;
 		
 		humanPlayer = new HumanPlayer(this);
 		playerList.add(humanPlayer);
 		for (int i = 0; i < playerCount - 1; i++) {
 			playerList.add(new AiPlayer(this));
 		}
-		playerListGameOrder = (List<Player>) ((ArrayList<Player>)playerList).clone();
+		dealHands(deal);
+		countSession();
+	}
+	
+	/**
+     * Initializes a game session without a human player, seating one AI player per strategy.
+     * Used for headless games such as simulations and self-play.
+     *
+     * @param strategies the strategies of the AI players, in seating order.
+     */
+	public void initializeGame(AiStrategy[] strategies) {
+		Deal deal = preparePiles(strategies.length);
+		if (deal == null) return;
 		
-		for (Player player : playerList) {
-			for (int i = 0; i < 7; i++) {
-				Card cardAdded = drawPile.get(drawPile.size() - 1);
-				drawPile.remove(cardAdded);
-				player.drawCard(cardAdded);
+		for (int i = 0; i < strategies.length; i++) {
+			playerList.add(new AiPlayer(this, strategies[i], "Bot " + (i + 1)));
+		}
+		dealHands(deal);
+		countSession();
+	}
+	
+	/**
+     * Sets up a headless game session in a given position instead of dealing a new game.
+     * One AI player is seated per strategy and takes the hand at the same index. The lists are used as they are, not copied.
+     *
+     * @param strategies  the strategies of the AI players, in game order.
+     * @param hands       the hand of every player, in game order.
+     * @param drawPile    the draw pile, top card last.
+     * @param discardPile the discard pile, top card last.
+     */
+	public void restoreGame(AiStrategy[] strategies, List<List<Card>> hands, List<Card> drawPile, List<Card> discardPile) {
+		this.drawPile = drawPile;
+		this.discardPile = discardPile;
+		updateTopDeckFields();
+		
+		for (int i = 0; i < strategies.length; i++) {
+			AiPlayer player = new AiPlayer(this, strategies[i], "Bot " + (i + 1));
+			for (Card card : hands.get(i)) {
+				Decks.insertSorted(player.getDeck(), card);
 			}
+			playerList.add(player);
 		}
+		playerListGameOrder = new ArrayList<Player>(playerList);
+		turnCursor = new TurnCursor(playerListGameOrder);
 	}
 	
 	/**
-     * Reshuffles the discard pile when the draw pile runs out of cards.
+     * Takes the piles of a deal: from the pool if the session has one and plays with the usual number of decks,
+     * adopting the seed and random generator of the deal, otherwise dealt here from the session's own seed.
+     *
+     * @param playerCount the number of players to deal for.
+     * @return the deal, or null if no number card could be found to start the discard pile.
+     * @throws IllegalArgumentException if there are more than {@link #MAXNUMBEROFPLAYERS} players.
+     */
+	private Deal preparePiles(int playerCount) {
+		if (playerCount > MAXNUMBEROFPLAYERS) {
+			throw new IllegalArgumentException("A game has at most " + MAXNUMBEROFPLAYERS + " players, got " + playerCount);
+		}
+		int shoe = (decks > 0) ? decks : Decks.decksFor(playerCount);
+		Deal deal;
+		if (dealPool != null && shoe == Decks.decksFor(playerCount)) {
+			deal = dealPool.take(playerCount);
+			seed = deal.getSeed();
+			random = deal.getRandom();
+		} else {
+			deal = Deal.deal(seed, random, playerCount, shoe);
+			if (deal == null) return null;
+		}
+		decks = deal.getDecks();
+		drawPile = deal.getDrawPile();
+		discardPile = deal.getDiscardPile();
+		updateTopDeckFields();
+		if (loggingEnabled) System.out.println(cardTopDeck);
+		return deal;
+	}
+	
+	/**
+     * Counts a newly dealt session as live in the {@link GameMetrics}. Restored sessions, such as the rollouts
+     * of the move analysis, are not counted.
+     */
+	private void countSession() {
+		counted = true;
+		GameMetrics.get().sessionStarted();
+		recorder = new SessionRecorder(this, SessionRecorder.DEFAULTCAPACITY);
+		recorder.record(SessionRecorder.DEALT, playerList.size());
+		emit(GameEvent.GAMESTARTED, null, null, null);
+		
+		GameStartedEvent startedEvent = new GameStartedEvent();
+		if (startedEvent.isEnabled()) {
+			startedEvent.gameName = gameName;
+			startedEvent.players = playerList.size();
+			startedEvent.seed = seed;
+			startedEvent.commit();
+		}
+		finishedEvent = new GameFinishedEvent();
+		finishedEvent.begin();
+	}
+	
+	/**
+     * Copies the seated players into the game order and hands every seat its hand of the deal, already sorted.
+     * Dealt cards are not drawn, so no {@link GameEvent#CARDDRAWN} is published for them.
+     *
+     * @param deal the deal the piles were taken from.
      */
 	@SuppressWarnings("unchecked")
+	private void dealHands(Deal deal) {
+		playerListGameOrder = (List<Player>) ((ArrayList<Player>)playerList).clone();
+		turnCursor = new TurnCursor(playerListGameOrder);
+		
+		for (int seat = 0; seat < playerList.size(); seat++) {
+			playerList.get(seat).getDeck().addAll(deal.getHand(seat));
+		}
+	}
+	
+	/**
+     * Reshuffles the discard pile when the draw pile runs out of cards, see {@link #MINDRAWPILE}.
+     */
 	public void reshuffleDiscardPile() {
-		if (drawPile.size() >= 4) return;
+		reshuffleDiscardPile(MINDRAWPILE);
+	}
+	
+	/**
+     * Reshuffles the discard pile when the draw pile holds fewer cards than are needed, for example for a stacked
+     * penalty, see {@link HouseRule#STACKING}. If the discard pile is short as well, the draw pile still holds fewer
+     * cards afterwards.
+     *
+     * @param needed the number of cards the draw pile has to hold.
+     */
+	public void reshuffleDiscardPile(int needed) {
+		if (drawPile.size() >= needed) return;
 		
-		discardPile.remove(cardTopDeck);
-		for (Card card : drawPile) {
-			discardPile.add(card);
-		} drawPile.clear();
-		Collections.shuffle(discardPile);
-		drawPile = (ArrayList<Card>) ((ArrayList<Card>)discardPile).clone();
+		GameMetrics.get().reshuffled();
+		if (!ReshuffleEvent.enabled()) {
+			reshufflePiles();
+			return;
+		}
+		ReshuffleEvent event = new ReshuffleEvent();
+		event.begin();
+		reshufflePiles();
+		event.end();
+		if (event.shouldCommit()) {
+			event.gameName = gameName;
+			event.cards = drawPile.size();
+			event.commit();
+		}
+	}
+	
+	/**
+     * Shuffles the discard pile, apart from its top card, together with the rest of the draw pile into a new draw pile.
+     */
+	private void reshufflePiles() {
+		int top = discardPile.size() - 1;
+		if (top >= 0 && discardPile.get(top) == cardTopDeck) discardPile.remove(top);
+		else discardPile.remove(cardTopDeck);
+		for (int i = 0; i < drawPile.size(); i++) {
+			discardPile.add(drawPile.get(i));
+		}
+		for (int i = 0; i < discardPile.size(); i++) {
+			Card card = discardPile.get(i);
+			if (card instanceof WildCard) ((WildCard)card).clearColorEnum();
+		}
+		Collections.shuffle(discardPile, random);
+		// The piles swap their lists instead of copying, so that reshuffling does not allocate.
+		List<Card> emptied = drawPile;
+		drawPile = discardPile;
+		discardPile = emptied;
 		discardPile.clear();
 		discardPile.add(cardTopDeck);
-		drawPile.remove(cardTopDeck);
+		recorder.record(SessionRecorder.RESHUFFLED, drawPile.size());
 	}
 	
 	/**
@@ -132,6 +318,7 @@ public class GameSession {
 		List<Player> listClone = List.copyOf(playerList);
 		Collections.sort(listClone);
 		this.playerListGameOrder = listClone;
+		this.turnCursor = new TurnCursor(listClone);
 	}
 	
 	/**
@@ -155,17 +342,128 @@ public class GameSession {
 	// TODO: Implement each action and wild card methods
 	
 	/**
-     * Reverses the order of players in the game order list.
+     * Reverses the direction of play, see {@link TurnCursor#reverse()}.
      */
 	public void reverse() {
-		Collections.reverse(playerListGameOrder);
+		turnCursor.reverse();
+		recorder.record(SessionRecorder.REVERSED, 0);
+		emit(GameEvent.REVERSED, null, null, null);
 	}
 	
 	/**
-     * Advances to the next player in the game order list.
+     * Passes the turn over the next player, see {@link TurnCursor#skip()}.
      */
 	public void skip() {
-		playerIndexInGameOrder++;
+		Player skipped = turnCursor.peekNext();
+		turnCursor.skip();
+		recorder.record(SessionRecorder.SKIPPED, 0);
+		emit(GameEvent.SKIPPED, skipped, null, null);
+	}
+	
+	/**
+     * Passes the turn on after the current player played a card, applying the effect of the card on the order of
+     * play. These are the rules of both the GUI game loop and headless games: a Skip skips the next player, a
+     * Reverse changes the direction of play and acts as a Skip with two players, and the penalty of a draw card
+     * waits for the next player, see {@link #mustDrawPenalty(Player)}. With {@link HouseRule#SEVENO} a 7 or a 0
+     * swaps or passes the hands first.
+     *
+     * @param cardPlayed the card that was played.
+     * @return the effect that was applied, see {@link RuleTable#effectOf(Card)}.
+     */
+	public int passTurn(Card cardPlayed) {
+		int effect = rules.effectOf(cardPlayed);
+		switch (effect) {
+			case RuleTable.SKIP: {
+				skip();
+				return effect;
+			}
+			case RuleTable.REVERSE: {
+				reverse();
+				publishSnapshot(turnCursor.current());
+				if (turnCursor.size() == 2) turnCursor.skip();
+				else turnCursor.next();
+				return effect;
+			}
+			case RuleTable.DRAW: {
+				addPenalty(rules.penaltyOf(cardPlayed));
+				break;
+			}
+			case RuleTable.SWAPHANDS: {
+				swapHands(turnCursor.current(), turnCursor.getDirection());
+				break;
+			}
+			case RuleTable.PASSHANDS: {
+				passHands(turnCursor.current(), turnCursor.getDirection());
+				break;
+			}
+			default:
+				break;
+		}
+		turnCursor.next();
+		return effect;
+	}
+	
+	/**
+     * Checks if a player has to draw the penalty waiting for them, which costs them the turn. Without
+     * {@link HouseRule#STACKING} a penalty is always drawn, with it only by a player who cannot stack on it.
+     *
+     * @param player the player whose turn it is.
+     * @return true if the player draws the penalty instead of playing.
+     */
+	public boolean mustDrawPenalty(Player player) {
+		return penalty > 0 && (!rules.isStacking() || !hasPlayableCard(player));
+	}
+	
+	/**
+     * Checks if a player who has drawn cards this turn without playing has to pass, see {@link RuleTable#getDrawLimit()}.
+     *
+     * @param player the player whose turn it is.
+     * @param draws  the number of cards the player has drawn this turn.
+     * @return true if the player may not draw again and cannot play.
+     */
+	public boolean mustPass(Player player, int draws) {
+		return draws >= rules.getDrawLimit() && !hasPlayableCard(player);
+	}
+	
+	/**
+     * Lets the other players jump in on the card just played by the current player, see {@link HouseRule#JUMPIN}.
+     * The first player after the current one in the direction of play who holds an identical card plays it and
+     * gets the turn, until nobody can jump in. The human player never jumps in, since the GUI only lets it act on
+     * its own turn.
+     *
+     * @param cardPlayed the card that was played.
+     * @return the last player who jumped in, or null if nobody did.
+     */
+	public Player jumpIn(Card cardPlayed) {
+		if (!rules.canJumpIn(cardPlayed)) return null;
+		int kind = cardPlayed.getKind();
+		Player jumper = null;
+		for (int i = 1; i < turnCursor.size(); i++) {
+			int seat = turnCursor.seatAfter(turnCursor.getCurrentSeat(), i);
+			Player player = turnCursor.getPlayer(seat);
+			if (player == humanPlayer) continue;
+			List<Card> hand = player.getDeck();
+			int index = Decks.indexOfKind(hand, kind);
+			if (index == -1) continue;
+			
+			player.playCard(hand.get(index));
+			turnCursor.setCurrentSeat(seat);
+			publishSnapshot(player);
+			jumper = player;
+			if (hand.isEmpty()) return player;
+			i = 0;
+		}
+		return jumper;
+	}
+	
+	/**
+     * Finds the player who plays after the given player in the current direction of play.
+     *
+     * @param player the player whose successor to find.
+     * @return the next player, or null if the player is not seated in this session.
+     */
+	public Player getNextPlayer(Player player) {
+		return turnCursor.playerAfter(player);
 	}
 	
 	 /**
@@ -177,9 +475,9 @@ public class GameSession {
 		if ((card.getAction() != Action.DRAWTWO && card.getAction() != Action.WILDFOUR) || drawPile.size() < 4 || !gameStarted) return;
 		int cardsToDraw = (card.getAction() == Action.DRAWTWO) ? 2 : 4;
 		
-		Player nextPlayer = playerListGameOrder.get(playerIndexInGameOrder + 1);
+		Player nextPlayer = turnCursor.peekNext();
 		for (int i = 0; i < cardsToDraw; i++) {
-			Card cardDrawn = drawPile.get(drawPile.size() - 1); drawPile.remove(cardDrawn);
+			Card cardDrawn = drawPile.get(drawPile.size() - 1);
 			nextPlayer.drawCard(cardDrawn);
 		}
 	}
@@ -191,28 +489,116 @@ public class GameSession {
      */
 	public void changeColor(EColor color) {
 		this.currentColor = color;
+		recorder.record(SessionRecorder.COLOR, (color == null) ? -1 : color.ordinal());
 	}
 	
 	/**
-     * Checks if a given card is playable on the top card of the discard pile.
+     * Checks if a given card is playable on the top card of the discard pile, see {@link RuleTable#isPlayable(Card, EColor, int, Card)}.
+     * While a draw penalty is waiting to be stacked on, only the cards that stack are playable.
      *
      * @param card the card to check for playability.
      * @return true if the card is playable, otherwise false.
      */
 	public boolean cardIsPlayable(Card card) {
-		if (card instanceof WildCard) return true;
-		
-		if (cardTopDeck instanceof NumberCard) {
-			if (card instanceof NumberCard) return ((NumberCard)card).getNumberInt() == ((NumberCard)cardTopDeck).getNumberInt() 
-					|| card.getColorEnum().equals(cardTopDeck.getColorEnum());
-			else {
-				return card.getColorEnum().equals(cardTopDeck.getColorEnum()) || card.getColorEnum().equals(wildColor);
-			}
+		return rules.isPlayable(cardTopDeck, wildColor, penalty, card);
+	}
+	
+	/**
+     * Checks if a player holds a card that is playable now.
+     *
+     * @param player the player.
+     * @return true if one of the player's cards is playable.
+     */
+	public boolean hasPlayableCard(Player player) {
+		long kinds = rules.playableKinds(cardTopDeck, wildColor, penalty);
+		List<Card> deck = player.getDeck();
+		for (int i = 0; i < deck.size(); i++) {
+			if (((kinds >>> deck.get(i).getKind()) & 1L) != 0) return true;
+		}
+		return false;
+	}
+	
+	/**
+     * Adds the penalty of a draw card to the cards the next player has to draw, see {@link HouseRule#STACKING}.
+     *
+     * @param cards the number of cards to add.
+     */
+	public void addPenalty(int cards) {
+		penalty += cards;
+	}
+	
+	/**
+     * Gets the number of cards the player whose turn it is has to draw, unless the penalty is stacked on.
+     *
+     * @return the penalty, 0 if there is none.
+     */
+	public int getPenalty() {
+		return penalty;
+	}
+	
+	/**
+     * Clears the penalty once it has been drawn.
+     */
+	public void clearPenalty() {
+		penalty = 0;
+	}
+	
+	/**
+     * Swaps the hand of a player with the hand of the opponent holding the fewest cards, see {@link HouseRule#SEVENO}.
+     * Of opponents with equally few cards the first one in the direction of play is chosen.
+     *
+     * @param player    the player who played the 7.
+     * @param direction the direction of play, 1 or -1.
+     * @return the opponent the hands were swapped with.
+     */
+	public Player swapHands(Player player, int direction) {
+		List<Player> seats = playerListGameOrder;
+		int seat = seats.indexOf(player);
+		Player opponent = null;
+		for (int i = 1; i < seats.size(); i++) {
+			Player other = seats.get(Math.floorMod(seat + direction * i, seats.size()));
+			if (opponent == null || other.getDeck().size() < opponent.getDeck().size()) opponent = other;
 		}
-		else {
-			return cardTopDeck.getColorEnum().equals(card.getColorEnum()) || card.getColorEnum().equals(wildColor)
-					|| card.getAction().equals(cardTopDeck.getAction());
+		if (opponent == null) return null;
+		
+		handBuffer.clear();
+		handBuffer.addAll(player.getDeck());
+		player.getDeck().clear();
+		player.getDeck().addAll(opponent.getDeck());
+		opponent.getDeck().clear();
+		opponent.getDeck().addAll(handBuffer);
+		handBuffer.clear();
+		emit(GameEvent.HANDSSWAPPED, player, cardTopDeck, null);
+		return opponent;
+	}
+	
+	/**
+     * Passes every hand on to the next player in the direction of play, see {@link HouseRule#SEVENO}.
+     *
+     * @param player    the player who played the 0.
+     * @param direction the direction of play, 1 or -1.
+     */
+	public void passHands(Player player, int direction) {
+		List<Player> seats = playerListGameOrder;
+		int size = seats.size();
+		if (size < 2) return;
+		
+		// Walks against the direction of play, so every hand moves on into a hand that has already been moved.
+		int seat = (direction > 0) ? size - 1 : 0;
+		handBuffer.clear();
+		handBuffer.addAll(seats.get(seat).getDeck());
+		for (int i = 1; i < size; i++) {
+			int from = Math.floorMod(seat - direction, size);
+			List<Card> hand = seats.get(seat).getDeck();
+			hand.clear();
+			hand.addAll(seats.get(from).getDeck());
+			seat = from;
 		}
+		List<Card> hand = seats.get(seat).getDeck();
+		hand.clear();
+		hand.addAll(handBuffer);
+		handBuffer.clear();
+		emit(GameEvent.HANDSSWAPPED, player, cardTopDeck, null);
 	}
 
 	/**
@@ -234,21 +620,32 @@ public class GameSession {
 	}
 
 	/**
-     * Gets the list of players in the current game order.
+     * Gets the list of players by seat. The list never changes during a game, the direction of play and whose
+     * turn it is are kept by the {@link #getTurnCursor() turn cursor}.
      *
-     * @return the list of players in game order.
+     * @return the list of players by seat.
      */
 	public List<Player> getPlayerListGameOrder() {
 		return playerListGameOrder;
 	}
 
 	/**
-     * Sets the list of players in the current game order.
+     * Sets the list of players by seat and puts a new turn cursor on them.
      *
-     * @param playerListGameOrder the list of players in game order to set.
+     * @param playerListGameOrder the list of players by seat to set.
      */
 	public void setPlayerListGameOrder(List<Player> playerListGameOrder) {
 		this.playerListGameOrder = playerListGameOrder;
+		this.turnCursor = new TurnCursor(playerListGameOrder);
+	}
+	
+	/**
+     * Gets the cursor that tracks whose turn it is and the direction of play, shared by the engine and the GUI.
+     *
+     * @return the turn cursor.
+     */
+	public TurnCursor getTurnCursor() {
+		return turnCursor;
 	}
 
 	/**
@@ -324,21 +721,21 @@ public class GameSession {
 	}
 
 	/**
-     * Gets the index of the current player in the game order.
+     * Gets the seat of the current player, see {@link TurnCursor#getCurrentSeat()}.
      *
-     * @return the index of the current player.
+     * @return the seat of the current player.
      */
 	public int getPlayerIndexInGameOrder() {
-		return playerIndexInGameOrder;
+		return turnCursor.getCurrentSeat();
 	}
 
 	/**
-     * Sets the index of the current player in the game order.
+     * Gives the turn to a seat, see {@link TurnCursor#setCurrentSeat(int)}.
      *
-     * @param playerIndexInGameOrder the index of the current player to set.
+     * @param playerIndexInGameOrder the seat of the current player to set.
      */
 	public void setPlayerIndexInGameOrder(int playerIndexInGameOrder) {
-		this.playerIndexInGameOrder = playerIndexInGameOrder;
+		turnCursor.setCurrentSeat(playerIndexInGameOrder);
 	}
 	
 	/**
@@ -384,6 +781,220 @@ public class GameSession {
      */
 	public void setWildColor(EColor wildColor) {
 		this.wildColor = wildColor;
+		recorder.record(SessionRecorder.COLOR, (wildColor == null) ? -1 : wildColor.ordinal());
+	}
+	
+	/**
+     * Registers a listener that is notified when the game is won.
+     *
+     * @param listener the listener to add.
+     */
+	public void addGameResultListener(GameResultListener listener) {
+		resultListeners.add(listener);
+	}
+	
+	/**
+     * Registers a listener that is notified of every published {@link RenderSnapshot}.
+     * Snapshots are only taken while a listener is registered, so headless games don't pay for them.
+     *
+     * @param listener the listener to add.
+     */
+	public void addSnapshotListener(RenderSnapshotListener listener) {
+		snapshotListeners.add(listener);
+	}
+	
+	/**
+     * Takes a snapshot of the session and publishes it to the renderers, if any are listening.
+     * Called by whoever changes the game, after every turn and every change to a hand.
+     *
+     * @param currentPlayer the player whose turn it is, or null between turns.
+     */
+	public void publishSnapshot(Player currentPlayer) {
+		if (snapshotListeners.isEmpty()) return;
+		RenderSnapshot published = new RenderSnapshot(snapshotSequence++, this, currentPlayer);
+		snapshot = published;
+		for (RenderSnapshotListener listener : snapshotListeners) {
+			listener.snapshotPublished(published);
+		}
+	}
+	
+	/**
+     * Gets the last published snapshot. Safe to call from any thread.
+     *
+     * @return the snapshot, or null if none has been published.
+     */
+	public RenderSnapshot getSnapshot() {
+		return snapshot;
+	}
+	
+	/**
+     * Notifies the registered listeners that a player has won the game. Only the first call has an effect.
+     *
+     * @param winner the player who went out, or null if the game was stopped without a winner.
+     */
+	public void finishGame(Player winner) {
+		if (finished) return;
+		finished = true;
+		recorder.record(SessionRecorder.FINISHED, winner, 0, 0);
+		emit(GameEvent.WON, winner, null, null);
+		if (counted) {
+			GameMetrics.get().sessionFinished();
+			finishedEvent.end();
+			if (finishedEvent.shouldCommit()) {
+				finishedEvent.gameName = gameName;
+				finishedEvent.winner = (winner == null) ? "" : (winner instanceof AiPlayer) ? ((AiPlayer)winner).getBotName() : "Player";
+				finishedEvent.commit();
+			}
+		}
+		for (GameResultListener listener : resultListeners) {
+			listener.gameFinished(this, winner);
+		}
+		if (eventBus != null) eventBus.close();
+	}
+	
+	/**
+     * Gets the flight recorder of the session. Sessions restored from a position are not recorded.
+     *
+     * @return the recorder.
+     */
+	public SessionRecorder getRecorder() {
+		return recorder;
+	}
+	
+	/**
+     * Gets the actor that owns the session, creating it on first use. Sessions played with a GUI change the game
+     * only through commands of their actor, headless games are played on the caller's thread and don't need one.
+     *
+     * @return the actor of the session.
+     */
+	public synchronized SessionActor getActor() {
+		if (actor == null) actor = new SessionActor(this);
+		return actor;
+	}
+	
+	/**
+     * Gets the event bus of the session, creating it on first use. Until a consumer asks for the bus, publishing
+     * an event costs nothing but a null check, so headless games don't pay for it.
+     *
+     * @return the event bus of the session.
+     */
+	public synchronized GameEventBus getEventBus() {
+		if (eventBus == null) eventBus = new GameEventBus(this, GameEventBus.DEFAULTCAPACITY);
+		return eventBus;
+	}
+	
+	/**
+     * Closes the actor and the event bus of a session that is left without finishing it, which stops the
+     * threads of the bus consumers. A finished session has closed its bus already, see {@link #finishGame(Player)}.
+     */
+	public synchronized void close() {
+		if (actor != null) actor.close();
+		if (eventBus != null) eventBus.close();
+	}
+	
+	/**
+     * Publishes an event of the engine on the event bus of the session, if it has one. Does not allocate.
+     *
+     * @param type   the type of the event, see {@link GameEvent#getType()}.
+     * @param player the player the event is about, or null.
+     * @param card   the card played or drawn, or null.
+     * @param color  the color played or chosen, or null.
+     */
+	public void emit(int type, Player player, Card card, EColor color) {
+		GameEventBus bus = eventBus;
+		if (bus != null) bus.publish(type, player, card, color);
+	}
+	
+	/**
+     * Allocates the ID of a new player of this session, see {@link Player#getPlayerID()}.
+     *
+     * @return the ID.
+     */
+	int allocatePlayerID() {
+		return playerIDs++;
+	}
+	
+	/**
+     * Allocates the ID of a new bot of this session, see {@link AiPlayer#getBotID()}.
+     *
+     * @return the ID.
+     */
+	int allocateBotID() {
+		return botIDs++;
+	}
+	
+	/**
+     * Gets the number of players created for this session.
+     *
+     * @return the number of player IDs allocated.
+     */
+	public int getNumberOfPlayerObjects() {
+		return playerIDs;
+	}
+	
+	/**
+     * Gets the seed the session's shuffles are driven by.
+     *
+     * @return the seed of the session.
+     */
+	public long getSeed() {
+		return seed;
+	}
+	
+	/**
+     * Sets the rules the game is played with. Has to be set before the game is initialized.
+     *
+     * @param rules the compiled rules, see {@link RuleTable#of(HouseRule...)}.
+     */
+	public void setRules(RuleTable rules) {
+		this.rules = rules;
+	}
+	
+	/**
+     * Gets the rules the game is played with.
+     *
+     * @return the compiled rules, {@link RuleTable#STANDARD} unless others were set.
+     */
+	public RuleTable getRules() {
+		return rules;
+	}
+	
+	/**
+     * Sets the number of decks shuffled into the shoe the game is dealt from. Has to be set before the game is
+     * initialized, a session that takes its deal from a pool deals itself if the number differs from the usual one.
+     *
+     * @param decks the number of decks, or 0 for one deck per {@link Decks#PLAYERSPERDECK} players.
+     */
+	public void setDecks(int decks) {
+		this.decks = decks;
+	}
+	
+	/**
+     * Gets the number of decks in the shoe the game was dealt from.
+     *
+     * @return the number of decks, or the number that was set if the game has not been dealt yet.
+     */
+	public int getDecks() {
+		return decks;
+	}
+	
+	/**
+     * Checks if the players of this session write to the console and the game log.
+     *
+     * @return true if logging is enabled, otherwise false.
+     */
+	public boolean isLoggingEnabled() {
+		return loggingEnabled;
+	}
+
+	/**
+     * Enables or disables console output and game log entries of the players of this session.
+     * Headless simulations disable logging so that thousands of games do not flood the log folder.
+     *
+     * @param loggingEnabled whether logging is enabled.
+     */
+	public void setLoggingEnabled(boolean loggingEnabled) {
+		this.loggingEnabled = loggingEnabled;
 	}
 	
 	/**
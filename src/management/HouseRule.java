@@ -0,0 +1,32 @@
+package management;
+
+/**
+ * House rules a session can be played with, compiled into the tables of a {@link RuleTable}.
+ *
+ * @author Bedirhan Sakaoğlu
+ */
+public enum HouseRule {
+
+	/**
+	 * A player who has to draw for a Draw Two may pass it on with another Draw Two or a Wild Draw Four, and a
+	 * Wild Draw Four with another Wild Draw Four. The penalties add up until a player cannot stack and draws them
+	 * all, losing the turn.
+	 */
+	STACKING,
+	/**
+	 * Playing a 7 swaps hands with the opponent holding the fewest cards, playing a 0 passes every hand on to the
+	 * next player in the direction of play.
+	 */
+	SEVENO,
+	/**
+	 * A player holding a card identical to the one just played, wild cards aside, plays it at once out of turn and
+	 * play goes on from there. The effect of the card jumped on is replaced by the effect of the jumping card.
+	 */
+	JUMPIN,
+	/**
+	 * A player who cannot play keeps drawing until a card can be played. Without it a player draws one card and
+	 * passes if that card cannot be played either. The engine has always played with this rule, see
+	 * {@link RuleTable#STANDARD}.
+	 */
+	DRAWUNTILPLAYABLE
+}
@@ -1,8 +1,12 @@
 package management;
 
 import java.util.ArrayList;
+import java.util.List;
 
+import metrics.CardPlayedEvent;
 import uno.Card;
+import uno.Decks;
+import uno.EColor;
 
 /**
  * Abstract class representing a player in a game session.
@@ -14,7 +18,6 @@ import uno.Card;
  * @author Bedirhan Sakaoğlu
  */
 public abstract class Player implements Comparable<Player>{
-	private static int numberOfPlayerObjects;
 	
 	protected int playerID;
 	protected ArrayList<Card> deck;
@@ -26,13 +29,15 @@ public abstract class Player implements Comparable<Player>{
      * @param gameSession the game session in which the player participates.
      */
 	public Player(GameSession gameSession) {
-		deck = new ArrayList<Card>();
-		playerID = numberOfPlayerObjects++;
+		// Sized for every card of the deck, so that drawing never has to grow the hand during a game.
+		deck = new ArrayList<Card>(Decks.DECKSIZE);
+		playerID = (gameSession == null) ? -1 : gameSession.allocatePlayerID();
 		joinGameSession(gameSession);
 	}
 		
 	/**
-     * Gets the player's deck.
+     * Gets the player's deck, which is kept in Uno card order as cards are drawn and played.
+     * Callers that change it have to keep that order, see {@link Decks#insertSorted(java.util.List, Card)}.
      *
      * @return the player's deck.
      */
@@ -41,26 +46,46 @@ public abstract class Player implements Comparable<Player>{
 	}
 	
 	/**
-     * Draws a card and adds it to the player's deck.
+     * Draws a card and inserts it into the player's deck at its place in Uno card order.
      *
      * @param cardDrawn the card drawn from the draw pile.
+     * @return the index the card was inserted at, or -1 if the player isn't in a game.
      */
-	public void drawCard(Card cardDrawn) {
-		if (gameSession == null) return;
-		deck.add(cardDrawn);
-		gameSession.getDrawPile().remove(cardDrawn);
+	public int drawCard(Card cardDrawn) {
+		if (gameSession == null) return -1;
+		int index = Decks.insertSorted(deck, cardDrawn);
+		List<Card> drawPile = gameSession.getDrawPile();
+		int last = drawPile.size() - 1;
+		if (last >= 0 && drawPile.get(last) == cardDrawn) drawPile.remove(last);
+		else drawPile.remove(cardDrawn);
+		gameSession.getRecorder().record(SessionRecorder.DREW, this, cardDrawn.getKind(), 0);
+		gameSession.emit(GameEvent.CARDDRAWN, this, cardDrawn, cardDrawn.getColorEnum());
+		return index;
 	}
 	
 	/**
      * Plays a card from the player's deck.
      *
      * @param cardPlayed the card to be played.
+     * @return the index the card was removed from, or -1 if the player isn't in a game or doesn't hold the card.
      */
-	public void playCard(Card cardPlayed) {
-		if (gameSession == null) return;
-		deck.remove(cardPlayed);
+	public int playCard(Card cardPlayed) {
+		if (gameSession == null) return -1;
+		int index = Decks.removeSorted(deck, cardPlayed);
 		gameSession.getDiscardPile().add(cardPlayed);
 		gameSession.updateTopDeckFields();
+		EColor color = cardPlayed.getColorEnum();
+		gameSession.getRecorder().record(SessionRecorder.PLAYED, this, cardPlayed.getKind(), (color == null) ? -1 : color.ordinal());
+		gameSession.emit(GameEvent.CARDPLAYED, this, cardPlayed, color);
+		
+		if (CardPlayedEvent.enabled()) {
+			CardPlayedEvent event = new CardPlayedEvent();
+			event.gameName = gameSession.getGameName();
+			event.seat = gameSession.getPlayerListGameOrder().indexOf(this);
+			event.card = cardPlayed.toString();
+			event.commit();
+		}
+		return index;
 	}
 	
 	/**
@@ -73,18 +98,10 @@ public abstract class Player implements Comparable<Player>{
 	}
 	
 	/**
-     * Gets the number of player objects created.
-     *
-     * @return the number of player objects created.
-     */
-	public int getNumberOfPlayerObjects() {
-		return numberOfPlayerObjects;
-	}
-
-	/**
-     * Gets the player's ID.
+     * Gets the player's ID, which is unique within the player's session and counts up from 0 in the order the
+     * players were seated.
      *
-     * @return the player's ID.
+     * @return the player's ID, or -1 if the player was created without a session.
      */
 	public int getPlayerID() {
 		return playerID;
@@ -0,0 +1,178 @@
+package management;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import uno.Card;
+import uno.EColor;
+
+/**
+ * An immutable picture of a game session, taken by the engine for the renderers.
+ * <p>
+ * The engine publishes a new snapshot through a single volatile reference whenever a turn or a hand changes,
+ * see {@link GameSession#publishSnapshot(Player)}. Renderers only read snapshots, so they never see a list the
+ * game loop is modifying and never take a lock on the engine. Players are referred to by their seat, their
+ * index in {@link GameSession#getPlayerList()}.
+ * </p>
+ *
+ * @author Bedirhan Sakaoğlu
+ */
+public final class RenderSnapshot {
+
+	private final long sequence;
+	private final Card topCard;
+	private final EColor activeColor;
+	private final int[] handSizes;
+	private final int[] playOrder;
+	private final int currentSeat;
+	private final boolean clockwise;
+	private final List<Card> humanHand;
+	
+	/**
+     * Takes a snapshot of a game session.
+     *
+     * @param sequence      the number of snapshots taken of the session before this one.
+     * @param gameSession   the session.
+     * @param currentPlayer the player whose turn it is, or null.
+     */
+	RenderSnapshot(long sequence, GameSession gameSession, Player currentPlayer) {
+		List<Player> seats = gameSession.getPlayerList();
+		TurnCursor cursor = gameSession.getTurnCursor();
+		this.sequence = sequence;
+		this.topCard = gameSession.getCardTopDeck();
+		this.activeColor = (topCard == null) ? EColor.NONE : topCard.getColorEnum();
+		this.handSizes = new int[seats.size()];
+		for (int seat = 0; seat < seats.size(); seat++) {
+			handSizes[seat] = seats.get(seat).getDeck().size();
+		}
+		this.playOrder = new int[cursor.size()];
+		for (int i = 0; i < cursor.size(); i++) {
+			playOrder[i] = seats.indexOf(cursor.getPlayer(cursor.getSeatInPlayOrder(i)));
+		}
+		this.currentSeat = (currentPlayer == null) ? -1 : seats.indexOf(currentPlayer);
+		this.clockwise = playOrder.length < 3 || indexInPlayOrder(1) == (indexInPlayOrder(0) + 1) % playOrder.length;
+		Player humanPlayer = gameSession.getHumanPlayer();
+		this.humanHand = (humanPlayer == null) ? Collections.<Card>emptyList() : Collections.unmodifiableList(new ArrayList<Card>(humanPlayer.getDeck()));
+	}
+	
+	private int indexInPlayOrder(int seat) {
+		for (int i = 0; i < playOrder.length; i++) {
+			if (playOrder[i] == seat) return i;
+		}
+		return -1;
+	}
+	
+	/**
+     * Gets the number of snapshots taken of the session before this one, to tell newer snapshots from older ones.
+     *
+     * @return the sequence number.
+     */
+	public long getSequence() {
+		return sequence;
+	}
+	
+	/**
+     * Gets the card on top of the discard pile.
+     *
+     * @return the top card, or null before the game has started.
+     */
+	public Card getTopCard() {
+		return topCard;
+	}
+	
+	/**
+     * Gets the color to play, which is the color chosen for a wild card on top of the discard pile.
+     * Taken when the snapshot was, so it stays the same if the card is later reshuffled and played again.
+     *
+     * @return the active color.
+     */
+	public EColor getActiveColor() {
+		return activeColor;
+	}
+	
+	/**
+     * Gets the number of players.
+     *
+     * @return the number of seats.
+     */
+	public int getSeatCount() {
+		return handSizes.length;
+	}
+	
+	/**
+     * Gets the number of cards a player holds.
+     *
+     * @param seat the seat of the player.
+     * @return the size of the player's hand.
+     */
+	public int getHandSize(int seat) {
+		return handSizes[seat];
+	}
+	
+	/**
+     * Gets the seat of the player at a position of the game order.
+     *
+     * @param index the position in the game order.
+     * @return the seat of the player.
+     */
+	public int getSeatInPlayOrder(int index) {
+		return playOrder[index];
+	}
+	
+	/**
+     * Checks whether two snapshots have the same game order.
+     *
+     * @param other the other snapshot, may be null.
+     * @return true if both order the seats the same way.
+     */
+	public boolean hasSamePlayOrder(RenderSnapshot other) {
+		if (other == null || other.playOrder.length != playOrder.length) return false;
+		for (int i = 0; i < playOrder.length; i++) {
+			if (other.playOrder[i] != playOrder[i]) return false;
+		}
+		return true;
+	}
+	
+	/**
+     * Checks whether two snapshots show the same cards on the table, which is the case when only the turn has
+     * passed between them and nobody has played or drawn.
+     *
+     * @param other the other snapshot, may be null.
+     * @return true if the top card, the active color, the hand sizes and the game order are the same.
+     */
+	public boolean isSameTable(RenderSnapshot other) {
+		if (other == null || other.topCard != topCard || other.activeColor != activeColor || !hasSamePlayOrder(other)) return false;
+		for (int seat = 0; seat < handSizes.length; seat++) {
+			if (other.handSizes[seat] != handSizes[seat]) return false;
+		}
+		return true;
+	}
+	
+	/**
+     * Gets the seat of the player whose turn it is.
+     *
+     * @return the current seat, or -1 if the snapshot was taken between turns.
+     */
+	public int getCurrentSeat() {
+		return currentSeat;
+	}
+	
+	/**
+     * Gets the direction of play.
+     *
+     * @return true if play goes up the seats, false if a reverse has turned it around.
+     */
+	public boolean isClockwise() {
+		return clockwise;
+	}
+	
+	/**
+     * Gets the cards of the human player.
+     *
+     * @return an unmodifiable copy of the human player's hand, empty if there is no human player.
+     */
+	public List<Card> getHumanHand() {
+		return humanHand;
+	}
+}
@@ -0,0 +1,22 @@
+package management;
+
+import java.util.EventListener;
+
+/**
+ * A listener that is notified whenever a game session publishes a new {@link RenderSnapshot}.
+ * <p>
+ * Listeners are called on the thread that changed the game, usually the game loop thread, and should only hand
+ * the snapshot over to the thread that renders it.
+ * </p>
+ *
+ * @author Bedirhan Sakaoğlu
+ */
+public interface RenderSnapshotListener extends EventListener {
+
+	/**
+     * Called when a snapshot has been published.
+     *
+     * @param snapshot the new snapshot.
+     */
+	void snapshotPublished(RenderSnapshot snapshot);
+}
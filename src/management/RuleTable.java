@@ -0,0 +1,324 @@
+package management;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import uno.Action;
+import uno.Card;
+import uno.Decks;
+import uno.EColor;
+import uno.NumberCard;
+import uno.WildCard;
+
+/**
+ * The rules of a session compiled into lookup tables, so that checking a move or applying a card never has to
+ * ask which {@link HouseRule}s are in play.
+ * <p>
+ * Which cards can be played only depends on the top card of the discard pile, the wild color set by the GUI and
+ * whether a draw penalty is waiting to be stacked on. For every combination of the three the table holds a bit
+ * mask of the playable kinds, see {@link Card#getKind()}, so {@link #isPlayable(Card, EColor, int, Card)} is a
+ * single lookup. The masks are computed once per rule set by evaluating the standard rules on a card of every
+ * kind, so they agree with them by construction. The effect and the draw penalty of a card, and whether it can be
+ * jumped on, are looked up by kind as well. Without house rules the tables describe the standard game exactly,
+ * and the game loops pay nothing for the variants they do not play.
+ * </p>
+ * <p>
+ * Tables are immutable and can be shared by any number of sessions.
+ * </p>
+ *
+ * @author Bedirhan Sakaoğlu
+ */
+public final class RuleTable {
+
+	/** The card has no effect on the order of play. */
+	public static final int NOEFFECT = 0;
+	/** The next player is skipped. */
+	public static final int SKIP = 1;
+	/** The direction of play is reversed. */
+	public static final int REVERSE = 2;
+	/** The next player has to draw the penalty of the card, see {@link #penaltyOf(Card)}. */
+	public static final int DRAW = 3;
+	/** The player swaps hands with another, see {@link HouseRule#SEVENO}. */
+	public static final int SWAPHANDS = 4;
+	/** Every hand passes on to the next player, see {@link HouseRule#SEVENO}. */
+	public static final int PASSHANDS = 5;
+	
+	private static final int COLORS = EColor.values().length;
+	private static final int TOPSTATES = Card.NUMBEROFKINDS + COLORS;
+	private static final int WILDFOURKIND = 0;
+	private static final int WILDKIND = 1;
+	private static final long COLOREDKINDS = ((1L << Card.NUMBEROFKINDS) - 1) & ~((1L << WILDFOURKIND) | (1L << WILDKIND));
+	
+	/** The rules the engine plays without any variant chosen. Declared after the sizes the tables are built with. */
+	public static final RuleTable STANDARD = of(HouseRule.DRAWUNTILPLAYABLE);
+	
+	private final Set<HouseRule> houseRules;
+	private final long fingerprint;
+	private final long[] playable = new long[TOPSTATES * COLORS * 2];
+	private final byte[] effects = new byte[Card.NUMBEROFKINDS];
+	private final byte[] penalties = new byte[Card.NUMBEROFKINDS];
+	private final long jumpInKinds;
+	private final boolean stacking;
+	private final int drawLimit;
+	
+	/**
+     * Compiles the tables of a set of house rules.
+     *
+     * @param houseRules the house rules.
+     */
+	private RuleTable(Set<HouseRule> houseRules) {
+		this.houseRules = Collections.unmodifiableSet(houseRules);
+		long bits = 0L;
+		for (HouseRule houseRule : houseRules) {
+			bits |= 1L << houseRule.ordinal();
+		}
+		fingerprint = bits;
+		stacking = houseRules.contains(HouseRule.STACKING);
+		drawLimit = houseRules.contains(HouseRule.DRAWUNTILPLAYABLE) ? Integer.MAX_VALUE : 1;
+		jumpInKinds = houseRules.contains(HouseRule.JUMPIN) ? COLOREDKINDS : 0L;
+		
+		Card[] cards = cardOfEveryKind();
+		boolean sevenO = houseRules.contains(HouseRule.SEVENO);
+		for (int kind = 0; kind < Card.NUMBEROFKINDS; kind++) {
+			effects[kind] = (byte) effectOf(cards[kind], sevenO);
+			switch (cards[kind].getAction()) {
+				case DRAWTWO: penalties[kind] = 2; break;
+				case WILDFOUR: penalties[kind] = 4; break;
+				default: break;
+			}
+		}
+		
+		long drawTwoKinds = 0L;
+		for (int kind = 0; kind < Card.NUMBEROFKINDS; kind++) {
+			if (cards[kind].getAction() == Action.DRAWTWO) drawTwoKinds |= 1L << kind;
+		}
+		for (int state = 0; state < TOPSTATES; state++) {
+			Card top = topOfState(state, cards);
+			if (top == null) continue;
+			for (EColor wildColor : EColor.values()) {
+				long kinds = 0L;
+				for (int kind = 0; kind < Card.NUMBEROFKINDS; kind++) {
+					if (standardPlayable(top, wildColor, cards[kind])) kinds |= 1L << kind;
+				}
+				long stackable = kinds;
+				if (stacking && top.getAction() == Action.DRAWTWO) stackable = drawTwoKinds | (1L << WILDFOURKIND);
+				else if (stacking && top instanceof WildCard) stackable = 1L << WILDFOURKIND;
+				
+				int index = (state * COLORS + wildColor.ordinal()) << 1;
+				playable[index] = kinds;
+				playable[index | 1] = stackable;
+			}
+		}
+	}
+	
+	/**
+     * Compiles the tables of exactly the given house rules.
+     *
+     * @param houseRules the house rules, none for the official rules.
+     * @return the rule table.
+     */
+	public static RuleTable of(HouseRule... houseRules) {
+		Set<HouseRule> set = EnumSet.noneOf(HouseRule.class);
+		Collections.addAll(set, houseRules);
+		return new RuleTable(set);
+	}
+	
+	/**
+     * Compiles the tables of exactly the given house rules.
+     *
+     * @param houseRules the house rules, none for the official rules.
+     * @return the rule table.
+     */
+	public static RuleTable of(Set<HouseRule> houseRules) {
+		Set<HouseRule> set = EnumSet.noneOf(HouseRule.class);
+		set.addAll(houseRules);
+		return new RuleTable(set);
+	}
+	
+	/**
+     * Checks if a card can be played.
+     *
+     * @param top       the top card of the discard pile.
+     * @param wildColor the wild color set by the GUI, or null.
+     * @param penalty   the draw penalty waiting for the player, 0 if there is none.
+     * @param card      the card to check.
+     * @return true if the card is playable, otherwise false.
+     */
+	public boolean isPlayable(Card top, EColor wildColor, int penalty, Card card) {
+		return ((playableKinds(top, wildColor, penalty) >>> card.getKind()) & 1L) != 0;
+	}
+	
+	/**
+     * Gets the kinds of the cards that can be played.
+     *
+     * @param top       the top card of the discard pile.
+     * @param wildColor the wild color set by the GUI, or null.
+     * @param penalty   the draw penalty waiting for the player, 0 if there is none.
+     * @return a mask with bit k set if cards of kind k are playable.
+     */
+	public long playableKinds(Card top, EColor wildColor, int penalty) {
+		int kind = top.getKind();
+		int state = (kind > WILDKIND) ? kind : Card.NUMBEROFKINDS + top.getColorEnum().ordinal();
+		int color = (wildColor == null) ? EColor.NONE.ordinal() : wildColor.ordinal();
+		return playable[((state * COLORS + color) << 1) | ((penalty > 0) ? 1 : 0)];
+	}
+	
+	/**
+     * Gets the effect of a card on the game.
+     *
+     * @param card the card played.
+     * @return one of {@link #NOEFFECT}, {@link #SKIP}, {@link #REVERSE}, {@link #DRAW}, {@link #SWAPHANDS} or
+     *         {@link #PASSHANDS}.
+     */
+	public int effectOf(Card card) {
+		return effects[card.getKind()];
+	}
+	
+	/**
+     * Gets the number of cards the next player has to draw for a card.
+     *
+     * @param card the card played.
+     * @return the penalty, 0 for cards without one.
+     */
+	public int penaltyOf(Card card) {
+		return penalties[card.getKind()];
+	}
+	
+	/**
+     * Checks if the other players may jump in on a card with an identical one.
+     *
+     * @param card the card played.
+     * @return true if jumping in is allowed.
+     */
+	public boolean canJumpIn(Card card) {
+		return ((jumpInKinds >>> card.getKind()) & 1L) != 0;
+	}
+	
+	/**
+     * Checks if draw penalties are stacked instead of drawn right away.
+     *
+     * @return true if {@link HouseRule#STACKING} is in play.
+     */
+	public boolean isStacking() {
+		return stacking;
+	}
+	
+	/**
+     * Gets the number of cards a player who cannot play draws before passing.
+     *
+     * @return 1, or {@link Integer#MAX_VALUE} if {@link HouseRule#DRAWUNTILPLAYABLE} is in play.
+     */
+	public int getDrawLimit() {
+		return drawLimit;
+	}
+	
+	/**
+     * Gets the house rules the table was compiled from.
+     *
+     * @return an unmodifiable set of the house rules.
+     */
+	public Set<HouseRule> getHouseRules() {
+		return houseRules;
+	}
+	
+	/**
+     * Gets a value that tells rule tables apart, for example in the keys of cached evaluations. Tables compiled from
+     * the same house rules have the same fingerprint.
+     *
+     * @return a mask with bit k set if the house rule of ordinal k is in play.
+     */
+	public long getFingerprint() {
+		return fingerprint;
+	}
+	
+	/**
+     * Checks if a house rule is in play.
+     *
+     * @param houseRule the house rule.
+     * @return true if the table was compiled with it.
+     */
+	public boolean has(HouseRule houseRule) {
+		return houseRules.contains(houseRule);
+	}
+	
+	/**
+     * The standard rules of playability the tables are compiled from: wild cards can always be played, a number
+     * card on a number card of the same number or color, and an action card on a card of its color or action.
+     * The wild color set by the GUI also allows action cards of that color.
+     *
+     * @param top       the top card of the discard pile.
+     * @param wildColor the wild color set by the GUI.
+     * @param card      the card to check.
+     * @return true if the card is playable, otherwise false.
+     */
+	private static boolean standardPlayable(Card top, EColor wildColor, Card card) {
+		if (card instanceof WildCard) return true;
+		
+		if (top instanceof NumberCard) {
+			if (card instanceof NumberCard) return ((NumberCard)card).getNumberInt() == ((NumberCard)top).getNumberInt()
+					|| card.getColorEnum().equals(top.getColorEnum());
+			else {
+				return card.getColorEnum().equals(top.getColorEnum()) || card.getColorEnum().equals(wildColor);
+			}
+		}
+		else {
+			return top.getColorEnum().equals(card.getColorEnum()) || card.getColorEnum().equals(wildColor)
+					|| card.getAction().equals(top.getAction());
+		}
+	}
+	
+	/**
+     * Gets the effect of a card under the standard rules, and the 7-0 rule if it is in play.
+     *
+     * @param card   the card.
+     * @param sevenO whether {@link HouseRule#SEVENO} is in play.
+     * @return the effect.
+     */
+	private static int effectOf(Card card, boolean sevenO) {
+		switch (card.getAction()) {
+			case SKIP: return SKIP;
+			case REVERSE: return REVERSE;
+			case DRAWTWO:
+			case WILDFOUR: return DRAW;
+			case NUMBER: {
+				if (!sevenO) return NOEFFECT;
+				int number = ((NumberCard)card).getNumberInt();
+				if (number == 7) return SWAPHANDS;
+				return (number == 0) ? PASSHANDS : NOEFFECT;
+			}
+			default: return NOEFFECT;
+		}
+	}
+	
+	/**
+     * Gets a card that stands for a state of the top card: colored cards by kind, wild cards by their color.
+     *
+     * @param state the state.
+     * @param cards a card of every kind.
+     * @return the card, or null for the kinds of the wild cards, which are states by color instead.
+     */
+	private static Card topOfState(int state, Card[] cards) {
+		if (state < Card.NUMBEROFKINDS) return (state > WILDKIND) ? cards[state] : null;
+		EColor color = EColor.values()[state - Card.NUMBEROFKINDS];
+		WildCard wild = new WildCard(Action.WILD);
+		if (color != EColor.NONE) wild.setColorEnum(color);
+		return wild;
+	}
+	
+	/**
+     * Collects a card of every kind from a deck.
+     *
+     * @return the cards, indexed by kind.
+     */
+	private static Card[] cardOfEveryKind() {
+		Card[] cards = new Card[Card.NUMBEROFKINDS];
+		List<Card> deck = Decks.initializeDrawPile(new Random(0));
+		for (Card card : deck) {
+			if (cards[card.getKind()] == null) cards[card.getKind()] = card;
+		}
+		return cards;
+	}
+}
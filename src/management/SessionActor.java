@@ -0,0 +1,194 @@
+package management;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import uno.Card;
+import uno.EColor;
+import uno.WildCard;
+
+/**
+ * The single owner of a {@link GameSession}: every change to the session is a command on the actor's queue.
+ * <p>
+ * Commands are applied one at a time in the order they were submitted, so the session itself needs no locks.
+ * The actor is not a thread of its own. Whenever commands are waiting it borrows one of a small pool of carrier
+ * threads shared by all sessions, applies up to {@link #BATCHSIZE} commands and gives the thread back, so many
+ * sessions can be played on a few threads without one of them starving the others.
+ * </p>
+ * <p>
+ * The queue holds at most {@link #QUEUECAPACITY} commands. A command submitted to a full queue is not applied,
+ * and its future fails with a {@link RejectedExecutionException}. A command that throws fails its future and
+ * dumps the session's flight recorder, the commands after it are still applied. Once the actor is closed, commands
+ * are rejected the same way.
+ * </p>
+ *
+ * @author Bedirhan Sakaoğlu
+ */
+public class SessionActor {
+
+	public static final int QUEUECAPACITY = 256;
+	public static final int BATCHSIZE = 32;
+	public static final int CARRIERCOUNT = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+	
+	private static final AtomicInteger carrierNumber = new AtomicInteger();
+	private static final ExecutorService CARRIERS = Executors.newFixedThreadPool(CARRIERCOUNT, runnable -> {
+		Thread thread = new Thread(runnable, "session-actor-" + carrierNumber.incrementAndGet());
+		thread.setDaemon(true);
+		return thread;
+	});
+	
+	private final GameSession gameSession;
+	private final ArrayBlockingQueue<Command<?>> commands = new ArrayBlockingQueue<Command<?>>(QUEUECAPACITY);
+	private final AtomicBoolean scheduled = new AtomicBoolean(false);
+	private volatile boolean closed = false;
+	
+	/**
+	 * A command and the future of its result.
+	 */
+	private static class Command<T> {
+		
+		private final Callable<T> action;
+		private final CompletableFuture<T> result = new CompletableFuture<T>();
+		
+		private Command(Callable<T> action) {
+			this.action = action;
+		}
+	}
+	
+	/**
+     * Constructs the actor of a session, see {@link GameSession#getActor()}.
+     *
+     * @param gameSession the session the actor owns.
+     */
+	SessionActor(GameSession gameSession) {
+		this.gameSession = gameSession;
+	}
+	
+	/**
+     * Submits a command that computes a result.
+     *
+     * @param <T>    the type of the result.
+     * @param action the command, applied on a carrier thread after all commands submitted before it.
+     * @return the future of the result.
+     */
+	public <T> CompletableFuture<T> submit(Callable<T> action) {
+		Command<T> command = new Command<T>(action);
+		if (closed) {
+			command.result.completeExceptionally(new RejectedExecutionException("The actor of " + gameSession.getGameName() + " is closed"));
+			return command.result;
+		}
+		if (!commands.offer(command)) {
+			command.result.completeExceptionally(new RejectedExecutionException("The command queue of " + gameSession.getGameName() + " is full"));
+			return command.result;
+		}
+		schedule();
+		return command.result;
+	}
+	
+	/**
+     * Submits a command without a result.
+     *
+     * @param action the command, applied on a carrier thread after all commands submitted before it.
+     * @return the future completed once the command has been applied.
+     */
+	public CompletableFuture<Void> execute(Runnable action) {
+		return submit(() -> {
+			action.run();
+			return null;
+		});
+	}
+	
+	/**
+     * Plays a card of a player onto the discard pile and publishes a snapshot.
+     *
+     * @param player the player.
+     * @param card   the card to play.
+     * @return the future of the index the card was removed from, see {@link Player#playCard(Card)}.
+     */
+	public CompletableFuture<Integer> play(Player player, Card card) {
+		return submit(() -> {
+			int index = player.playCard(card);
+			gameSession.setCardTopDeck(card);
+			gameSession.publishSnapshot(player);
+			return index;
+		});
+	}
+	
+	/**
+     * Draws the top card of the draw pile for a player, reshuffling the discard pile first if the draw pile is
+     * empty, and publishes a snapshot.
+     *
+     * @param player the player.
+     * @return the future of the drawn card.
+     */
+	public CompletableFuture<Card> draw(Player player) {
+		return submit(() -> {
+			if (gameSession.getDrawPile().size() == 0) gameSession.reshuffleDiscardPile();
+			Card card = gameSession.getDrawPile().get(gameSession.getDrawPile().size() - 1);
+			player.drawCard(card);
+			gameSession.publishSnapshot(player);
+			return card;
+		});
+	}
+	
+	/**
+     * Chooses the color of a wild card.
+     *
+     * @param player the player who chose the color.
+     * @param card   the wild card, or null to only set the color of the session.
+     * @param color  the chosen color.
+     * @return the future completed once the color is set.
+     */
+	public CompletableFuture<Void> chooseColor(Player player, WildCard card, EColor color) {
+		return execute(() -> {
+			gameSession.setWildColor(color);
+			if (card != null) card.setColorEnum(color);
+			gameSession.emit(GameEvent.COLORCHOSEN, player, card, color);
+		});
+	}
+	
+	/**
+     * Closes the actor. The commands submitted so far are still applied, later ones are rejected.
+     */
+	public void close() {
+		closed = true;
+	}
+	
+	/**
+     * Borrows a carrier thread unless the actor already has one.
+     */
+	private void schedule() {
+		if (scheduled.compareAndSet(false, true)) CARRIERS.execute(this::drain);
+	}
+	
+	/**
+     * Applies a batch of commands, then gives the carrier thread back and borrows it again if more are waiting.
+     */
+	private void drain() {
+		try {
+			for (int i = 0; i < BATCHSIZE; i++) {
+				Command<?> command = commands.poll();
+				if (command == null) break;
+				apply(command);
+			}
+		} finally {
+			scheduled.set(false);
+		}
+		if (!commands.isEmpty()) schedule();
+	}
+	
+	private <T> void apply(Command<T> command) {
+		try {
+			command.result.complete(command.action.call());
+		} catch (Throwable t) {
+			gameSession.getRecorder().dump(t);
+			command.result.completeExceptionally(t);
+		}
+	}
+}
@@ -0,0 +1,232 @@
+package management;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import uno.Card;
+import uno.EColor;
+
+/**
+ * Flight recorder of a game session, keeping the last engine events and periodic state snapshots in memory.
+ * <p>
+ * Events are packed into primitive ring buffers of a fixed size that are allocated once per session, so
+ * recording is always on and does not allocate. When the game loop fails with an uncaught exception the
+ * recorder is dumped to a text file in {@link #CRASHDIRECTORY}, holding the seed, the seats, the last
+ * snapshots and the last events. Together with the seed the events allow a crash to be replayed exactly,
+ * including the moves of the human player.
+ * </p>
+ * <p>
+ * The recorder is not synchronized, a dump taken while another thread records may show a torn last event.
+ * </p>
+ *
+ * @author Bedirhan Sakaoğlu
+ */
+public class SessionRecorder {
+
+	public static final int DEFAULTCAPACITY = 1024;
+	public static final int SNAPSHOTINTERVAL = 64;
+	public static final Path CRASHDIRECTORY = Paths.get("Data", "Crashes");
+	
+	public static final int DEALT = 0;
+	public static final int PLAYED = 1;
+	public static final int DREW = 2;
+	public static final int FORCEDDRAW = 3;
+	public static final int RESHUFFLED = 4;
+	public static final int COLOR = 5;
+	public static final int REVERSED = 6;
+	public static final int SKIPPED = 7;
+	public static final int FINISHED = 8;
+	private static final String[] EVENTNAMES = {"DEALT", "PLAYED", "DREW", "FORCEDDRAW", "RESHUFFLED", "COLOR", "REVERSED", "SKIPPED", "FINISHED"};
+	
+	private static final int NUMBEROFSNAPSHOTS = 8;
+	private static final int SNAPSHOTHEADER = 4;
+	
+	/** Recorder of sessions that are not worth recording, such as rollouts of the move analysis. It records nothing. */
+	static final SessionRecorder DISABLED = new SessionRecorder(null, 0);
+	
+	private final GameSession gameSession;
+	private final int capacity;
+	private final long[] times;
+	private final long[] events;
+	private final long[] snapshotEvents;
+	private final int[][] snapshots;
+	private long count;
+	
+	/**
+     * Constructs a recorder for a session.
+     *
+     * @param gameSession the recorded session.
+     * @param capacity    the number of events kept.
+     */
+	SessionRecorder(GameSession gameSession, int capacity) {
+		this.gameSession = gameSession;
+		this.capacity = capacity;
+		times = new long[capacity];
+		events = new long[capacity];
+		boolean enabled = capacity > 0;
+		snapshotEvents = new long[enabled ? NUMBEROFSNAPSHOTS : 0];
+		snapshots = new int[enabled ? NUMBEROFSNAPSHOTS : 0][SNAPSHOTHEADER + GameSession.MAXNUMBEROFPLAYERS];
+	}
+	
+	/**
+     * Records an event of a player.
+     *
+     * @param type   the type of the event, one of the event constants.
+     * @param player the player, or null if the event concerns no player.
+     * @param a      the first argument of the event, for example the kind of a card.
+     * @param b      the second argument of the event, for example the color of a card.
+     */
+	public void record(int type, Player player, int a, int b) {
+		if (capacity == 0) return;
+		int seat = (player == null) ? -1 : gameSession.getPlayerList().indexOf(player);
+		int slot = (int) (count % capacity);
+		times[slot] = System.nanoTime();
+		events[slot] = ((long) type << 56) | ((long) (seat & 0xFF) << 48) | ((long) (a & 0xFFFFFF) << 24) | (b & 0xFFFFFF);
+		if (count % SNAPSHOTINTERVAL == 0) snapshot();
+		count++;
+	}
+	
+	/**
+     * Records an event that concerns no player.
+     *
+     * @param type the type of the event, one of the event constants.
+     * @param a    the argument of the event.
+     */
+	public void record(int type, int a) {
+		record(type, null, a, 0);
+	}
+	
+	/**
+     * Takes a compact snapshot of the piles, the top card and the hand sizes into the snapshot ring.
+     */
+	private void snapshot() {
+		int slot = (int) ((count / SNAPSHOTINTERVAL) % NUMBEROFSNAPSHOTS);
+		int[] snapshot = snapshots[slot];
+		snapshotEvents[slot] = count;
+		Card top = gameSession.getCardTopDeck();
+		EColor color = gameSession.getCurrentColor();
+		snapshot[0] = (gameSession.getDrawPile() == null) ? -1 : gameSession.getDrawPile().size();
+		snapshot[1] = (gameSession.getDiscardPile() == null) ? -1 : gameSession.getDiscardPile().size();
+		snapshot[2] = (top == null) ? -1 : top.getKind();
+		snapshot[3] = (color == null) ? -1 : color.ordinal();
+		List<Player> seats = gameSession.getPlayerList();
+		for (int seat = 0; seat < GameSession.MAXNUMBEROFPLAYERS; seat++) {
+			snapshot[SNAPSHOTHEADER + seat] = (seat < seats.size()) ? seats.get(seat).getDeck().size() : -1;
+		}
+	}
+	
+	/**
+     * Writes the recorder to a new file in {@link #CRASHDIRECTORY}. Never throws, a failed dump is only printed.
+     *
+     * @param cause the exception that stopped the game.
+     * @return the file written, or null if the session is not recorded or the file could not be written.
+     */
+	public Path dump(Throwable cause) {
+		if (capacity == 0) return null;
+		try {
+			Files.createDirectories(CRASHDIRECTORY);
+			Path path = CRASHDIRECTORY.resolve(String.format("%s-%d.txt", gameSession.getGameName(), System.currentTimeMillis()));
+			Files.write(path, format(cause).getBytes(StandardCharsets.UTF_8));
+			System.out.println("Game flight recorder dumped to: " + path.toAbsolutePath());
+			return path;
+		} catch (IOException | RuntimeException e) {
+			e.printStackTrace();
+			return null;
+		}
+	}
+	
+	/**
+     * Formats the recorder as text, oldest snapshots and events first.
+     *
+     * @param cause the exception that stopped the game, or null.
+     * @return the text.
+     */
+	public String format(Throwable cause) {
+		StringBuilder text = new StringBuilder();
+		String newLine = System.lineSeparator();
+		text.append("game: ").append(gameSession.getGameName()).append(newLine);
+		text.append("seed: ").append(gameSession.getSeed()).append(newLine);
+		List<Player> seats = gameSession.getPlayerList();
+		for (int seat = 0; seat < seats.size(); seat++) {
+			Player player = seats.get(seat);
+			String name = (player instanceof AiPlayer) ? ((AiPlayer) player).getBotName() + " (" + ((AiPlayer) player).getStrategy().getName() + ")" : "Player";
+			text.append("seat ").append(seat).append(": ").append(name).append(newLine);
+		}
+		if (cause != null) {
+			StringWriter trace = new StringWriter();
+			cause.printStackTrace(new PrintWriter(trace));
+			text.append("cause: ").append(trace).append(newLine);
+		}
+		
+		long firstSnapshot = Math.max(0, (count - 1) / SNAPSHOTINTERVAL - NUMBEROFSNAPSHOTS + 1);
+		for (long n = firstSnapshot; n * SNAPSHOTINTERVAL < count; n++) {
+			int[] snapshot = snapshots[(int) (n % NUMBEROFSNAPSHOTS)];
+			text.append(String.format("snapshot at event %d: draw pile %d, discard pile %d, top %s, color %s, hands",
+					snapshotEvents[(int) (n % NUMBEROFSNAPSHOTS)], snapshot[0], snapshot[1], describeKind(snapshot[2]), describeColor(snapshot[3])));
+			for (int seat = 0; seat < seats.size() && seat < GameSession.MAXNUMBEROFPLAYERS; seat++) {
+				text.append(' ').append(snapshot[SNAPSHOTHEADER + seat]);
+			}
+			text.append(newLine);
+		}
+		
+		long first = Math.max(0, count - capacity);
+		long start = (count == 0) ? 0 : times[(int) (first % capacity)];
+		for (long n = first; n < count; n++) {
+			int slot = (int) (n % capacity);
+			long event = events[slot];
+			int type = (int) (event >>> 56);
+			int seat = (byte) (event >>> 48);
+			int a = (int) ((event >>> 24) & 0xFFFFFF);
+			int b = (int) (event & 0xFFFFFF);
+			text.append(String.format("#%d +%.3fms %s", n, (times[slot] - start) / 1e6, (type < EVENTNAMES.length) ? EVENTNAMES[type] : "?" + type));
+			if (seat >= 0) text.append(" seat ").append(seat);
+			switch (type) {
+				case PLAYED: text.append(' ').append(describeKind(a)).append(" color ").append(describeColor(b)); break;
+				case DREW: text.append(' ').append(describeKind(a)); break;
+				case COLOR: text.append(' ').append(describeColor(a)); break;
+				default: text.append(' ').append(a); break;
+			}
+			text.append(newLine);
+		}
+		return text.toString();
+	}
+	
+	/**
+     * Describes a kind of card, see {@link Card#getKind()}.
+     *
+     * @param kind the kind.
+     * @return the description.
+     */
+	private static String describeKind(int kind) {
+		if (kind < 0 || kind >= Card.NUMBEROFKINDS) return "none";
+		if (kind == 0) return "Wild Draw Four";
+		if (kind == 1) return "Wild";
+		String color = EColor.values()[(kind - 2) / 13].getString();
+		int offset = (kind - 2) % 13;
+		switch (offset) {
+			case 0: return color + " Draw Two";
+			case 1: return color + " Reverse";
+			case 2: return color + " Skip";
+			default: return color + " " + (offset - 3);
+		}
+	}
+	
+	private static String describeColor(int ordinal) {
+		return (ordinal < 0 || ordinal >= EColor.values().length) ? "none" : EColor.values()[ordinal].getString();
+	}
+	
+	/**
+     * Gets the number of events recorded since the session was dealt, including those no longer kept.
+     *
+     * @return the number of events.
+     */
+	public long getCount() {
+		return count;
+	}
+}
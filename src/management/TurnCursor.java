@@ -0,0 +1,179 @@
+package management;
+
+import java.util.List;
+
+/**
+ * Whose turn it is and in which direction play goes, over a fixed array of seats.
+ * <p>
+ * The seats never move. Reversing the order of play only flips the sign of the direction, and moving on to
+ * the next player, skipping one or reversing are all constant time, so nothing has to copy or reverse a list
+ * of players during a game. The engine and the GUI share the cursor of a session, see
+ * {@link GameSession#getTurnCursor()}.
+ * </p>
+ *
+ * @author Bedirhan Sakaoğlu
+ */
+public class TurnCursor {
+
+	private final Player[] seats;
+	private int direction = 1;
+	private int current = 0;
+	
+	/**
+     * Constructs a cursor at the first seat, with play going up the seats.
+     *
+     * @param seats the players, by seat.
+     */
+	public TurnCursor(List<Player> seats) {
+		this.seats = seats.toArray(new Player[0]);
+	}
+	
+	/**
+     * Gets the player whose turn it is.
+     *
+     * @return the current player.
+     */
+	public Player current() {
+		return seats[current];
+	}
+	
+	/**
+     * Gets the seat of the player whose turn it is.
+     *
+     * @return the current seat.
+     */
+	public int getCurrentSeat() {
+		return current;
+	}
+	
+	/**
+     * Gives the turn to a seat.
+     *
+     * @param seat the seat.
+     */
+	public void setCurrentSeat(int seat) {
+		current = Math.floorMod(seat, seats.length);
+	}
+	
+	/**
+     * Gives the turn to a player.
+     *
+     * @param player the player.
+     * @return false if the player is not seated, in which case the turn does not change.
+     */
+	public boolean moveTo(Player player) {
+		int seat = seatOf(player);
+		if (seat == -1) return false;
+		current = seat;
+		return true;
+	}
+	
+	/**
+     * Passes the turn to the next player in the direction of play.
+     *
+     * @return the player whose turn it is now.
+     */
+	public Player next() {
+		current = seatAfter(current, 1);
+		return seats[current];
+	}
+	
+	/**
+     * Passes the turn over the next player to the one after.
+     *
+     * @return the player whose turn it is now.
+     */
+	public Player skip() {
+		current = seatAfter(current, 2);
+		return seats[current];
+	}
+	
+	/**
+     * Reverses the direction of play. The turn stays with the current player.
+     */
+	public void reverse() {
+		direction = -direction;
+	}
+	
+	/**
+     * Gets the player who plays next, without passing the turn.
+     *
+     * @return the next player.
+     */
+	public Player peekNext() {
+		return seats[seatAfter(current, 1)];
+	}
+	
+	/**
+     * Gets the seat a number of turns after a seat in the direction of play.
+     *
+     * @param seat  the seat to count from.
+     * @param steps the number of turns.
+     * @return the seat.
+     */
+	public int seatAfter(int seat, int steps) {
+		return Math.floorMod(seat + direction * steps, seats.length);
+	}
+	
+	/**
+     * Gets the player who plays after a player in the direction of play.
+     *
+     * @param player the player.
+     * @return the next player, or null if the player is not seated.
+     */
+	public Player playerAfter(Player player) {
+		int seat = seatOf(player);
+		return (seat == -1) ? null : seats[seatAfter(seat, 1)];
+	}
+	
+	/**
+     * Lists the seats in the order of play: up from the first seat, or down from the last once play is reversed.
+     *
+     * @param index the position in the order of play.
+     * @return the seat at that position.
+     */
+	public int getSeatInPlayOrder(int index) {
+		return (direction > 0) ? index : seats.length - 1 - index;
+	}
+	
+	/**
+     * Finds the seat of a player.
+     *
+     * @param player the player.
+     * @return the seat, or -1 if the player is not seated.
+     */
+	public int seatOf(Player player) {
+		for (int seat = 0; seat < seats.length; seat++) {
+			if (seats[seat] == player) return seat;
+		}
+		return -1;
+	}
+	
+	/**
+     * Gets the player in a seat.
+     *
+     * @param seat the seat.
+     * @return the player.
+     */
+	public Player getPlayer(int seat) {
+		return seats[seat];
+	}
+	
+	/**
+     * Gets the number of seats.
+     *
+     * @return the number of players.
+     */
+	public int size() {
+		return seats.length;
+	}
+	
+	/**
+     * Gets the direction of play.
+     *
+     * @return 1 while play goes up the seats, -1 once it has been reversed.
+     */
+	public int getDirection() {
+		return direction;
+	}
+}
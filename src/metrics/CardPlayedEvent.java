@@ -0,0 +1,43 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event of a card put on the discard pile by any player.
+ *
+ * @author Bedirhan Sakaoğlu
+ */
+@Name("uno.CardPlayed")
+@Label("Card Played")
+@Category({"Uno", "Game"})
+@StackTrace(false)
+@Description("A card was played")
+public class CardPlayedEvent extends Event {
+	
+	/** Instance asked on every play, so that no event is allocated while nothing records it. */
+	private static final CardPlayedEvent PROBE = new CardPlayedEvent();
+	
+	@Label("Game Name")
+	public String gameName;
+	
+	@Label("Seat")
+	@Description("The index of the player in the game order")
+	public int seat;
+	
+	@Label("Card")
+	public String card;
+	
+	/**
+     * Checks whether played cards are recorded, without allocating.
+     *
+     * @return true if a recording with this event enabled is running.
+     */
+	public static boolean enabled() {
+		return PROBE.isEnabled();
+	}
+}
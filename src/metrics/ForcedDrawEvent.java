@@ -0,0 +1,40 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event of a player forced to draw by a Draw Two or Wild Draw Four.
+ *
+ * @author Bedirhan Sakaoğlu
+ */
+@Name("uno.ForcedDraw")
+@Label("Forced Draw")
+@Category({"Uno", "Game"})
+@Description("A player was forced to draw cards")
+public class ForcedDrawEvent extends Event {
+	
+	/** Instance asked on the forced draw path, where the JIT compiler does not reliably remove the allocation of an event. */
+	private static final ForcedDrawEvent PROBE = new ForcedDrawEvent();
+	
+	@Label("Game Name")
+	public String gameName;
+	
+	@Label("Player")
+	public String player;
+	
+	@Label("Cards")
+	public int cards;
+	
+	/**
+     * Checks whether forced draws are recorded, without allocating.
+     *
+     * @return true if a recording with this event enabled is running.
+     */
+	public static boolean enabled() {
+		return PROBE.isEnabled();
+	}
+}
@@ -0,0 +1,26 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event of a finished game session, lasting from the deal to the end of the game.
+ *
+ * @author Bedirhan Sakaoğlu
+ */
+@Name("uno.GameFinished")
+@Label("Game Finished")
+@Category({"Uno", "Game"})
+@Description("A game session was finished")
+public class GameFinishedEvent extends Event {
+	
+	@Label("Game Name")
+	public String gameName;
+	
+	@Label("Winner")
+	@Description("The name of the winner, empty if the game was stopped without one")
+	public String winner;
+}
@@ -0,0 +1,265 @@
+package metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Registry of the runtime metrics of the game: sessions, AI turns, reshuffles, forced draws, game log I/O
+ * and the time the Swing event dispatch thread is blocked.
+ * <p>
+ * The engine records into the single instance returned by {@link #get()}. Counters are striped
+ * {@link LongAdder}s and latencies go to {@link LatencyHistogram}s, so recording stays cheap and does not
+ * allocate even when many simulation threads record at once, and the metrics can always stay on.
+ * {@link #register()} exposes them through JMX, for example to JConsole.
+ * </p>
+ *
+ * @author Bedirhan Sakaoğlu
+ */
+public final class GameMetrics implements GameMetricsMXBean {
+
+	public static final String OBJECTNAME = "uno:type=GameMetrics";
+	
+	/** Dispatches longer than a frame at 60 frames per second count as blocking the event dispatch thread. */
+	public static final long BLOCKINGNANOS = TimeUnit.MILLISECONDS.toNanos(16);
+	
+	private static final GameMetrics INSTANCE = new GameMetrics();
+	
+	private final LongAdder sessionsStarted = new LongAdder();
+	private final LongAdder sessionsFinished = new LongAdder();
+	private final LongAdder turns = new LongAdder();
+	private final ConcurrentHashMap<String, LatencyHistogram> turnLatency = new ConcurrentHashMap<String, LatencyHistogram>();
+	private final LongAdder reshuffles = new LongAdder();
+	private final LongAdder forcedDraws = new LongAdder();
+	private final LongAdder forcedDrawCards = new LongAdder();
+	private final LongAdder logEventsQueued = new LongAdder();
+	private final LongAdder logEventsFlushed = new LongAdder();
+	private final LatencyHistogram logFlushLatency = new LatencyHistogram();
+	private final LongAdder gameEventsDropped = new LongAdder();
+	private final LatencyHistogram edtDispatchLatency = new LatencyHistogram();
+	private final LongAdder edtBlockingDispatches = new LongAdder();
+	private final LongAdder edtBlockedNanos = new LongAdder();
+	private long lastRateTurns;
+	private long lastRateNanos = System.nanoTime();
+	private boolean registered;
+	
+	private GameMetrics() {}
+	
+	/**
+     * Gets the metrics of the game.
+     *
+     * @return the single instance.
+     */
+	public static GameMetrics get() {
+		return INSTANCE;
+	}
+	
+	/**
+     * Registers the metrics with the platform MBean server, unless they already are.
+     */
+	public static synchronized void register() {
+		if (INSTANCE.registered) return;
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			server.registerMBean(INSTANCE, new ObjectName(OBJECTNAME));
+			INSTANCE.registered = true;
+		} catch (JMException e) {
+			e.printStackTrace();
+		}
+	}
+	
+	/**
+     * Records that a game session was dealt.
+     */
+	public void sessionStarted() {
+		sessionsStarted.increment();
+	}
+	
+	/**
+     * Records that a game session was finished.
+     */
+	public void sessionFinished() {
+		sessionsFinished.increment();
+	}
+	
+	/**
+     * Records an AI turn.
+     *
+     * @param strategyName the name of the strategy of the AI player.
+     * @param nanos        the duration of the turn.
+     */
+	public void turnPlayed(String strategyName, long nanos) {
+		turns.increment();
+		turnLatency.computeIfAbsent(strategyName, name -> new LatencyHistogram()).record(nanos);
+	}
+	
+	/**
+     * Records a reshuffle of the discard pile.
+     */
+	public void reshuffled() {
+		reshuffles.increment();
+	}
+	
+	/**
+     * Records a forced draw.
+     *
+     * @param cards the number of cards drawn.
+     */
+	public void forcedDraw(int cards) {
+		forcedDraws.increment();
+		forcedDrawCards.add(cards);
+	}
+	
+	/**
+     * Records that a game log event was published for a log writer, which writes it later on its own thread.
+     */
+	public void logEventQueued() {
+		logEventsQueued.increment();
+	}
+	
+	/**
+     * Records that a game log event was written to its file.
+     *
+     * @param nanos the time the write took.
+     */
+	public void logEventFlushed(long nanos) {
+		logEventsFlushed.increment();
+		logFlushLatency.record(nanos);
+	}
+	
+	/**
+     * Records game events a slow consumer missed, see {@link management.GameEventBus.SlowConsumerPolicy#DROP}.
+     *
+     * @param events the number of events missed.
+     */
+	public void gameEventsDropped(long events) {
+		gameEventsDropped.add(events);
+	}
+	
+	/**
+     * Records an event dispatch on the Swing event dispatch thread.
+     *
+     * @param nanos the time the dispatch took.
+     */
+	public void edtDispatched(long nanos) {
+		edtDispatchLatency.record(nanos);
+		if (nanos > BLOCKINGNANOS) {
+			edtBlockingDispatches.increment();
+			edtBlockedNanos.add(nanos);
+		}
+	}
+	
+	@Override
+	public long getLiveSessions() {
+		return Math.max(0, sessionsStarted.sum() - sessionsFinished.sum());
+	}
+	
+	@Override
+	public long getSessionsStarted() {
+		return sessionsStarted.sum();
+	}
+	
+	@Override
+	public long getSessionsFinished() {
+		return sessionsFinished.sum();
+	}
+	
+	@Override
+	public long getTurns() {
+		return turns.sum();
+	}
+	
+	@Override
+	public synchronized double getTurnsPerSecond() {
+		long now = System.nanoTime();
+		long total = turns.sum();
+		double rate = (now == lastRateNanos) ? 0 : (total - lastRateTurns) * 1e9 / (now - lastRateNanos);
+		lastRateTurns = total;
+		lastRateNanos = now;
+		return rate;
+	}
+	
+	@Override
+	public Map<String, LatencySnapshot> getTurnLatency() {
+		Map<String, LatencySnapshot> snapshots = new TreeMap<String, LatencySnapshot>();
+		for (Map.Entry<String, LatencyHistogram> entry : turnLatency.entrySet()) {
+			snapshots.put(entry.getKey(), entry.getValue().snapshot());
+		}
+		return snapshots;
+	}
+	
+	@Override
+	public long getReshuffles() {
+		return reshuffles.sum();
+	}
+	
+	@Override
+	public long getForcedDraws() {
+		return forcedDraws.sum();
+	}
+	
+	@Override
+	public long getForcedDrawCards() {
+		return forcedDrawCards.sum();
+	}
+	
+	@Override
+	public long getLogEventsQueued() {
+		return logEventsQueued.sum();
+	}
+	
+	@Override
+	public long getLogEventsFlushed() {
+		return logEventsFlushed.sum();
+	}
+	
+	@Override
+	public LatencySnapshot getLogFlushLatency() {
+		return logFlushLatency.snapshot();
+	}
+	
+	@Override
+	public long getGameEventsDropped() {
+		return gameEventsDropped.sum();
+	}
+	
+	@Override
+	public LatencySnapshot getEdtDispatchLatency() {
+		return edtDispatchLatency.snapshot();
+	}
+	
+	@Override
+	public long getEdtBlockingDispatches() {
+		return edtBlockingDispatches.sum();
+	}
+	
+	@Override
+	public long getEdtBlockedMillis() {
+		return TimeUnit.NANOSECONDS.toMillis(edtBlockedNanos.sum());
+	}
+	
+	@Override
+	public void reset() {
+		turns.reset();
+		for (LatencyHistogram histogram : turnLatency.values()) {
+			histogram.reset();
+		}
+		reshuffles.reset();
+		forcedDraws.reset();
+		forcedDrawCards.reset();
+		logEventsQueued.reset();
+		logEventsFlushed.reset();
+		logFlushLatency.reset();
+		gameEventsDropped.reset();
+		edtDispatchLatency.reset();
+		edtBlockingDispatches.reset();
+		edtBlockedNanos.reset();
+	}
+}
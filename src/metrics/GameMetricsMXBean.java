@@ -0,0 +1,128 @@
+package metrics;
+
+import java.util.Map;
+
+/**
+ * Management interface of the {@link GameMetrics}, registered as {@value GameMetrics#OBJECTNAME}.
+ *
+ * @author Bedirhan Sakaoğlu
+ */
+public interface GameMetricsMXBean {
+
+	/**
+     * Gets the number of game sessions dealt and not finished yet, headless ones included.
+     *
+     * @return the live sessions.
+     */
+	long getLiveSessions();
+	
+	/**
+     * Gets the number of game sessions dealt.
+     *
+     * @return the sessions started.
+     */
+	long getSessionsStarted();
+	
+	/**
+     * Gets the number of game sessions finished.
+     *
+     * @return the sessions finished.
+     */
+	long getSessionsFinished();
+	
+	/**
+     * Gets the number of AI turns played, counting every draw or play decision.
+     *
+     * @return the turns.
+     */
+	long getTurns();
+	
+	/**
+     * Gets the rate of AI turns since this attribute was last read.
+     *
+     * @return the turns per second.
+     */
+	double getTurnsPerSecond();
+	
+	/**
+     * Gets the latency of AI turns by strategy name.
+     *
+     * @return the latency summaries.
+     */
+	Map<String, LatencySnapshot> getTurnLatency();
+	
+	/**
+     * Gets the number of times a discard pile was reshuffled into the draw pile.
+     *
+     * @return the reshuffles.
+     */
+	long getReshuffles();
+	
+	/**
+     * Gets the number of times a player was forced to draw by a Draw Two or Wild Draw Four.
+     *
+     * @return the forced draws.
+     */
+	long getForcedDraws();
+	
+	/**
+     * Gets the number of cards drawn in forced draws.
+     *
+     * @return the cards drawn.
+     */
+	long getForcedDrawCards();
+	
+	/**
+     * Gets the number of game log events published for the log writers, written or not.
+     *
+     * @return the events queued.
+     */
+	long getLogEventsQueued();
+	
+	/**
+     * Gets the number of game log events written to their log file.
+     *
+     * @return the events flushed.
+     */
+	long getLogEventsFlushed();
+	
+	/**
+     * Gets the latency of writing a game log event to its file.
+     *
+     * @return the latency summary.
+     */
+	LatencySnapshot getLogFlushLatency();
+	
+	/**
+     * Gets the number of game events that consumers of a game event bus missed because they fell behind.
+     *
+     * @return the dropped events.
+     */
+	long getGameEventsDropped();
+	
+	/**
+     * Gets the latency of dispatching events on the Swing event dispatch thread.
+     *
+     * @return the latency summary.
+     */
+	LatencySnapshot getEdtDispatchLatency();
+	
+	/**
+     * Gets the number of event dispatches that blocked the Swing event dispatch thread for longer than a frame.
+     *
+     * @return the blocking dispatches.
+     */
+	long getEdtBlockingDispatches();
+	
+	/**
+     * Gets the time spent in event dispatches that blocked the Swing event dispatch thread for longer than a frame.
+     *
+     * @return the blocked time in milliseconds.
+     */
+	long getEdtBlockedMillis();
+	
+	/**
+     * Resets every counter and histogram, apart from the sessions.
+     */
+	void reset();
+}
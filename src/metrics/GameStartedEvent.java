@@ -0,0 +1,28 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event of a newly dealt game session.
+ *
+ * @author Bedirhan Sakaoğlu
+ */
+@Name("uno.GameStarted")
+@Label("Game Started")
+@Category({"Uno", "Game"})
+@Description("A game session was dealt")
+public class GameStartedEvent extends Event {
+	
+	@Label("Game Name")
+	public String gameName;
+	
+	@Label("Players")
+	public int players;
+	
+	@Label("Seed")
+	public long seed;
+}
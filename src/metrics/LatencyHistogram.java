@@ -0,0 +1,116 @@
+package metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrent histogram of durations in nanoseconds with one bucket per power of two.
+ * <p>
+ * Every bucket is a striped {@link LongAdder}, so recording from many threads at once neither blocks
+ * nor allocates once the stripes exist. Percentiles are interpolated within a bucket and are therefore
+ * estimates, which is enough to tell microseconds from milliseconds.
+ * </p>
+ *
+ * @author Bedirhan Sakaoğlu
+ */
+public class LatencyHistogram {
+
+	private static final int NUMBEROFBUCKETS = 64;
+	
+	private final LongAdder[] buckets = new LongAdder[NUMBEROFBUCKETS];
+	private final LongAdder count = new LongAdder();
+	private final LongAdder sum = new LongAdder();
+	private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+	
+	/**
+     * Constructs an empty histogram.
+     */
+	public LatencyHistogram() {
+		for (int i = 0; i < NUMBEROFBUCKETS; i++) {
+			buckets[i] = new LongAdder();
+		}
+	}
+	
+	/**
+     * Records a duration.
+     *
+     * @param nanos the duration in nanoseconds, negative durations are counted as zero.
+     */
+	public void record(long nanos) {
+		long value = Math.max(0, nanos);
+		buckets[NUMBEROFBUCKETS - 1 - Long.numberOfLeadingZeros(value | 1)].increment();
+		count.increment();
+		sum.add(value);
+		max.accumulate(value);
+	}
+	
+	/**
+     * Takes a snapshot of the histogram. Durations recorded meanwhile may be missing from some of its figures.
+     *
+     * @return the snapshot.
+     */
+	public LatencySnapshot snapshot() {
+		long[] counts = new long[NUMBEROFBUCKETS];
+		long total = 0;
+		for (int i = 0; i < NUMBEROFBUCKETS; i++) {
+			counts[i] = buckets[i].sum();
+			total += counts[i];
+		}
+		double mean = (total == 0) ? 0 : (double) sum.sum() / total;
+		return new LatencySnapshot(total, mean / 1e3, percentile(counts, total, 0.50) / 1e3,
+				percentile(counts, total, 0.99) / 1e3, max.get() / 1e3);
+	}
+	
+	/**
+     * Estimates a percentile from bucket counts.
+     *
+     * @param counts   the count of every bucket.
+     * @param total    the sum of the counts.
+     * @param quantile the quantile, between 0 and 1.
+     * @return the estimated duration in nanoseconds.
+     */
+	private static double percentile(long[] counts, long total, double quantile) {
+		if (total == 0) return 0;
+		double rank = quantile * total;
+		long seen = 0;
+		for (int i = 0; i < NUMBEROFBUCKETS; i++) {
+			if (counts[i] == 0) continue;
+			if (seen + counts[i] >= rank) {
+				double low = (i == 0) ? 0 : Math.pow(2, i);
+				return low + (Math.pow(2, i + 1) - low) * (rank - seen) / counts[i];
+			}
+			seen += counts[i];
+		}
+		return Math.pow(2, NUMBEROFBUCKETS);
+	}
+	
+	/**
+     * Gets the number of durations recorded.
+     *
+     * @return the count.
+     */
+	public long getCount() {
+		return count.sum();
+	}
+	
+	/**
+     * Gets the sum of the durations recorded.
+     *
+     * @return the sum in nanoseconds.
+     */
+	public long getSum() {
+		return sum.sum();
+	}
+	
+	/**
+     * Forgets every duration recorded.
+     */
+	public void reset() {
+		for (LongAdder bucket : buckets) {
+			bucket.reset();
+		}
+		count.reset();
+		sum.reset();
+		max.reset();
+	}
+}
@@ -0,0 +1,85 @@
+package metrics;
+
+import java.beans.ConstructorProperties;
+
+/**
+ * Immutable summary of a {@link LatencyHistogram}, shown by JMX clients as composite data.
+ *
+ * @author Bedirhan Sakaoğlu
+ */
+public class LatencySnapshot {
+
+	private final long count;
+	private final double meanMicros;
+	private final double p50Micros;
+	private final double p99Micros;
+	private final double maxMicros;
+	
+	/**
+     * Constructs a snapshot.
+     *
+     * @param count      the number of durations recorded.
+     * @param meanMicros the mean duration in microseconds.
+     * @param p50Micros  the estimated median in microseconds.
+     * @param p99Micros  the estimated 99th percentile in microseconds.
+     * @param maxMicros  the longest duration in microseconds.
+     */
+	@ConstructorProperties({"count", "meanMicros", "p50Micros", "p99Micros", "maxMicros"})
+	public LatencySnapshot(long count, double meanMicros, double p50Micros, double p99Micros, double maxMicros) {
+		this.count = count;
+		this.meanMicros = meanMicros;
+		this.p50Micros = p50Micros;
+		this.p99Micros = p99Micros;
+		this.maxMicros = maxMicros;
+	}
+	
+	/**
+     * Gets the number of durations recorded.
+     *
+     * @return the count.
+     */
+	public long getCount() {
+		return count;
+	}
+	
+	/**
+     * Gets the mean duration.
+     *
+     * @return the mean in microseconds.
+     */
+	public double getMeanMicros() {
+		return meanMicros;
+	}
+	
+	/**
+     * Gets the estimated median duration.
+     *
+     * @return the median in microseconds.
+     */
+	public double getP50Micros() {
+		return p50Micros;
+	}
+	
+	/**
+     * Gets the estimated 99th percentile of the durations.
+     *
+     * @return the 99th percentile in microseconds.
+     */
+	public double getP99Micros() {
+		return p99Micros;
+	}
+	
+	/**
+     * Gets the longest duration.
+     *
+     * @return the maximum in microseconds.
+     */
+	public double getMaxMicros() {
+		return maxMicros;
+	}
+	
+	@Override
+	public String toString() {
+		return String.format("n=%d mean=%.1fus p50=%.1fus p99=%.1fus max=%.1fus", count, meanMicros, p50Micros, p99Micros, maxMicros);
+	}
+}
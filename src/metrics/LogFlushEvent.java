@@ -0,0 +1,25 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event of a game log entry written to its file.
+ *
+ * @author Bedirhan Sakaoğlu
+ */
+@Name("uno.LogFlush")
+@Label("Game Log Flush")
+@Category({"Uno", "IO"})
+@Description("A game log entry was written to its file")
+public class LogFlushEvent extends Event {
+	
+	@Label("Game Name")
+	public String gameName;
+	
+	@Label("Entry Id")
+	public int entryId;
+}
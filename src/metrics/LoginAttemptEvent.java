@@ -0,0 +1,29 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event of a login or registration attempt. The password is never recorded.
+ *
+ * @author Bedirhan Sakaoğlu
+ */
+@Name("uno.LoginAttempt")
+@Label("Login Attempt")
+@Category({"Uno", "Session"})
+@Description("A user tried to log in or register")
+public class LoginAttemptEvent extends Event {
+	
+	@Label("Username")
+	public String username;
+	
+	@Label("Register")
+	@Description("True for a registration, false for a login")
+	public boolean register;
+	
+	@Label("Successful")
+	public boolean successful;
+}
@@ -0,0 +1,38 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event of the discard pile being reshuffled into the draw pile.
+ *
+ * @author Bedirhan Sakaoğlu
+ */
+@Name("uno.Reshuffle")
+@Label("Reshuffle")
+@Category({"Uno", "Game"})
+@Description("The discard pile was reshuffled into the draw pile")
+public class ReshuffleEvent extends Event {
+	
+	/** Reshuffles are too rare to be compiled early, so the cold path asks this instance instead of allocating an event. */
+	private static final ReshuffleEvent PROBE = new ReshuffleEvent();
+	
+	@Label("Game Name")
+	public String gameName;
+	
+	@Label("Cards")
+	@Description("The size of the draw pile after the reshuffle")
+	public int cards;
+	
+	/**
+     * Checks whether reshuffles are recorded, without allocating.
+     *
+     * @return true if a recording with this event enabled is running.
+     */
+	public static boolean enabled() {
+		return PROBE.isEnabled();
+	}
+}
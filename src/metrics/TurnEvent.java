@@ -0,0 +1,35 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event of an AI turn, lasting from the choice of the move to the card being played or drawn.
+ *
+ * @author Bedirhan Sakaoğlu
+ */
+@Name("uno.Turn")
+@Label("Turn")
+@Category({"Uno", "Game"})
+@StackTrace(false)
+@Description("An AI player took a turn")
+public class TurnEvent extends Event {
+	
+	@Label("Game Name")
+	public String gameName;
+	
+	@Label("Seat")
+	@Description("The index of the player in the game order")
+	public int seat;
+	
+	@Label("AI Type")
+	public String aiType;
+	
+	@Label("Outcome")
+	@Description("The outcome of the turn, one of the constants of AiPlayer")
+	public int outcome;
+}
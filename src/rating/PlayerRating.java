@@ -0,0 +1,91 @@
+package rating;
+
+/**
+ * Immutable rating of a player at one point in time.
+ * <p>
+ * Besides the rating itself it holds the rating deviation, which shrinks as the player
+ * plays more games and the rating becomes more certain.
+ * </p>
+ *
+ * @author Bedirhan Sakaoğlu
+ */
+public final class PlayerRating {
+
+	private final String name;
+	private final double rating;
+	private final double deviation;
+	private final int games;
+	private final int wins;
+	
+	/**
+     * Constructs a new rating.
+     *
+     * @param name      the name of the player.
+     * @param rating    the rating.
+     * @param deviation the rating deviation.
+     * @param games     the number of games the rating is based on.
+     * @param wins      the number of those games the player won.
+     */
+	public PlayerRating(String name, double rating, double deviation, int games, int wins) {
+		this.name = name;
+		this.rating = rating;
+		this.deviation = deviation;
+		this.games = games;
+		this.wins = wins;
+	}
+	
+	/**
+     * Gets the name of the player.
+     *
+     * @return the player name.
+     */
+	public String getName() {
+		return name;
+	}
+	
+	/**
+     * Gets the rating of the player.
+     *
+     * @return the rating.
+     */
+	public double getRating() {
+		return rating;
+	}
+	
+	/**
+     * Gets the rating deviation of the player.
+     *
+     * @return the rating deviation.
+     */
+	public double getDeviation() {
+		return deviation;
+	}
+	
+	/**
+     * Gets the number of games the rating is based on.
+     *
+     * @return the number of games.
+     */
+	public int getGames() {
+		return games;
+	}
+	
+	/**
+     * Gets the number of games the player won.
+     *
+     * @return the number of wins.
+     */
+	public int getWins() {
+		return wins;
+	}
+	
+	/**
+     * Returns a string representation of the rating.
+     *
+     * @return the name, rating, deviation and number of games.
+     */
+	@Override
+	public String toString() {
+		return String.format("%s: %.1f +/-%.1f (%d games, %d wins)", name, rating, deviation, games, wins);
+	}
+}
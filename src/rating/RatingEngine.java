@@ -0,0 +1,291 @@
+package rating;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+import java.util.Scanner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import management.AiPlayer;
+import management.GameResultListener;
+import management.GameSession;
+import management.Player;
+import sim.GameResult;
+import uno.Card;
+
+/**
+ * Incremental Glicko rating engine for leagues of bots.
+ * <p>
+ * Every finished game updates the ratings of its players right away, treating the game as a rating
+ * period in which every player met the opponents it is compared with. Multiplayer games are either
+ * scored {@link ResultMode#PAIRWISE}, where only the winner is compared against each other player,
+ * or {@link ResultMode#RANKED}, where every pair of players is compared by finishing rank.
+ * </p>
+ * <p>
+ * The state of each player is guarded by one of a fixed set of striped locks, so many games can
+ * report at the same time and only contend when they share a player. Ratings are replaced as
+ * immutable {@link PlayerRating} objects, so reads never lock.
+ * </p>
+ * <p>
+ * Results come from {@link sim.BatchRunner} through {@link #recordResult(GameResult)}, or from GUI
+ * games by registering the engine as a {@link GameResultListener} on the session.
+ * </p>
+ *
+ * @author Bedirhan Sakaoğlu
+ */
+public class RatingEngine implements GameResultListener {
+
+	/** How the finishing order of a multiplayer game is turned into pairwise results. */
+	public enum ResultMode {
+		PAIRWISE, RANKED
+	}
+	
+	public static final double INITIALRATING = 1500;
+	public static final double INITIALDEVIATION = 350;
+	public static final double MINDEVIATION = 30;
+	public static final String HUMANNAME = "human";
+	
+	private static final double Q = Math.log(10) / 400;
+	private static final int STRIPES = 64;
+	
+	private final ConcurrentHashMap<String, PlayerRating> ratings = new ConcurrentHashMap<String, PlayerRating>();
+	private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+	private final ResultMode mode;
+	
+	/**
+     * Constructs an empty rating engine.
+     *
+     * @param mode how multiplayer results are scored.
+     */
+	public RatingEngine(ResultMode mode) {
+		this.mode = mode;
+		for (int i = 0; i < STRIPES; i++) {
+			locks[i] = new ReentrantLock();
+		}
+	}
+	
+	/**
+     * Records the result of a headless game, identifying players by their strategy name.
+     *
+     * @param result the result of the game.
+     */
+	public void recordResult(GameResult result) {
+		int players = result.getNumberOfPlayers();
+		String[] names = new String[players];
+		int[] ranks = new int[players];
+		for (int seat = 0; seat < players; seat++) {
+			names[seat] = result.getStrategyName(seat);
+			ranks[seat] = result.getRank(seat);
+		}
+		recordRanking(names, ranks, result.getWinnerSeat());
+	}
+	
+	/**
+     * Records a GUI game that was won, identifying bots by their strategy name and the human as {@link #HUMANNAME}.
+     * Players who did not win are ranked by the score of the cards left in their hands.
+     *
+     * @param gameSession the session that ended.
+     * @param winner      the player who won the game.
+     */
+	@Override
+	public void gameFinished(GameSession gameSession, Player winner) {
+		List<Player> players = gameSession.getPlayerList();
+		String[] names = new String[players.size()];
+		int[] penalties = new int[players.size()];
+		int winnerSeat = -1;
+		for (int seat = 0; seat < players.size(); seat++) {
+			Player player = players.get(seat);
+			names[seat] = (player instanceof AiPlayer) ? ((AiPlayer)player).getStrategy().getName() : HUMANNAME;
+			if (player == winner) winnerSeat = seat;
+			for (Card card : player.getDeck()) {
+				penalties[seat] += card.getScore();
+			}
+		}
+		recordRanking(names, new GameResult(gameSession.getSeed(), winnerSeat, 0, penalties, names).getRanks(), winnerSeat);
+	}
+	
+	/**
+     * Records a finished game given the finishing rank of every seat. A player may occupy several seats,
+     * in which case all of its seats are counted, but it is never compared against itself.
+     *
+     * @param names      the name of the player at every seat.
+     * @param ranks      the finishing rank of every seat, 0 being the best.
+     * @param winnerSeat the seat of the winner, or -1 if the game had none.
+     */
+	public void recordRanking(String[] names, int[] ranks, int winnerSeat) {
+		if (mode == ResultMode.PAIRWISE && winnerSeat == -1) return;
+		
+		String[] distinct = Arrays.stream(names).distinct().toArray(String[]::new);
+		int[] stripes = Arrays.stream(distinct).mapToInt(this::stripeOf).distinct().sorted().toArray();
+		for (int stripe : stripes) {
+			locks[stripe].lock();
+		}
+		try {
+			PlayerRating[] before = new PlayerRating[names.length];
+			for (int seat = 0; seat < names.length; seat++) {
+				before[seat] = getRating(names[seat]);
+			}
+			for (String name : distinct) {
+				update(name, names, ranks, winnerSeat, before);
+			}
+		} finally {
+			for (int i = stripes.length - 1; i >= 0; i--) {
+				locks[stripes[i]].unlock();
+			}
+		}
+	}
+	
+	/**
+     * Applies one Glicko rating period to a player, using the ratings from before the game.
+     *
+     * @param name       the player to update.
+     * @param names      the name of the player at every seat.
+     * @param ranks      the finishing rank of every seat.
+     * @param winnerSeat the seat of the winner, or -1.
+     * @param before     the rating of every seat before the game.
+     */
+	private void update(String name, String[] names, int[] ranks, int winnerSeat, PlayerRating[] before) {
+		PlayerRating current = getRating(name);
+		double inverseVariance = 0;
+		double improvement = 0;
+		boolean won = false;
+		
+		for (int seat = 0; seat < names.length; seat++) {
+			if (!names[seat].equals(name)) continue;
+			won |= seat == winnerSeat;
+			for (int other = 0; other < names.length; other++) {
+				if (names[other].equals(name)) continue;
+				if (mode == ResultMode.PAIRWISE && seat != winnerSeat && other != winnerSeat) continue;
+				
+				double score = (ranks[seat] < ranks[other]) ? 1 : (ranks[seat] > ranks[other]) ? 0 : 0.5;
+				double g = g(before[other].getDeviation());
+				double expected = 1 / (1 + Math.pow(10, -g * (current.getRating() - before[other].getRating()) / 400));
+				inverseVariance += Q * Q * g * g * expected * (1 - expected);
+				improvement += g * (score - expected);
+			}
+		}
+		if (inverseVariance == 0) return;
+		
+		double precision = 1 / (current.getDeviation() * current.getDeviation()) + inverseVariance;
+		double rating = current.getRating() + Q / precision * improvement;
+		double deviation = Math.max(MINDEVIATION, Math.sqrt(1 / precision));
+		ratings.put(name, new PlayerRating(name, rating, deviation, current.getGames() + 1, current.getWins() + ((won) ? 1 : 0)));
+	}
+	
+	/**
+     * Glicko's attenuation factor for an opponent's rating deviation.
+     *
+     * @param deviation the rating deviation of the opponent.
+     * @return the attenuation factor.
+     */
+	private static double g(double deviation) {
+		return 1 / Math.sqrt(1 + 3 * Q * Q * deviation * deviation / (Math.PI * Math.PI));
+	}
+	
+	/**
+     * Finds the lock stripe guarding a player.
+     *
+     * @param name the name of the player.
+     * @return the index of the stripe.
+     */
+	private int stripeOf(String name) {
+		int hash = name.hashCode();
+		return (hash ^ (hash >>> 16)) & (STRIPES - 1);
+	}
+	
+	/**
+     * Gets the current rating of a player.
+     *
+     * @param name the name of the player.
+     * @return the rating, or an initial rating if the player has not played yet.
+     */
+	public PlayerRating getRating(String name) {
+		PlayerRating rating = ratings.get(name);
+		return (rating != null) ? rating : new PlayerRating(name, INITIALRATING, INITIALDEVIATION, 0, 0);
+	}
+	
+	/**
+     * Gets the best rated players.
+     *
+     * @param n the number of players to return.
+     * @return up to {@code n} ratings, best first.
+     */
+	public List<PlayerRating> leaderboard(int n) {
+		Comparator<PlayerRating> byRating = Comparator.comparingDouble(PlayerRating::getRating);
+		PriorityQueue<PlayerRating> top = new PriorityQueue<PlayerRating>(Math.max(1, n), byRating);
+		for (PlayerRating rating : ratings.values()) {
+			top.add(rating);
+			if (top.size() > n) top.poll();
+		}
+		List<PlayerRating> board = new ArrayList<PlayerRating>(top);
+		Collections.sort(board, byRating.reversed());
+		return board;
+	}
+	
+	/**
+     * Gets the number of rated players.
+     *
+     * @return the number of players.
+     */
+	public int size() {
+		return ratings.size();
+	}
+	
+	/**
+     * Writes the ratings table to a file, one {@code name:rating:deviation:games:wins} line per player.
+     *
+     * @param filePath the path to the ratings file.
+     */
+	public void save(Path filePath) {
+		try (BufferedWriter writer = new BufferedWriter(new FileWriter(filePath.toString()))) {
+			for (PlayerRating rating : ratings.values()) {
+				writer.write(String.format(Locale.ROOT, "%s:%.2f:%.2f:%d:%d%n", rating.getName(), rating.getRating(),
+						rating.getDeviation(), rating.getGames(), rating.getWins()));
+			}
+		} catch (IOException e) {
+			System.out.println(e.getMessage());
+		}
+	}
+	
+	/**
+     * Reads a ratings table written by {@link #save(Path)}. A missing file gives an empty engine.
+     *
+     * @param filePath the path to the ratings file.
+     * @param mode     how multiplayer results are scored.
+     * @return the rating engine holding the ratings read.
+     */
+	public static RatingEngine load(Path filePath, ResultMode mode) {
+		RatingEngine engine = new RatingEngine(mode);
+		File file = new File(filePath.toString());
+		if (!file.isFile()) return engine;
+		try (Scanner input = new Scanner(file)) {
+			while (input.hasNextLine()) {
+				String line = input.nextLine();
+				int end = line.length();
+				String[] fields = new String[4];
+				for (int i = 3; i >= 0; i--) {
+					int separator = line.lastIndexOf(':', end - 1);
+					fields[i] = line.substring(separator + 1, end);
+					end = separator;
+				}
+				String name = line.substring(0, end);
+				engine.ratings.put(name, new PlayerRating(name, Double.parseDouble(fields[0]), Double.parseDouble(fields[1]),
+						Integer.parseInt(fields[2]), Integer.parseInt(fields[3])));
+			}
+		} catch (FileNotFoundException | NumberFormatException | StringIndexOutOfBoundsException e) {
+			System.out.println("Could not read ratings: " + e.getMessage());
+		}
+		return engine;
+	}
+}
@@ -0,0 +1,155 @@
+package sim;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import ai.AiStrategy;
+
+/**
+ * Plays batches of seeded headless games in parallel.
+ * <p>
+ * Game {@code i} of a batch is always played with the seed {@link #seedOf(long, int)}, so a batch
+ * run twice with the same base seed and lineup produces the same results in the same order,
+ * regardless of the number of threads.
+ * </p>
+ *
+ * @author Bedirhan Sakaoğlu
+ */
+public class BatchRunner implements AutoCloseable {
+
+	/**
+	 * Creates the strategies seated at the table of a game.
+	 */
+	public interface Lineup {
+		
+		/**
+	     * Creates fresh strategies for a game. Each game needs its own instances since strategies may hold state.
+	     *
+	     * @param gameIndex the index of the game in the batch.
+	     * @param seed      the seed of the game, which can be used to seed the strategies.
+	     * @return the strategies of the players, in seating order.
+	     */
+		AiStrategy[] create(int gameIndex, long seed);
+	}
+	
+	private final int threads;
+	private final ExecutorService executor;
+	private volatile Consumer<GameResult> resultListener;
+	
+	/**
+     * Constructs a batch runner using one thread per available processor.
+     */
+	public BatchRunner() {
+		this(Runtime.getRuntime().availableProcessors());
+	}
+	
+	/**
+     * Constructs a batch runner using the given number of threads.
+     *
+     * @param threads the number of games played at once.
+     */
+	public BatchRunner(int threads) {
+		this.threads = Math.max(1, threads);
+		this.executor = Executors.newFixedThreadPool(this.threads, runnable -> {
+			Thread thread = new Thread(runnable, "BatchRunner");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+	
+	/**
+     * Gets the seed of a game in a batch.
+     *
+     * @param baseSeed  the base seed of the batch.
+     * @param gameIndex the index of the game.
+     * @return the seed of the game.
+     */
+	public static long seedOf(long baseSeed, int gameIndex) {
+		long z = baseSeed + (gameIndex + 1) * 0x9E3779B97F4A7C15L;
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+	
+	/**
+     * Plays a batch of games.
+     *
+     * @param games    the number of games to play.
+     * @param baseSeed the base seed of the batch.
+     * @param lineup   the lineup creating the strategies of each game.
+     * @return the results of the games, by game index.
+     */
+	public GameResult[] run(int games, long baseSeed, Lineup lineup) {
+		long[] seeds = new long[games];
+		for (int i = 0; i < games; i++) {
+			seeds[i] = seedOf(baseSeed, i);
+		}
+		return run(seeds, lineup);
+	}
+	
+	/**
+     * Plays a batch of games with explicit seeds. Games may share a seed, which deals them identically.
+     *
+     * @param seeds  the seed of every game, by game index.
+     * @param lineup the lineup creating the strategies of each game.
+     * @return the results of the games, by game index.
+     */
+	public GameResult[] run(long[] seeds, Lineup lineup) {
+		int games = seeds.length;
+		GameResult[] results = new GameResult[games];
+		List<Future<?>> futures = new ArrayList<Future<?>>();
+		for (int t = 0; t < threads; t++) {
+			int first = t;
+			futures.add(executor.submit(() -> {
+				for (int i = first; i < games; i += threads) {
+					results[i] = new HeadlessGame(seeds[i], lineup.create(i, seeds[i])).play();
+					Consumer<GameResult> listener = resultListener;
+					if (listener != null) listener.accept(results[i]);
+				}
+			}));
+		}
+		for (Future<?> future : futures) {
+			try {
+				future.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Interrupted while playing a batch", e);
+			} catch (ExecutionException e) {
+				throw new IllegalStateException("A game of the batch failed", e.getCause());
+			}
+		}
+		return results;
+	}
+	
+	/**
+     * Sets a listener that receives every result as soon as its game ends. The listener is called
+     * from the runner's threads, concurrently for games that end at the same time.
+     *
+     * @param resultListener the listener, or null to remove it.
+     */
+	public void setResultListener(Consumer<GameResult> resultListener) {
+		this.resultListener = resultListener;
+	}
+	
+	/**
+     * Gets the number of games played at once.
+     *
+     * @return the number of threads.
+     */
+	public int getThreads() {
+		return threads;
+	}
+
+	/**
+     * Stops the threads of the runner.
+     */
+	@Override
+	public void close() {
+		executor.shutdownNow();
+	}
+}
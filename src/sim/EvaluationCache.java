@@ -0,0 +1,223 @@
+package sim;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded cache of move evaluations, keyed by the hash of a position and a move.
+ * <p>
+ * Every entry holds the wins and rollouts gathered for a move, so the analysis of a position that
+ * was seen before starts from the rollouts already played instead of from scratch. When the cache
+ * is full the least recently used entry is evicted.
+ * </p>
+ * <p>
+ * The cache can be written to a compact binary file and read back, so that it survives restarts.
+ * Hit, miss and eviction counters are kept to help sizing it.
+ * </p>
+ *
+ * @author Bedirhan Sakaoğlu
+ */
+public class EvaluationCache {
+
+	public static final int DEFAULTCAPACITY = 100000;
+	
+	private static final int MAGIC = 0x554E4F43; // "UNOC"
+	private static final int VERSION = 2;
+	
+	/**
+	 * Wins and rollouts gathered for one move.
+	 */
+	private static class Entry {
+		
+		private int wins;
+		private int rollouts;
+	}
+	
+	private final int capacity;
+	private final LinkedHashMap<Long, Entry> entries;
+	private long hits;
+	private long misses;
+	private long evictions;
+	
+	/**
+     * Constructs an empty cache.
+     *
+     * @param capacity the maximum number of entries.
+     */
+	public EvaluationCache(int capacity) {
+		this.capacity = Math.max(1, capacity);
+		this.entries = new LinkedHashMap<Long, Entry>(16, 0.75f, true) {
+			
+			private static final long serialVersionUID = -1398514406394432166L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+				if (size() <= EvaluationCache.this.capacity) return false;
+				evictions++;
+				return true;
+			}
+		};
+	}
+	
+	/**
+     * Computes the cache key of a move in a position.
+     *
+     * @param positionHash the hash of the position, see {@link Position#hash()}.
+     * @param cardKind     the kind of the card played.
+     * @param colorOrdinal the ordinal of the color chosen for a wild card, or -1.
+     * @return the cache key.
+     */
+	public static long keyOf(long positionHash, int cardKind, int colorOrdinal) {
+		return Position.mix(positionHash ^ ((long) cardKind << 8 | (colorOrdinal + 1)));
+	}
+	
+	/**
+     * Looks up the evaluation of a move.
+     *
+     * @param key the key of the move.
+     * @return the wins and rollouts as {@code {wins, rollouts}}, or null on a miss.
+     */
+	public synchronized int[] get(long key) {
+		Entry entry = entries.get(key);
+		if (entry == null) {
+			misses++;
+			return null;
+		}
+		hits++;
+		return new int[] {entry.wins, entry.rollouts};
+	}
+	
+	/**
+     * Stores the evaluation of a move, replacing what was cached before.
+     *
+     * @param key      the key of the move.
+     * @param wins     the number of rollouts won.
+     * @param rollouts the number of rollouts played.
+     */
+	public synchronized void put(long key, int wins, int rollouts) {
+		Entry entry = entries.get(key);
+		if (entry == null) {
+			entry = new Entry();
+			entries.put(key, entry);
+		}
+		entry.wins = wins;
+		entry.rollouts = rollouts;
+	}
+	
+	/**
+     * Writes every entry to a file, least recently used first, so that reading it back keeps the order.
+     *
+     * @param filePath the path to the cache file.
+     */
+	public synchronized void save(Path filePath) {
+		try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(filePath.toString())))) {
+			output.writeInt(MAGIC);
+			output.writeInt(VERSION);
+			output.writeInt(entries.size());
+			for (Map.Entry<Long, Entry> entry : entries.entrySet()) {
+				output.writeLong(entry.getKey());
+				output.writeInt(entry.getValue().wins);
+				output.writeInt(entry.getValue().rollouts);
+			}
+		} catch (IOException e) {
+			System.out.println(e.getMessage());
+		}
+	}
+	
+	/**
+     * Reads a cache file written by {@link #save(Path)}. A missing or unreadable file gives an empty cache.
+     *
+     * @param filePath the path to the cache file.
+     * @param capacity the maximum number of entries.
+     * @return the cache holding the entries read.
+     */
+	public static EvaluationCache load(Path filePath, int capacity) {
+		EvaluationCache cache = new EvaluationCache(capacity);
+		File file = new File(filePath.toString());
+		if (!file.isFile()) return cache;
+		try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if (input.readInt() != MAGIC || input.readInt() != VERSION) return cache;
+			int size = input.readInt();
+			for (int i = 0; i < size; i++) {
+				cache.put(input.readLong(), input.readInt(), input.readInt());
+			}
+			cache.evictions = 0;
+		} catch (IOException e) {
+			System.out.println("Could not read evaluation cache: " + e.getMessage());
+		}
+		return cache;
+	}
+	
+	/**
+     * Saves the cache to a file when the JVM shuts down.
+     *
+     * @param filePath the path to the cache file.
+     */
+	public void saveOnShutdown(Path filePath) {
+		Runtime.getRuntime().addShutdownHook(new Thread(() -> save(filePath), "EvaluationCacheSaver"));
+	}
+	
+	/**
+     * Gets the number of lookups that found an entry.
+     *
+     * @return the number of hits.
+     */
+	public synchronized long getHits() {
+		return hits;
+	}
+	
+	/**
+     * Gets the number of lookups that found no entry.
+     *
+     * @return the number of misses.
+     */
+	public synchronized long getMisses() {
+		return misses;
+	}
+	
+	/**
+     * Gets the number of entries evicted to make room for new ones.
+     *
+     * @return the number of evictions.
+     */
+	public synchronized long getEvictions() {
+		return evictions;
+	}
+	
+	/**
+     * Gets the number of entries in the cache.
+     *
+     * @return the size of the cache.
+     */
+	public synchronized int size() {
+		return entries.size();
+	}
+	
+	/**
+     * Gets the maximum number of entries.
+     *
+     * @return the capacity of the cache.
+     */
+	public int getCapacity() {
+		return capacity;
+	}
+	
+	/**
+     * Returns a string representation of the cache counters.
+     *
+     * @return the size, capacity, hits, misses and evictions of the cache.
+     */
+	@Override
+	public synchronized String toString() {
+		return String.format("EvaluationCache(%d/%d entries, %d hits, %d misses, %d evictions)", entries.size(), capacity, hits, misses, evictions);
+	}
+}
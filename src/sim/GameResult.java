@@ -0,0 +1,130 @@
+package sim;
+
+/**
+ * Outcome of a finished headless game.
+ * <p>
+ * Holds the winning seat, the number of turns played and the penalty score left in every hand,
+ * which is the sum of the scores of the cards a player still holds when the game ends.
+ * </p>
+ *
+ * @author Bedirhan Sakaoğlu
+ */
+public class GameResult {
+
+	private final long seed;
+	private final int winnerSeat;
+	private final int turns;
+	private final int[] penalties;
+	private final String[] strategyNames;
+	
+	/**
+     * Constructs a new game result.
+     *
+     * @param seed          the seed the game was played with.
+     * @param winnerSeat    the seat of the winner, or -1 if the game was stopped without a winner.
+     * @param turns         the number of turns played.
+     * @param penalties     the penalty score left in every hand, by seat.
+     * @param strategyNames the name of the strategy of every seat.
+     */
+	public GameResult(long seed, int winnerSeat, int turns, int[] penalties, String[] strategyNames) {
+		this.seed = seed;
+		this.winnerSeat = winnerSeat;
+		this.turns = turns;
+		this.penalties = penalties;
+		this.strategyNames = strategyNames;
+	}
+	
+	/**
+     * Gets the seed the game was played with.
+     *
+     * @return the seed of the game.
+     */
+	public long getSeed() {
+		return seed;
+	}
+	
+	/**
+     * Gets the seat of the winner.
+     *
+     * @return the winning seat, or -1 if there is no winner.
+     */
+	public int getWinnerSeat() {
+		return winnerSeat;
+	}
+	
+	/**
+     * Checks if the game ended with a winner.
+     *
+     * @return true if a player went out, otherwise false.
+     */
+	public boolean hasWinner() {
+		return winnerSeat != -1;
+	}
+	
+	/**
+     * Gets the number of turns played.
+     *
+     * @return the number of turns.
+     */
+	public int getTurns() {
+		return turns;
+	}
+	
+	/**
+     * Gets the number of seats in the game.
+     *
+     * @return the number of players.
+     */
+	public int getNumberOfPlayers() {
+		return penalties.length;
+	}
+	
+	/**
+     * Gets the penalty score left in the hand of a seat.
+     *
+     * @param seat the seat to look up.
+     * @return the sum of the scores of the cards left in that hand.
+     */
+	public int getPenalty(int seat) {
+		return penalties[seat];
+	}
+	
+	/**
+     * Gets the finishing rank of a seat. The winner is ranked 0 and the others are ranked by their
+     * penalty score, lowest first; equal penalties share a rank.
+     *
+     * @param seat the seat to look up.
+     * @return the rank of the seat, starting from 0.
+     */
+	public int getRank(int seat) {
+		int rank = 0;
+		for (int other = 0; other < penalties.length; other++) {
+			if (other == seat) continue;
+			if (other == winnerSeat || (seat != winnerSeat && penalties[other] < penalties[seat])) rank++;
+		}
+		return rank;
+	}
+	
+	/**
+     * Gets the finishing rank of every seat.
+     *
+     * @return the ranks, by seat.
+     */
+	public int[] getRanks() {
+		int[] ranks = new int[penalties.length];
+		for (int seat = 0; seat < ranks.length; seat++) {
+			ranks[seat] = getRank(seat);
+		}
+		return ranks;
+	}
+	
+	/**
+     * Gets the name of the strategy that played a seat.
+     *
+     * @param seat the seat to look up.
+     * @return the strategy name.
+     */
+	public String getStrategyName(int seat) {
+		return strategyNames[seat];
+	}
+}
@@ -0,0 +1,340 @@
+package sim;
+
+import java.util.List;
+import java.util.function.LongConsumer;
+
+import ai.AiStrategy;
+import management.AiPlayer;
+import management.GameSession;
+import management.Player;
+import management.RuleTable;
+import management.TurnCursor;
+import uno.Card;
+import uno.EColor;
+import uno.WildCard;
+
+/**
+ * A game of Uno played to the end by AI players only, without any GUI or logging.
+ * <p>
+ * Every shuffle of the game is driven by the seed of its {@link GameSession}, so a game played
+ * twice with the same seed and equally seeded strategies has the same outcome.
+ * </p>
+ * <p>
+ * The rules are those of the session, shared with the GUI game loop: {@link GameSession#passTurn(Card)} applies
+ * the card played, {@link GameSession#mustDrawPenalty(Player)} decides when a Draw Two or Wild Draw Four costs the
+ * next player the turn and {@link GameSession#mustPass(Player, int)} when a player who drew has to pass. Without
+ * house rules a player who cannot play draws until a card fits, a Skip skips the next player, a Reverse changes
+ * the direction of play (acting as a Skip with two players) and a draw card makes the next player draw and lose
+ * their turn. Whose turn it is and the direction of play are kept by the {@link TurnCursor} of the session, so
+ * the strategies see the same next player as the game does.
+ * </p>
+ *
+ * @author Bedirhan Sakaoğlu
+ */
+public class HeadlessGame {
+
+	/** Number of turns after which a game is stopped without a winner. */
+	public static final int MAXTURNS = 5000;
+	
+	/** Phase of a turn in which the player plays a card or draws one, see {@link PhaseListener}. */
+	public static final int PHASE_PLAYTURN = 0;
+	/** Phase of a turn in which the discard pile is reshuffled. */
+	public static final int PHASE_RESHUFFLE = 1;
+	/** Phase of a turn in which the player draws the penalty of a draw card instead of playing. */
+	public static final int PHASE_FORCEDDRAW = 2;
+	/** Phase of a turn in which the effect of the card played is applied. */
+	public static final int PHASE_EFFECT = 3;
+	/** Names of the phases, indexed by phase. */
+	public static final String[] PHASENAMES = {"playTurn", "reshuffle", "forcedDraw", "effect"};
+	
+	/**
+	 * Listener told when a phase of a turn starts and ends, for example to measure it.
+	 * Phases may be nested, a reshuffle can be part of a forced draw.
+	 */
+	public interface PhaseListener {
+		
+		/**
+	     * Called when a phase starts.
+	     *
+	     * @param phase the phase, one of the PHASE constants.
+	     */
+		void phaseStarted(int phase);
+		
+		/**
+	     * Called when a phase ends.
+	     *
+	     * @param phase the phase, one of the PHASE constants.
+	     */
+		void phaseEnded(int phase);
+	}
+	
+	private final GameSession gameSession;
+	private final String[] strategyNames;
+	private final TurnCursor cursor;
+	private int turns;
+	private LongConsumer turnTimer;
+	private PhaseListener phaseListener;
+	
+	/**
+     * Constructs a new headless game and deals the cards.
+     *
+     * @param seed       the seed of the game session.
+     * @param strategies the strategies of the players, in seating order.
+     */
+	public HeadlessGame(long seed, AiStrategy[] strategies) {
+		this(seed, strategies, RuleTable.STANDARD);
+	}
+	
+	/**
+     * Constructs a new headless game played with house rules and deals the cards.
+     *
+     * @param seed       the seed of the game session.
+     * @param strategies the strategies of the players, in seating order.
+     * @param rules      the rules of the game.
+     */
+	public HeadlessGame(long seed, AiStrategy[] strategies, RuleTable rules) {
+		gameSession = new GameSession("headless-" + seed, seed);
+		gameSession.setLoggingEnabled(false);
+		gameSession.setRules(rules);
+		gameSession.initializeGame(strategies);
+		cursor = gameSession.getTurnCursor();
+		strategyNames = new String[strategies.length];
+		for (int i = 0; i < strategies.length; i++) {
+			strategyNames[i] = strategies[i].getName();
+		}
+	}
+	
+	/**
+     * Wraps a headless session that has already been set up, for example a determinized {@link Position}.
+     *
+     * @param gameSession the session to play out, seated with AI players only.
+     */
+	public HeadlessGame(GameSession gameSession) {
+		this.gameSession = gameSession;
+		this.cursor = gameSession.getTurnCursor();
+		List<Player> seats = gameSession.getPlayerListGameOrder();
+		strategyNames = new String[seats.size()];
+		for (int i = 0; i < seats.size(); i++) {
+			strategyNames[i] = ((AiPlayer) seats.get(i)).getStrategy().getName();
+		}
+	}
+	
+	/**
+     * Plays the game until a player goes out or {@link #MAXTURNS} turns have been played.
+     *
+     * @return the result of the game.
+     */
+	public GameResult play() {
+		cursor.setCurrentSeat(0);
+		return playOut();
+	}
+	
+	/**
+     * Plays a given card for a seat and then plays the game out.
+     *
+     * @param seat  the seat whose turn it is.
+     * @param card  the card to play, which has to be in the hand of that seat.
+     * @param color the color to set if the card is a wild card.
+     * @return the result of the game.
+     */
+	public GameResult playAfterMove(int seat, Card card, EColor color) {
+		AiPlayer player = (AiPlayer) gameSession.getPlayerListGameOrder().get(seat);
+		if (card instanceof WildCard) ((WildCard)card).setColorEnum(color);
+		player.playCard(card);
+		turns++;
+		if (player.getDeck().isEmpty()) return result(seat);
+		
+		cursor.setCurrentSeat(seat);
+		if (jumpIn(card)) return result(cursor.getCurrentSeat());
+		applyEffect(gameSession.getCardTopDeck());
+		return playOut();
+	}
+	
+	/**
+     * Plays turns from the current seat until a player goes out or {@link #MAXTURNS} turns have been played.
+     * A turn lost to drawing a penalty is not counted. If a turn fails, the flight recorder of the session is dumped before the exception is passed on.
+     *
+     * @return the result of the game.
+     */
+	private GameResult playOut() {
+		try {
+			while (turns < MAXTURNS) {
+				long start = (turnTimer == null) ? 0 : System.nanoTime();
+				AiPlayer player = (AiPlayer) cursor.current();
+				if (gameSession.mustDrawPenalty(player)) {
+					forceDraw(player, gameSession.getPenalty());
+					gameSession.clearPenalty();
+					cursor.next();
+					if (turnTimer != null) turnTimer.accept(System.nanoTime() - start);
+					continue;
+				}
+				int outcome = playTurn(player);
+				turns++;
+				if (player.getDeck().isEmpty()) {
+					if (turnTimer != null) turnTimer.accept(System.nanoTime() - start);
+					return result(cursor.getCurrentSeat());
+				}
+				
+				if (outcome == AiPlayer.NO_ACTION || outcome == AiPlayer.DREW_CARD) {
+					cursor.next();
+				} else {
+					if (jumpIn(gameSession.getCardTopDeck())) {
+						if (turnTimer != null) turnTimer.accept(System.nanoTime() - start);
+						return result(cursor.getCurrentSeat());
+					}
+					if (phaseListener != null) phaseListener.phaseStarted(PHASE_EFFECT);
+					applyEffect(gameSession.getCardTopDeck());
+					if (phaseListener != null) phaseListener.phaseEnded(PHASE_EFFECT);
+				}
+				if (turnTimer != null) turnTimer.accept(System.nanoTime() - start);
+			}
+			return result(-1);
+		} catch (RuntimeException e) {
+			gameSession.getRecorder().dump(e);
+			throw e;
+		}
+	}
+	
+	/**
+     * Applies the effect of the card just played by the current seat and moves on to the next seat,
+     * see {@link GameSession#passTurn(Card)}.
+     *
+     * @param cardPlayed the card that was played.
+     */
+	private void applyEffect(Card cardPlayed) {
+		gameSession.passTurn(cardPlayed);
+	}
+	
+	/**
+     * Lets the other players jump in on a card, see {@link GameSession#jumpIn(Card)}.
+     *
+     * @param cardPlayed the card that was played.
+     * @return true if a player went out by jumping in, in which case the turn is with that player.
+     */
+	private boolean jumpIn(Card cardPlayed) {
+		Player jumper = gameSession.jumpIn(cardPlayed);
+		return jumper != null && jumper.getDeck().isEmpty();
+	}
+	
+	/**
+     * Lets a player play a card, drawing until one fits or the draw limit of the rules is reached.
+     *
+     * @param player the player whose turn it is.
+     * @return the outcome of the turn, {@link AiPlayer#NO_ACTION} if the player could neither play nor draw,
+     *         {@link AiPlayer#DREW_CARD} if the player drew as many cards as allowed and still cannot play.
+     */
+	private int playTurn(AiPlayer player) {
+		int draws = 0;
+		while (true) {
+			if (phaseListener != null) phaseListener.phaseStarted(PHASE_PLAYTURN);
+			int outcome = player.playTurn();
+			if (phaseListener != null) phaseListener.phaseEnded(PHASE_PLAYTURN);
+			if (outcome == AiPlayer.NO_ACTION) {
+				reshuffle(GameSession.MINDRAWPILE);
+				if (gameSession.getDrawPile().isEmpty()) return AiPlayer.NO_ACTION;
+			} else if (outcome != AiPlayer.DREW_CARD) {
+				return outcome;
+			} else if (gameSession.mustPass(player, ++draws)) {
+				return AiPlayer.DREW_CARD;
+			}
+		}
+	}
+	
+	/**
+     * Makes a player draw cards, reshuffling the discard pile first if needed. If there are fewer cards left than
+     * the player has to draw, the player draws all there are.
+     *
+     * @param player the player who has to draw.
+     * @param num    the number of cards to draw.
+     */
+	private void forceDraw(AiPlayer player, int num) {
+		if (phaseListener != null) phaseListener.phaseStarted(PHASE_FORCEDDRAW);
+		if (player.forcedDrawCard(num) == AiPlayer.NO_ACTION) {
+			reshuffle(num);
+			int available = Math.min(num, gameSession.getDrawPile().size());
+			if (available > 0) player.forcedDrawCard(available);
+		}
+		if (phaseListener != null) phaseListener.phaseEnded(PHASE_FORCEDDRAW);
+	}
+	
+	/**
+     * Reshuffles the discard pile into the draw pile if the draw pile holds too few cards.
+     *
+     * @param needed the number of cards the draw pile has to hold.
+     */
+	private void reshuffle(int needed) {
+		if (phaseListener != null) phaseListener.phaseStarted(PHASE_RESHUFFLE);
+		gameSession.reshuffleDiscardPile(needed);
+		if (phaseListener != null) phaseListener.phaseEnded(PHASE_RESHUFFLE);
+	}
+	
+	/**
+     * Builds the result of the game.
+     *
+     * @param winnerSeat the seat of the winner, or -1.
+     * @return the result of the game.
+     */
+	private GameResult result(int winnerSeat) {
+		List<Player> seats = gameSession.getPlayerListGameOrder();
+		gameSession.finishGame((winnerSeat == -1) ? null : seats.get(winnerSeat));
+		int[] penalties = new int[seats.size()];
+		for (int seat = 0; seat < seats.size(); seat++) {
+			for (Card card : seats.get(seat).getDeck()) {
+				penalties[seat] += card.getScore();
+			}
+		}
+		return new GameResult(gameSession.getSeed(), winnerSeat, turns, penalties, strategyNames.clone());
+	}
+	
+	/**
+     * Hashes the state of the game: the hands, regardless of the order of their cards, both piles,
+     * the current color and the number of turns played. Two games that were played alike have the same hash.
+     *
+     * @return the hash of the state.
+     */
+	public long stateHash() {
+		long hash = Position.mix(turns);
+		for (Player player : gameSession.getPlayerListGameOrder()) {
+			long handHash = 0;
+			for (Card card : player.getDeck()) {
+				handHash += Position.mix(card.getKind());
+			}
+			hash = Position.mix(hash ^ handHash);
+		}
+		for (Card card : gameSession.getDrawPile()) {
+			hash = Position.mix(hash ^ card.getKind());
+		}
+		for (Card card : gameSession.getDiscardPile()) {
+			hash = Position.mix(hash ^ card.getKind());
+		}
+		EColor color = gameSession.getCurrentColor();
+		return Position.mix(hash ^ ((color == null) ? -1 : color.ordinal()));
+	}
+	
+	/**
+     * Sets a listener that is told how many nanoseconds every turn took, including cards drawn before playing.
+     *
+     * @param turnTimer the listener, or null to stop timing turns.
+     */
+	public void setTurnTimer(LongConsumer turnTimer) {
+		this.turnTimer = turnTimer;
+	}
+	
+	/**
+     * Sets a listener that is told when the phases of every turn start and end.
+     *
+     * @param phaseListener the listener, or null to stop listening.
+     */
+	public void setPhaseListener(PhaseListener phaseListener) {
+		this.phaseListener = phaseListener;
+	}
+	
+	/**
+     * Gets the game session the game is played in.
+     *
+     * @return the game session.
+     */
+	public GameSession getGameSession() {
+		return gameSession;
+	}
+}
@@ -0,0 +1,52 @@
+package sim;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Random;
+
+import ai.AiStrategy;
+import ai.Strategies;
+import rating.PlayerRating;
+import rating.RatingEngine;
+import rating.RatingEngine.ResultMode;
+
+/**
+ * Plays a league of random tables between all built-in strategies and rates them as results stream in.
+ * <p>
+ * The ratings table is read before the league starts and written after it ends, so consecutive
+ * leagues keep refining the same ratings.
+ * </p>
+ * <p>
+ * Usage: {@code League [games] [tableSize] [ratingsFile] [topN]}
+ * </p>
+ *
+ * @author Bedirhan Sakaoğlu
+ */
+public class League {
+
+	public static void main(String[] args) {
+		int games = (args.length > 0) ? Integer.parseInt(args[0]) : 100000;
+		int tableSize = (args.length > 1) ? Integer.parseInt(args[1]) : 4;
+		Path ratingsPath = Paths.get((args.length > 2) ? args[2] : "Data/ratings.txt");
+		int topN = (args.length > 3) ? Integer.parseInt(args[3]) : 10;
+		
+		String[] names = Strategies.names();
+		RatingEngine engine = RatingEngine.load(ratingsPath, ResultMode.RANKED);
+		try (BatchRunner runner = new BatchRunner()) {
+			runner.setResultListener(engine::recordResult);
+			runner.run(games, System.nanoTime(), (gameIndex, seed) -> {
+				Random random = new Random(seed);
+				AiStrategy[] strategies = new AiStrategy[tableSize];
+				for (int seat = 0; seat < tableSize; seat++) {
+					strategies[seat] = Strategies.forName(names[random.nextInt(names.length)], seed + seat);
+				}
+				return strategies;
+			});
+		}
+		engine.save(ratingsPath);
+		
+		for (PlayerRating rating : engine.leaderboard(topN)) {
+			System.out.println(rating);
+		}
+	}
+}
@@ -0,0 +1,251 @@
+package sim;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import ai.AiStrategy;
+import ai.WeightedStrategy;
+import management.GameSession;
+import uno.Card;
+import uno.EColor;
+import uno.WildCard;
+
+/**
+ * Estimates the win probability of every legal move of a player by playing out random rollouts.
+ * <p>
+ * Each move, and each color choice of a wild card, is played out from many determinizations of the
+ * position until the latency budget runs out. The rollouts are spread over a small pool of worker
+ * threads and stop as soon as the analysis is cancelled, for example because the player has already
+ * made a move.
+ * </p>
+ * <p>
+ * If an {@link EvaluationCache} is given, moves of positions that were analysed before start from the
+ * cached rollouts, and moves with at least {@link #SATURATEDROLLOUTS} cached rollouts are not played out again.
+ * </p>
+ *
+ * @author Bedirhan Sakaoğlu
+ */
+public class MoveAnalyzer implements AutoCloseable {
+
+	public static final long DEFAULTBUDGETMILLIS = 150;
+	public static final int SATURATEDROLLOUTS = 2000;
+	
+	private static final EColor[] COLORS = {EColor.RED, EColor.GREEN, EColor.BLUE, EColor.YELLOW};
+	
+	/**
+	 * Win probability estimate of one move.
+	 */
+	public static class Estimate {
+		
+		private final int handIndex;
+		private final Card card;
+		private final EColor color;
+		private long cacheKey;
+		private final AtomicInteger wins = new AtomicInteger();
+		private final AtomicInteger rollouts = new AtomicInteger();
+		
+		/**
+	     * Constructs an empty estimate.
+	     *
+	     * @param handIndex the index of the card in the hand of the player.
+	     * @param card      the card of the real game the move plays.
+	     * @param color     the color chosen for a wild card, or null.
+	     */
+		private Estimate(int handIndex, Card card, EColor color) {
+			this.handIndex = handIndex;
+			this.card = card;
+			this.color = color;
+		}
+		
+		/**
+	     * Gets the card the move plays.
+	     *
+	     * @return the card of the real game.
+	     */
+		public Card getCard() {
+			return card;
+		}
+		
+		/**
+	     * Gets the color chosen for a wild card.
+	     *
+	     * @return the color, or null if the card is not a wild card.
+	     */
+		public EColor getColor() {
+			return color;
+		}
+		
+		/**
+	     * Gets the number of rollouts played for the move.
+	     *
+	     * @return the number of rollouts.
+	     */
+		public int getRollouts() {
+			return rollouts.get();
+		}
+		
+		/**
+	     * Gets the estimated win probability of the move.
+	     *
+	     * @return the share of rollouts won, or 0 if none were played.
+	     */
+		public double getWinProbability() {
+			int played = rollouts.get();
+			return (played == 0) ? 0 : (double) wins.get() / played;
+		}
+	}
+	
+	/**
+	 * One running analysis, which can be cancelled independently of the analyses that follow it.
+	 */
+	private class Analysis {
+		
+		private volatile boolean cancelled;
+		private final AtomicInteger remainingWorkers = new AtomicInteger(threads);
+		private final AtomicInteger nextMove = new AtomicInteger();
+	}
+	
+	private final int threads;
+	private final ExecutorService executor;
+	private final double[] weights = WeightedStrategy.defaultWeights();
+	private final EvaluationCache cache;
+	private Analysis current;
+	
+	/**
+     * Constructs an analyzer with one worker per available processor, keeping one processor free for the GUI.
+     */
+	public MoveAnalyzer() {
+		this(Math.max(1, Runtime.getRuntime().availableProcessors() - 1), null);
+	}
+	
+	/**
+     * Constructs an analyzer with the given number of worker threads.
+     *
+     * @param threads the number of rollouts played at once.
+     * @param cache   the cache of earlier evaluations, or null to always start from scratch.
+     */
+	public MoveAnalyzer(int threads, EvaluationCache cache) {
+		this.threads = Math.max(1, threads);
+		this.cache = cache;
+		this.executor = Executors.newFixedThreadPool(this.threads, runnable -> {
+			Thread thread = new Thread(runnable, "MoveAnalyzer");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+	
+	/**
+     * Starts analysing a position, cancelling any analysis still running.
+     * The call returns immediately; the estimates are handed to {@code onFinished} on a worker thread
+     * once the budget has run out, unless the analysis is cancelled first.
+     *
+     * @param position     the position to analyse, taken on the thread that owns the game.
+     * @param realHand     the hand of the real game the position was taken from, in the same order.
+     * @param budgetMillis the time the analysis may take.
+     * @param onFinished   receives the estimates of all legal moves.
+     */
+	public synchronized void analyze(Position position, List<Card> realHand, long budgetMillis, Consumer<List<Estimate>> onFinished) {
+		cancel();
+		Analysis analysis = new Analysis();
+		current = analysis;
+		long deadline = System.nanoTime() + budgetMillis * 1_000_000;
+		
+		GameSession probe = position.determinize(strategies(position), new Random());
+		List<Card> hand = position.getPerspectiveHand();
+		List<Estimate> estimates = new ArrayList<Estimate>();
+		for (int i = 0; i < hand.size(); i++) {
+			if (!probe.cardIsPlayable(hand.get(i))) continue;
+			if (hand.get(i) instanceof WildCard) {
+				for (EColor color : COLORS) {
+					estimates.add(new Estimate(i, realHand.get(i), color));
+				}
+			} else {
+				estimates.add(new Estimate(i, realHand.get(i), null));
+			}
+		}
+		
+		List<Estimate> open = new ArrayList<Estimate>();
+		long positionHash = position.hash();
+		for (Estimate estimate : estimates) {
+			Card card = hand.get(estimate.handIndex);
+			estimate.cacheKey = EvaluationCache.keyOf(positionHash, card.getKind(), (estimate.color == null) ? -1 : estimate.color.ordinal());
+			int[] cached = (cache == null) ? null : cache.get(estimate.cacheKey);
+			if (cached != null) {
+				estimate.wins.set(cached[0]);
+				estimate.rollouts.set(cached[1]);
+			}
+			if (estimate.rollouts.get() < SATURATEDROLLOUTS) open.add(estimate);
+		}
+		if (open.isEmpty()) {
+			onFinished.accept(estimates);
+			return;
+		}
+		
+		for (int t = 0; t < threads; t++) {
+			long seed = System.nanoTime() + t;
+			executor.execute(() -> {
+				Random random = new Random(seed);
+				while (!analysis.cancelled && System.nanoTime() < deadline) {
+					Estimate estimate = open.get(Math.floorMod(analysis.nextMove.getAndIncrement(), open.size()));
+					GameSession session = position.determinize(strategies(position), random);
+					Card card = session.getPlayerListGameOrder().get(position.getPerspectiveSeat()).getDeck().get(estimate.handIndex);
+					GameResult result = new HeadlessGame(session).playAfterMove(position.getPerspectiveSeat(), card, estimate.color);
+					if (result.getWinnerSeat() == position.getPerspectiveSeat()) estimate.wins.incrementAndGet();
+					estimate.rollouts.incrementAndGet();
+				}
+				if (analysis.remainingWorkers.decrementAndGet() != 0) return;
+				if (cache != null) {
+					for (Estimate estimate : open) {
+						cache.put(estimate.cacheKey, estimate.wins.get(), estimate.rollouts.get());
+					}
+				}
+				if (!analysis.cancelled) onFinished.accept(estimates);
+			});
+		}
+	}
+	
+	/**
+     * Creates the strategies that play out a rollout.
+     *
+     * @param position the position being analysed.
+     * @return one strategy per seat.
+     */
+	private AiStrategy[] strategies(Position position) {
+		AiStrategy[] strategies = new AiStrategy[position.getNumberOfPlayers()];
+		for (int i = 0; i < strategies.length; i++) {
+			strategies[i] = new WeightedStrategy(weights);
+		}
+		return strategies;
+	}
+	
+	/**
+     * Gets the cache of earlier evaluations.
+     *
+     * @return the cache, or null if the analyzer does not use one.
+     */
+	public EvaluationCache getCache() {
+		return cache;
+	}
+	
+	/**
+     * Cancels the running analysis, if any. Its estimates are never delivered.
+     */
+	public synchronized void cancel() {
+		if (current != null) current.cancelled = true;
+		current = null;
+	}
+
+	/**
+     * Cancels the running analysis and stops the worker threads.
+     */
+	@Override
+	public void close() {
+		cancel();
+		executor.shutdownNow();
+	}
+}
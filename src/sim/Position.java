@@ -0,0 +1,188 @@
+package sim;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import ai.AiStrategy;
+import management.GameSession;
+import management.Player;
+import management.RuleTable;
+import management.TurnCursor;
+import uno.Card;
+import uno.WildCard;
+
+/**
+ * Snapshot of a game position from the point of view of one player, used to play out rollouts.
+ * <p>
+ * The snapshot copies every card, so it can be taken on the thread that owns the game and then
+ * played out on any number of other threads without touching the real game. Since the hands of
+ * the other players are hidden from the player, every rollout starts from a determinization:
+ * the hidden cards are shuffled and dealt back into hands of the same sizes and the draw pile.
+ * </p>
+ *
+ * @author Bedirhan Sakaoğlu
+ */
+public class Position {
+
+	private final List<List<Card>> hands;
+	private final List<Card> drawPile;
+	private final List<Card> discardPile;
+	private final int perspectiveSeat;
+	private final RuleTable rules;
+	private final int penalty;
+	private final int direction;
+	
+	/**
+     * Takes a snapshot of a game session. Seats are numbered in the current order of play.
+     *
+     * @param gameSession the session to copy.
+     * @param perspective the player whose hand is known.
+     */
+	public Position(GameSession gameSession, Player perspective) {
+		TurnCursor cursor = gameSession.getTurnCursor();
+		List<Player> order = new ArrayList<Player>(cursor.size());
+		hands = new ArrayList<List<Card>>(cursor.size());
+		for (int i = 0; i < cursor.size(); i++) {
+			Player player = cursor.getPlayer(cursor.getSeatInPlayOrder(i));
+			order.add(player);
+			hands.add(copyOf(player.getDeck()));
+		}
+		drawPile = copyOf(gameSession.getDrawPile());
+		discardPile = copyOf(gameSession.getDiscardPile());
+		perspectiveSeat = order.indexOf(perspective);
+		rules = gameSession.getRules();
+		penalty = gameSession.getPenalty();
+		direction = cursor.getDirection();
+	}
+	
+	/**
+     * Copies every card of a pile.
+     *
+     * @param cards the cards to copy.
+     * @return a new list holding copies of the cards.
+     */
+	private static List<Card> copyOf(List<Card> cards) {
+		List<Card> copy = new ArrayList<Card>(cards.size());
+		for (Card card : cards) {
+			copy.add(card.copy());
+		}
+		return copy;
+	}
+	
+	/**
+     * Creates a headless game session in this position with the hidden cards redealt at random.
+     * The hand of the perspective player keeps its order, so its cards can be addressed by index.
+     *
+     * @param strategies the strategies of the players, in game order.
+     * @param random     the random generator used to redeal the hidden cards.
+     * @return a new game session that can be played out.
+     */
+	public GameSession determinize(AiStrategy[] strategies, Random random) {
+		List<Card> hidden = new ArrayList<Card>(drawPile.size() + 7 * hands.size());
+		for (int seat = 0; seat < hands.size(); seat++) {
+			if (seat != perspectiveSeat) hidden.addAll(hands.get(seat));
+		}
+		hidden.addAll(drawPile);
+		hidden = copyOf(hidden);
+		for (Card card : hidden) {
+			if (card instanceof WildCard) ((WildCard)card).clearColorEnum();
+		}
+		Collections.shuffle(hidden, random);
+		
+		List<List<Card>> dealt = new ArrayList<List<Card>>(hands.size());
+		int next = 0;
+		for (int seat = 0; seat < hands.size(); seat++) {
+			if (seat == perspectiveSeat) {
+				dealt.add(copyOf(hands.get(seat)));
+			} else {
+				int size = hands.get(seat).size();
+				dealt.add(new ArrayList<Card>(hidden.subList(next, next + size)));
+				next += size;
+			}
+		}
+		List<Card> newDrawPile = new ArrayList<Card>(hidden.subList(next, hidden.size()));
+		
+		GameSession session = new GameSession("rollout", random.nextLong());
+		session.setLoggingEnabled(false);
+		session.setRules(rules);
+		session.restoreGame(strategies, dealt, newDrawPile, copyOf(discardPile));
+		session.addPenalty(penalty);
+		return session;
+	}
+	
+	/**
+     * Computes a hash of everything the perspective player can see: its own hand regardless of order,
+     * the top card and active color, the hand sizes of the other players relative to its seat and the
+     * size of the draw pile, together with the rules, the penalty waiting to be drawn and the direction
+     * of play. Positions that look the same to the player hash the same, even if the hidden cards differ.
+     *
+     * @return the 64-bit hash of the visible state.
+     */
+	public long hash() {
+		long hash = mix(hands.size());
+		hash = mix(hash ^ rules.getFingerprint());
+		hash = mix(hash ^ penalty);
+		hash = mix(hash ^ direction);
+		for (Card card : getPerspectiveHand()) {
+			hash += mix(0x100L + card.getKind());
+		}
+		Card top = getCardTopDeck();
+		hash = mix(hash ^ top.getKind());
+		hash = mix(hash ^ top.getColorEnum().ordinal());
+		for (int i = 1; i < hands.size(); i++) {
+			hash = mix(hash ^ hands.get((perspectiveSeat + i) % hands.size()).size());
+		}
+		return mix(hash ^ drawPile.size());
+	}
+	
+	/**
+     * Scrambles the bits of a value (the SplitMix64 finalizer).
+     *
+     * @param value the value to scramble.
+     * @return the scrambled value.
+     */
+	static long mix(long value) {
+		long z = value + 0x9E3779B97F4A7C15L;
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+	
+	/**
+     * Gets the seat of the player whose hand is known.
+     *
+     * @return the perspective seat, in game order.
+     */
+	public int getPerspectiveSeat() {
+		return perspectiveSeat;
+	}
+	
+	/**
+     * Gets the number of seats.
+     *
+     * @return the number of players.
+     */
+	public int getNumberOfPlayers() {
+		return hands.size();
+	}
+	
+	/**
+     * Gets the known hand of the perspective player. The list must not be modified.
+     *
+     * @return the hand of the perspective player.
+     */
+	public List<Card> getPerspectiveHand() {
+		return hands.get(perspectiveSeat);
+	}
+	
+	/**
+     * Gets the top card of the discard pile.
+     *
+     * @return the top card.
+     */
+	public Card getCardTopDeck() {
+		return discardPile.get(discardPile.size() - 1);
+	}
+}
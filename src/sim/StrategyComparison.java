@@ -0,0 +1,236 @@
+package sim;
+
+import ai.AiStrategy;
+import ai.Strategies;
+
+/**
+ * Compares two strategies with as few games as possible.
+ * <p>
+ * Games are played on mirrored deals: strategies A and B take alternating seats, so the table size has to be
+ * even, and every deal is played twice with the same seed, once with A on the even seats and once with A on the
+ * odd seats. Each strategy so plays the same cards from every seat (common random numbers).
+ * </p>
+ * <p>
+ * After every batch of deals a generalized sequential probability ratio test checks whether
+ * A is better than B by at least {@code elo1} (H1) or not better than {@code elo0} (H0). Play stops
+ * as soon as one of the hypotheses is accepted, or when the game limit is reached.
+ * </p>
+ * <p>
+ * Usage: {@code StrategyComparison strategyA strategyB [tableSize] [elo0] [elo1] [alpha] [beta] [maxGames]}
+ * </p>
+ *
+ * @author Bedirhan Sakaoğlu
+ */
+public class StrategyComparison {
+
+	/** Outcome of the sequential test. */
+	public enum Verdict {
+		H0_ACCEPTED, H1_ACCEPTED, INCONCLUSIVE
+	}
+	
+	private static final double Z95 = 1.959964;
+	/** The seatings of a deal, A on the even seats and A on the odd seats. Further rotations would repeat one of them. */
+	private static final int ROTATIONS = 2;
+	/** The variance of the deal scores is at least this, so that deals that all end alike still move the test. */
+	private static final double MINVARIANCE = 1e-4;
+	
+	private final String strategyA;
+	private final String strategyB;
+	private final int tableSize;
+	private final double elo0;
+	private final double elo1;
+	private final double lowerBound;
+	private final double upperBound;
+	private int dealsPerBatch = 64;
+	
+	private int deals;
+	private double sum;
+	private double sumOfSquares;
+	private double llr;
+	
+	/**
+     * Constructs a comparison of two strategies.
+     *
+     * @param strategyA the name of the strategy under test.
+     * @param strategyB the name of the baseline strategy.
+     * @param tableSize the number of players per game, an even number.
+     * @param elo0      the Elo difference of the null hypothesis.
+     * @param elo1      the Elo difference of the alternative hypothesis.
+     * @param alpha     the probability of accepting H1 when H0 holds.
+     * @param beta      the probability of accepting H0 when H1 holds.
+     * @throws IllegalArgumentException if the table size is odd.
+     */
+	public StrategyComparison(String strategyA, String strategyB, int tableSize, double elo0, double elo1, double alpha, double beta) {
+		if (tableSize < 2 || tableSize % 2 != 0) throw new IllegalArgumentException("The table size has to be even: " + tableSize);
+		this.strategyA = strategyA;
+		this.strategyB = strategyB;
+		this.tableSize = tableSize;
+		this.elo0 = elo0;
+		this.elo1 = elo1;
+		this.lowerBound = Math.log(beta / (1 - alpha));
+		this.upperBound = Math.log((1 - beta) / alpha);
+	}
+	
+	/**
+     * Plays batches of mirrored deals until the test decides or the game limit is reached.
+     *
+     * @param runner   the runner playing the games.
+     * @param baseSeed the base seed of the deals.
+     * @param maxGames the maximum number of games to play.
+     * @return the verdict of the test.
+     */
+	public Verdict run(BatchRunner runner, long baseSeed, int maxGames) {
+		while (getGames() < maxGames) {
+			int batch = Math.min(dealsPerBatch, Math.max(1, (maxGames - getGames()) / ROTATIONS));
+			long[] seeds = new long[batch * ROTATIONS];
+			for (int i = 0; i < seeds.length; i++) {
+				seeds[i] = BatchRunner.seedOf(baseSeed, deals + i / ROTATIONS);
+			}
+			
+			GameResult[] results = runner.run(seeds, (gameIndex, seed) -> {
+				int rotation = gameIndex % ROTATIONS;
+				AiStrategy[] strategies = new AiStrategy[tableSize];
+				for (int seat = 0; seat < tableSize; seat++) {
+					boolean isA = playsA(seat, rotation);
+					// Seed by role, so that A draws the same random numbers from whichever seat it plays
+					strategies[seat] = Strategies.forName((isA) ? strategyA : strategyB, seed + (seat + rotation) % tableSize);
+				}
+				return strategies;
+			});
+			
+			for (int deal = 0; deal < batch; deal++) {
+				double score = 0;
+				for (int rotation = 0; rotation < ROTATIONS; rotation++) {
+					GameResult result = results[deal * ROTATIONS + rotation];
+					if (!result.hasWinner()) score += 0.5;
+					else if (playsA(result.getWinnerSeat(), rotation)) score += 1;
+				}
+				addDeal(score / ROTATIONS);
+			}
+			
+			if (llr >= upperBound) return Verdict.H1_ACCEPTED;
+			if (llr <= lowerBound) return Verdict.H0_ACCEPTED;
+		}
+		return Verdict.INCONCLUSIVE;
+	}
+	
+	/**
+     * Checks if strategy A sits at a seat in a rotation.
+     *
+     * @param seat     the seat to check.
+     * @param rotation the rotation of the deal.
+     * @return true if A plays that seat, otherwise false.
+     */
+	private boolean playsA(int seat, int rotation) {
+		return (seat + rotation) % 2 == 0;
+	}
+	
+	/**
+     * Adds the score of a deal and updates the log-likelihood ratio.
+     *
+     * @param score the share of the deal's games won by A, between 0 and 1.
+     */
+	private void addDeal(double score) {
+		deals++;
+		sum += score;
+		sumOfSquares += score * score;
+		
+		if (deals < 2) return;
+		double mean = sum / deals;
+		double variance = Math.max(sumOfSquares / deals - mean * mean, MINVARIANCE);
+		double s0 = expectedScore(elo0);
+		double s1 = expectedScore(elo1);
+		llr = deals * (s1 - s0) * (2 * mean - s0 - s1) / (2 * variance);
+	}
+	
+	/**
+     * Converts an Elo difference to the expected score of the stronger side.
+     *
+     * @param elo the Elo difference.
+     * @return the expected score, between 0 and 1.
+     */
+	public static double expectedScore(double elo) {
+		return 1 / (1 + Math.pow(10, -elo / 400));
+	}
+	
+	/**
+     * Converts an expected score to an Elo difference.
+     *
+     * @param score the expected score, between 0 and 1 exclusive.
+     * @return the Elo difference.
+     */
+	public static double eloOf(double score) {
+		double clamped = Math.min(Math.max(score, 1e-6), 1 - 1e-6);
+		return -400 * Math.log10(1 / clamped - 1);
+	}
+	
+	/**
+     * Gets the estimated Elo difference of A over B.
+     *
+     * @return the Elo difference.
+     */
+	public double getElo() {
+		return eloOf(sum / deals);
+	}
+	
+	/**
+     * Gets the bounds of the 95% confidence interval of the Elo difference.
+     *
+     * @return the lower and upper bound.
+     */
+	public double[] getEloBounds() {
+		double mean = sum / deals;
+		double stdError = Math.sqrt(Math.max(0, sumOfSquares / deals - mean * mean) / deals);
+		return new double[] {eloOf(mean - Z95 * stdError), eloOf(mean + Z95 * stdError)};
+	}
+	
+	/**
+     * Gets the current log-likelihood ratio of the test.
+     *
+     * @return the log-likelihood ratio.
+     */
+	public double getLlr() {
+		return llr;
+	}
+	
+	/**
+     * Gets the number of games played so far.
+     *
+     * @return the number of games.
+     */
+	public int getGames() {
+		return deals * ROTATIONS;
+	}
+	
+	/**
+     * Sets the number of deals played between two checks of the test.
+     *
+     * @param dealsPerBatch the number of deals per batch.
+     */
+	public void setDealsPerBatch(int dealsPerBatch) {
+		this.dealsPerBatch = Math.max(1, dealsPerBatch);
+	}
+	
+	public static void main(String[] args) {
+		if (args.length < 2) {
+			System.out.println("Usage: StrategyComparison strategyA strategyB [tableSize] [elo0] [elo1] [alpha] [beta] [maxGames]");
+			return;
+		}
+		int tableSize = (args.length > 2) ? Integer.parseInt(args[2]) : 2;
+		double elo0 = (args.length > 3) ? Double.parseDouble(args[3]) : 0;
+		double elo1 = (args.length > 4) ? Double.parseDouble(args[4]) : 10;
+		double alpha = (args.length > 5) ? Double.parseDouble(args[5]) : 0.05;
+		double beta = (args.length > 6) ? Double.parseDouble(args[6]) : 0.05;
+		int maxGames = (args.length > 7) ? Integer.parseInt(args[7]) : 200000;
+		
+		StrategyComparison comparison = new StrategyComparison(args[0], args[1], tableSize, elo0, elo1, alpha, beta);
+		Verdict verdict;
+		try (BatchRunner runner = new BatchRunner()) {
+			verdict = comparison.run(runner, System.nanoTime(), maxGames);
+		}
+		double[] bounds = comparison.getEloBounds();
+		System.out.println(String.format("%s vs %s: Elo %+.1f [%+.1f, %+.1f] (95%%) after %d games", args[0], args[1],
+				comparison.getElo(), bounds[0], bounds[1], comparison.getGames()));
+		System.out.println(String.format("LLR %.2f [%.2f, %.2f]: %s", comparison.getLlr(), comparison.lowerBound, comparison.upperBound, verdict));
+	}
+}
@@ -0,0 +1,284 @@
+package sim;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.Scanner;
+
+import ai.AiStrategy;
+import ai.DrawTwoAttackStrategy;
+import ai.HighScoreDumpStrategy;
+import ai.MajorityColorStrategy;
+import ai.RandomStrategy;
+import ai.WeightedStrategy;
+import ai.WildHoarderStrategy;
+
+/**
+ * Tunes the weights of {@link WeightedStrategy} by self-play with a simple evolutionary algorithm.
+ * <p>
+ * Every generation, each candidate weight vector plays the same set of seeded games against a
+ * reference population of the heuristic bots, rotating through the seats. Its fitness is its win rate.
+ * The best quarter of the population survives and the rest is refilled with mutated crossovers of
+ * the survivors.
+ * </p>
+ * <p>
+ * Progress is checkpointed to a text file after every generation so that long runs can be stopped
+ * and resumed, and the best weights found so far are exported to the file read by {@link WeightedStrategy}.
+ * </p>
+ * <p>
+ * Usage: {@code WeightTuner [generations] [population] [gamesPerCandidate] [checkpointFile] [exportFile]}
+ * </p>
+ *
+ * @author Bedirhan Sakaoğlu
+ */
+public class WeightTuner {
+
+	public static final int PLAYERSPERTABLE = 4;
+	
+	private final int populationSize;
+	private final int gamesPerCandidate;
+	private final Path checkpointPath;
+	private final Random random;
+	
+	private double[][] population;
+	private double[] fitness;
+	private double[] bestWeights;
+	private double bestFitness = -1;
+	private int generation = 0;
+	private double sigma = 0.5;
+	
+	/**
+     * Constructs a tuner, resuming from the checkpoint file if it exists.
+     *
+     * @param populationSize    the number of candidates per generation.
+     * @param gamesPerCandidate the number of games each candidate plays per generation.
+     * @param checkpointPath    the path of the checkpoint file.
+     * @param seed              the seed of the tuner's random generator.
+     */
+	public WeightTuner(int populationSize, int gamesPerCandidate, Path checkpointPath, long seed) {
+		this.populationSize = Math.max(4, populationSize);
+		this.gamesPerCandidate = gamesPerCandidate;
+		this.checkpointPath = checkpointPath;
+		this.random = new Random(seed);
+		
+		if (!readCheckpoint()) {
+			population = new double[this.populationSize][];
+			population[0] = WeightedStrategy.defaultWeights();
+			for (int i = 1; i < this.populationSize; i++) {
+				population[i] = mutate(population[0], 1.0);
+			}
+		}
+		fitness = new double[population.length];
+	}
+	
+	/**
+     * Creates the reference opponent sitting at a seat.
+     *
+     * @param index the index of the opponent, cycling through the reference population.
+     * @param seed  the seed for strategies that use randomness.
+     * @return the opponent strategy.
+     */
+	private static AiStrategy referenceOpponent(int index, long seed) {
+		switch (index % 5) {
+			case 0: return new RandomStrategy(seed);
+			case 1: return new HighScoreDumpStrategy();
+			case 2: return new WildHoarderStrategy();
+			case 3: return new MajorityColorStrategy();
+			default: return new DrawTwoAttackStrategy();
+		}
+	}
+	
+	/**
+     * Evaluates a candidate by playing seeded games against the reference population.
+     *
+     * @param runner   the runner playing the games.
+     * @param weights  the weights of the candidate.
+     * @param baseSeed the base seed of the games, shared by all candidates of a generation.
+     * @return the win rate of the candidate.
+     */
+	private double evaluate(BatchRunner runner, double[] weights, long baseSeed) {
+		GameResult[] results = runner.run(gamesPerCandidate, baseSeed, (gameIndex, seed) -> {
+			AiStrategy[] strategies = new AiStrategy[PLAYERSPERTABLE];
+			int candidateSeat = gameIndex % PLAYERSPERTABLE;
+			for (int seat = 0; seat < PLAYERSPERTABLE; seat++) {
+				strategies[seat] = (seat == candidateSeat) ? new WeightedStrategy(weights) : referenceOpponent(gameIndex + seat, seed + seat);
+			}
+			return strategies;
+		});
+		int wins = 0;
+		for (int i = 0; i < results.length; i++) {
+			if (results[i].getWinnerSeat() == i % PLAYERSPERTABLE) wins++;
+		}
+		return (double) wins / results.length;
+	}
+	
+	/**
+     * Runs one generation: evaluates every candidate, keeps the best and breeds the rest.
+     *
+     * @param runner the runner playing the games.
+     */
+	public void runGeneration(BatchRunner runner) {
+		long baseSeed = random.nextLong();
+		for (int i = 0; i < population.length; i++) {
+			fitness[i] = evaluate(runner, population[i], baseSeed);
+		}
+		
+		Integer[] order = new Integer[population.length];
+		for (int i = 0; i < order.length; i++) order[i] = i;
+		Arrays.sort(order, (a, b) -> Double.compare(fitness[b], fitness[a]));
+		
+		if (fitness[order[0]] > bestFitness || bestWeights == null) {
+			bestFitness = fitness[order[0]];
+			bestWeights = population[order[0]].clone();
+		}
+		
+		int survivors = Math.max(2, population.length / 4);
+		double[][] next = new double[population.length][];
+		for (int i = 0; i < survivors; i++) {
+			next[i] = population[order[i]];
+		}
+		for (int i = survivors; i < next.length; i++) {
+			double[] first = next[random.nextInt(survivors)];
+			double[] second = next[random.nextInt(survivors)];
+			next[i] = mutate(crossover(first, second), sigma);
+		}
+		population = next;
+		sigma = Math.max(0.05, sigma * 0.95);
+		generation++;
+	}
+	
+	/**
+     * Mixes two weight vectors, taking every weight from either parent with equal probability.
+     *
+     * @param first  the first parent.
+     * @param second the second parent.
+     * @return the child weights.
+     */
+	private double[] crossover(double[] first, double[] second) {
+		double[] child = new double[first.length];
+		for (int i = 0; i < child.length; i++) {
+			child[i] = (random.nextBoolean()) ? first[i] : second[i];
+		}
+		return child;
+	}
+	
+	/**
+     * Adds gaussian noise to every weight.
+     *
+     * @param weights the weights to mutate.
+     * @param scale   the standard deviation of the noise.
+     * @return the mutated weights.
+     */
+	private double[] mutate(double[] weights, double scale) {
+		double[] mutated = new double[weights.length];
+		for (int i = 0; i < mutated.length; i++) {
+			mutated[i] = weights[i] + random.nextGaussian() * scale;
+		}
+		return mutated;
+	}
+	
+	/**
+     * Writes the state of the tuner to the checkpoint file.
+     */
+	public void writeCheckpoint() {
+		try (BufferedWriter writer = new BufferedWriter(new FileWriter(checkpointPath.toString()))) {
+			writer.write(String.format("generation:%d%n", generation));
+			writer.write(String.format("sigma:%s%n", sigma));
+			writer.write(String.format("bestfitness:%s%n", bestFitness));
+			if (bestWeights != null) writer.write(String.format("best:%s%n", WeightedStrategy.formatWeights(bestWeights)));
+			for (double[] candidate : population) {
+				writer.write(String.format("candidate:%s%n", WeightedStrategy.formatWeights(candidate)));
+			}
+		} catch (IOException e) {
+			System.out.println(e.getMessage());
+		}
+	}
+	
+	/**
+     * Restores the state of the tuner from the checkpoint file.
+     *
+     * @return true if a checkpoint was read, otherwise false.
+     */
+	private boolean readCheckpoint() {
+		File file = new File(checkpointPath.toString());
+		if (!file.isFile()) return false;
+		List<double[]> candidates = new ArrayList<double[]>();
+		try (Scanner input = new Scanner(file)) {
+			while (input.hasNextLine()) {
+				String[] entry = input.nextLine().split(":", 2);
+				if (entry.length != 2) continue;
+				switch (entry[0]) {
+					case "generation": generation = Integer.parseInt(entry[1]); break;
+					case "sigma": sigma = Double.parseDouble(entry[1]); break;
+					case "bestfitness": bestFitness = Double.parseDouble(entry[1]); break;
+					case "best": bestWeights = WeightedStrategy.parseWeights(entry[1]); break;
+					case "candidate": candidates.add(WeightedStrategy.parseWeights(entry[1])); break;
+					default: break;
+				}
+			}
+		} catch (FileNotFoundException | NumberFormatException e) {
+			System.out.println("Could not read checkpoint: " + e.getMessage());
+			return false;
+		}
+		if (candidates.isEmpty()) return false;
+		while (candidates.size() < populationSize) {
+			candidates.add(mutate(candidates.get(0), sigma));
+		}
+		population = candidates.toArray(new double[0][]);
+		return true;
+	}
+	
+	/**
+     * Gets the best weights found so far.
+     *
+     * @return the best weights, or null if no generation has been evaluated yet.
+     */
+	public double[] getBestWeights() {
+		return (bestWeights == null) ? null : bestWeights.clone();
+	}
+	
+	/**
+     * Gets the win rate of the best weights found so far.
+     *
+     * @return the best fitness.
+     */
+	public double getBestFitness() {
+		return bestFitness;
+	}
+	
+	/**
+     * Gets the number of generations run so far, including those before a resume.
+     *
+     * @return the current generation.
+     */
+	public int getGeneration() {
+		return generation;
+	}
+	
+	public static void main(String[] args) {
+		int generations = (args.length > 0) ? Integer.parseInt(args[0]) : 20;
+		int populationSize = (args.length > 1) ? Integer.parseInt(args[1]) : 16;
+		int gamesPerCandidate = (args.length > 2) ? Integer.parseInt(args[2]) : 2000;
+		Path checkpointPath = Paths.get((args.length > 3) ? args[3] : "Data/tuner_checkpoint.txt");
+		Path exportPath = (args.length > 4) ? Paths.get(args[4]) : WeightedStrategy.DEFAULT_WEIGHTS_PATH;
+		
+		WeightTuner tuner = new WeightTuner(populationSize, gamesPerCandidate, checkpointPath, System.nanoTime());
+		try (BatchRunner runner = new BatchRunner()) {
+			for (int i = 0; i < generations; i++) {
+				tuner.runGeneration(runner);
+				tuner.writeCheckpoint();
+				WeightedStrategy.writeWeights(exportPath, tuner.getBestWeights());
+				System.out.println(String.format("Generation %d: best win rate %.3f with weights %s", tuner.getGeneration(),
+						tuner.getBestFitness(), WeightedStrategy.formatWeights(tuner.getBestWeights())));
+			}
+		}
+	}
+}
@@ -21,8 +21,14 @@ public class ActionCard extends Card {
 	public ActionCard(EColor color, Action action){
 		super(color, action);
 		this.score = 20;
+		this.kind = kindOf(color, action, 0);
 	}
 
+	@Override
+	public Card copy() {
+		return new ActionCard(color, getAction());
+	}
+	
 	/**
      * Returns the string representation of the action card.
      *
@@ -1,7 +1,5 @@
 package uno;
 
-import java.util.ArrayList;
-
 /**
  * Abstract class representing a generic Uno card.
  * <p>
@@ -14,9 +12,13 @@ import java.util.ArrayList;
  */
 public abstract class Card {
 	
+	/** Number of distinct kinds of cards, see {@link #getKind()}. */
+	public static final int NUMBEROFKINDS = 54;
+	
 	protected EColor color;
 	private Action action;
 	protected int score = 0;
+	protected int kind;
 	
 	/**
      * Constructs a new Uno card with the specified color and action. Isn't really supposed to initialize a card object since {@link Card} is abstract.
@@ -46,6 +48,36 @@ public abstract class Card {
 		return action;
 	}
 	
+	/**
+     * Gets the kind of the card, a number between 0 and {@link #NUMBEROFKINDS} exclusive that is equal for
+     * all cards of the same action, color and number. Kinds are numbered in Uno card order:
+     * Wild Draw Four, Wild, then for Red, Green, Blue and Yellow: Draw Two, Reverse, Skip and the numbers 0 to 9.
+     *
+     * @return the kind of the card.
+     */
+	public int getKind() {
+		return kind;
+	}
+	
+	/**
+     * Computes the kind of a colored card.
+     *
+     * @param color  the color of the card.
+     * @param action the action of the card, {@link Action#NUMBER} for number cards.
+     * @param number the number of a number card, ignored otherwise.
+     * @return the kind of the card.
+     */
+	protected static int kindOf(EColor color, Action action, int number) {
+		int offset;
+		switch (action) {
+			case DRAWTWO: offset = 0; break;
+			case REVERSE: offset = 1; break;
+			case SKIP: offset = 2; break;
+			default: offset = 3 + number; break;
+		}
+		return 2 + color.ordinal() * 13 + offset;
+	}
+	
 	/**
      * Gets the score associated with the card.
      *
@@ -55,6 +87,13 @@ public abstract class Card {
 		return score;
 	}
 	
+	/**
+     * Creates a new card of the same kind. Used to play out hypothetical games without touching the cards of a real one.
+     *
+     * @return a copy of the card.
+     */
+	public abstract Card copy();
+	
 	/**
      * Generates a string representation of the card.
      *
@@ -4,6 +4,7 @@ import java.util.Random;
 
 import java.util.Collections;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -20,138 +21,167 @@ public class Decks {
 	private final static int NUMBERCARDSPERCOLOR = 19;
 	private final static int NUMBEROFWILDCARDS = 8;
 	
+	/** Number of cards in a deck, 25 of each color and 8 wild cards. */
+	public final static int DECKSIZE = 108;
+	
+	/** Number of players a single deck is dealt to, larger tables play with a shoe of several decks. */
+	public final static int PLAYERSPERDECK = 10;
+	
 	/**
      * Initializes the draw pile for an Uno game.
      *
      * @return the initialized draw pile as a list of cards.
      */
 	public static List<Card> initializeDrawPile() {
-		List<Card> deck = new ArrayList<Card>();
-		for (EColor color : EColor.values()) {
-			if (color.equals(EColor.NONE)) continue;
-			for (Action action : Action.values()) {
-				if (action.equals(Action.WILD) || action.equals(Action.WILDFOUR) || action.equals(Action.NUMBER)) continue;
-				deck.add(new ActionCard(color, action)); deck.add(new ActionCard(color, action));
+		Random random = new Random();
+		random.setSeed(random.nextInt()); // set a random seed
+		return initializeDrawPile(random);
+	}
+	
+	/**
+     * Initializes the draw pile for an Uno game, shuffled with the given random generator.
+     *
+     * @param random the random generator used to shuffle the deck.
+     * @return the initialized draw pile as a list of cards.
+     */
+	public static List<Card> initializeDrawPile(Random random) {
+		return initializeDrawPile(random, 1);
+	}
+	
+	/**
+     * Initializes the draw pile for an Uno game from a shoe of several decks, shuffled together with the given
+     * random generator. Every card is a distinct object, also when there are several cards of the same kind.
+     *
+     * @param random the random generator used to shuffle the shoe.
+     * @param decks  the number of decks in the shoe.
+     * @return the initialized draw pile as a list of cards.
+     */
+	public static List<Card> initializeDrawPile(Random random, int decks) {
+		List<Card> deck = new ArrayList<Card>(DECKSIZE * decks);
+		ENumber[] numbers = ENumber.values();
+		for (int d = 0; d < decks; d++) {
+			for (EColor color : EColor.values()) {
+				if (color.equals(EColor.NONE)) continue;
+				for (Action action : Action.values()) {
+					if (action.equals(Action.WILD) || action.equals(Action.WILDFOUR) || action.equals(Action.NUMBER)) continue;
+					deck.add(new ActionCard(color, action)); deck.add(new ActionCard(color, action));
+				}
+				deck.add(new NumberCard(color, ENumber.ZERO));
+				for (int i = 0; i < NUMBERCARDSPERCOLOR - 1; i++) {
+					deck.add(new NumberCard(color, numbers[i % 9 + 1])); // adds every number twice except zero
+				}
 			}
-			deck.add(new NumberCard(color, ENumber.ZERO));
-			for (int i = 0; i < NUMBERCARDSPERCOLOR - 1; i++) {
-				deck.add(new NumberCard(color, ENumber.values()[i % 9 + 1])); // adds every number twice except zero
+			for (int i = 0; i < NUMBEROFWILDCARDS; i++) {
+				deck.add(new WildCard((i < NUMBEROFWILDCARDS/2) ? Action.WILD : Action.WILDFOUR));
 			}
 		}
-		for (int i = 0; i < NUMBEROFWILDCARDS; i++) {
-			deck.add(new WildCard((i < NUMBEROFWILDCARDS/2) ? Action.WILD : Action.WILDFOUR));
-		}
-		shuffleDeck(deck);
+		Collections.shuffle(deck, random);
 		return deck;
 	}
 	
 	/**
-     * Shuffles a deck randomly.
+     * Gets the number of decks a table is dealt from: one deck for every {@link #PLAYERSPERDECK} players or part
+     * thereof, so that a full table still leaves the draw pile about a third of the shoe.
      *
-     * @param deck the deck to shuffle.
+     * @param players the number of players.
+     * @return the number of decks in the shoe, at least 1.
      */
-	private static void shuffleDeck(List<Card> deck) {
-		Random random = new Random();
-		random.setSeed(random.nextInt()); // set a random seed
-		Collections.shuffle(deck, random);
+	public static int decksFor(int players) {
+		return Math.max(1, (players + PLAYERSPERDECK - 1) / PLAYERSPERDECK);
 	}
 	
 	/**
-     * Sorts a deck in Uno card order.
+     * Sorts a deck in Uno card order: Wild Draw Four, Wild, then for Red, Green, Blue and Yellow: Draw Two,
+     * Reverse, Skip and the numbers 0 to 9. This is the order of {@link Card#getKind()}, so the cards are counted
+     * by kind and placed in a single pass. Cards of the same kind keep their order.
      *
      * @param deck the deck to sort.
-     * @return the sorted deck.
+     * @return the sorted deck, a new list.
      */
 	public static ArrayList<Card> sortedDeck(List<Card> deck) {
-		// Sorting order -> WildDraw4 -> Wild -> Red -> Green -> Blue -> Yellow
-		ArrayList<Card> arrayListDeck = ((ArrayList<Card>)deck);
-		ArrayList<Card> sortedDeck = new ArrayList<Card>();
-		// Wild
-		addCardTypeToDeck(arrayListDeck, sortedDeck, Action.WILDFOUR);
-		addCardTypeToDeck(arrayListDeck, sortedDeck, Action.WILD);
-		// Red
-		addCardColorToDeck(arrayListDeck, sortedDeck, EColor.RED);
-		// Green
-		addCardColorToDeck(arrayListDeck, sortedDeck, EColor.GREEN);
-		// Blue
-		addCardColorToDeck(arrayListDeck, sortedDeck, EColor.BLUE);
-		// Yellow
-		addCardColorToDeck(arrayListDeck, sortedDeck, EColor.YELLOW);
-		
-		return sortedDeck;
+		int[] starts = new int[Card.NUMBEROFKINDS + 1];
+		for (int i = 0; i < deck.size(); i++) {
+			starts[deck.get(i).getKind() + 1]++;
+		}
+		for (int kind = 0; kind < Card.NUMBEROFKINDS; kind++) {
+			starts[kind + 1] += starts[kind];
+		}
+		Card[] sorted = new Card[deck.size()];
+		for (int i = 0; i < deck.size(); i++) {
+			Card card = deck.get(i);
+			sorted[starts[card.getKind()]++] = card;
+		}
+		return new ArrayList<Card>(Arrays.asList(sorted));
 	}
 	
 	/**
-     * Adds cards of a specific color to a deck in Uno card order. 
-     * Has no real use outside this class, and is purely used to sort decks in a custom fashion.
+     * Inserts a card into a hand that is kept in Uno card order, after the cards of the same kind.
      *
-     * @param deckFrom the source deck to extract cards from.
-     * @param deckTo   the destination deck to add sorted cards to.
-     * @param color    the color of cards to add.
+     * @param hand the hand, sorted by {@link Card#getKind()}.
+     * @param card the card to insert.
+     * @return the index the card was inserted at.
      */
-	private static void addCardColorToDeck(ArrayList<Card> deckFrom, ArrayList<Card> deckTo, EColor color) {
-		// Sorting inside color -> Draw2 -> Reverse -> Skip -> NumericOrder
-		addCardTypeToDeck(deckFrom, deckTo, Action.DRAWTWO, color); // Draw2
-		addCardTypeToDeck(deckFrom, deckTo, Action.REVERSE, color); // Reverse
-		addCardTypeToDeck(deckFrom, deckTo, Action.SKIP, color); // Skip
-		addCardTypeToDeck(deckFrom, deckTo, color); // NumericOrder
+	public static int insertSorted(List<Card> hand, Card card) {
+		int index = firstIndexOfKind(hand, card.getKind() + 1);
+		hand.add(index, card);
+		return index;
 	}
 	
 	/**
-     * Adds cards of a specific action to a deck.
-     * Has no real use outside this class, and is purely used to sort decks in a custom fashion.
+     * Finds a card in a hand that is kept in Uno card order.
      *
-     * @param deckFrom the source deck to extract cards from.
-     * @param deckTo   the destination deck to add cards to.
-     * @param action   the action of cards to add.
+     * @param hand the hand, sorted by {@link Card#getKind()}.
+     * @param card the card to find, compared by identity.
+     * @return the index of the card, or -1 if it is not in the hand.
      */
-	private static void addCardTypeToDeck(ArrayList<Card> deckFrom, ArrayList<Card> deckTo, Action action) {
-		for (Card card : deckFrom) {
-			if (card.getAction().equals(action)) {
-				deckTo.add(card);
-			}
+	public static int indexOfSorted(List<Card> hand, Card card) {
+		int kind = card.getKind();
+		for (int i = firstIndexOfKind(hand, kind); i < hand.size() && hand.get(i).getKind() == kind; i++) {
+			if (hand.get(i) == card) return i;
 		}
+		return -1;
 	}
 	
 	/**
-     * Adds cards of a specific action and color to a deck.
-     * Has no real use outside this class, and is purely used to sort decks in a custom fashion.
+     * Finds a card of a kind in a hand that is kept in Uno card order.
      *
-     * @param deckFrom the source deck to extract cards from.
-     * @param deckTo   the destination deck to add cards to.
-     * @param action   the action of cards to add.
-     * @param color    the color of cards to add.
+     * @param hand the hand, sorted by {@link Card#getKind()}.
+     * @param kind the kind to find.
+     * @return the index of the first card of that kind, or -1 if the hand holds none.
      */
-	private static void addCardTypeToDeck(ArrayList<Card> deckFrom, ArrayList<Card> deckTo, EColor color) {
-		ArrayList<NumberCard> unsortedMonoColorDeck = new ArrayList<NumberCard>();
-		for (Card card : deckFrom) {
-			if (card.getColorEnum().equals(color) && card.getClass().getSimpleName().equals("NumberCard")) {
-				unsortedMonoColorDeck.add(((NumberCard)card));
-			}
-		}
-		
-		unsortedMonoColorDeck.sort((o1, o2) -> (o1.getNumberInt() < o2.getNumberInt()) ? -1 : 
-			  	o1.getNumberInt() > o2.getNumberInt() ? 1 : 0);
-		
-		for (Card card : unsortedMonoColorDeck) {
-			deckTo.add(card);
-		}
+	public static int indexOfKind(List<Card> hand, int kind) {
+		int index = firstIndexOfKind(hand, kind);
+		return (index < hand.size() && hand.get(index).getKind() == kind) ? index : -1;
 	}
 	
 	/**
-     * Adds cards of a specific action and color to a deck.
-     * Has no real use outside this class, and is purely used to sort decks in a custom fashion.
+     * Removes a card from a hand that is kept in Uno card order.
      *
-     * @param deckFrom the source deck to extract cards from.
-     * @param deckTo   the destination deck to add cards to.
-     * @param action   the action of cards to add.
-     * @param color    the color of cards to add.
+     * @param hand the hand, sorted by {@link Card#getKind()}.
+     * @param card the card to remove, compared by identity.
+     * @return the index the card was removed from, or -1 if it is not in the hand.
      */
-	private static void addCardTypeToDeck(ArrayList<Card> deckFrom, ArrayList<Card> deckTo, Action action, EColor color) {
-		for (Card card : deckFrom) {
-			if (card.getAction().equals(action) && card.getColorEnum().equals(color)) {
-				deckTo.add(card);
-			}
+	public static int removeSorted(List<Card> hand, Card card) {
+		int index = indexOfSorted(hand, card);
+		if (index != -1) hand.remove(index);
+		return index;
+	}
+	
+	/**
+     * Binary searches a sorted hand for the first card whose kind is at least the given kind.
+     *
+     * @param hand the hand, sorted by {@link Card#getKind()}.
+     * @param kind the kind to search for.
+     * @return the index of that card, or the size of the hand if there is none.
+     */
+	private static int firstIndexOfKind(List<Card> hand, int kind) {
+		int low = 0;
+		int high = hand.size();
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (hand.get(middle).getKind() < kind) low = middle + 1;
+			else high = middle;
 		}
+		return low;
 	}
 }
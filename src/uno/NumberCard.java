@@ -22,6 +22,7 @@ public class NumberCard extends Card {
 	public NumberCard(EColor color, ENumber number) {
 		super(color, Action.NUMBER);
 		this.number = number; this.score = number.getInt();
+		this.kind = kindOf(color, Action.NUMBER, number.getInt());
 	}
 	
 	/**
@@ -42,6 +43,11 @@ public class NumberCard extends Card {
 		return number;
 	}
 
+	@Override
+	public Card copy() {
+		return new NumberCard(color, number);
+	}
+	
 	/**
      * Returns a string representation of the NumberCard.
      *
@@ -23,8 +23,21 @@ public class WildCard extends Card {
 	public WildCard(Action action){
 		super(EColor.NONE, action);
 		this.score = 50;
+		this.kind = (action == Action.WILDFOUR) ? 0 : 1;
 	}
 
+	/**
+     * Creates a new WildCard of the same action, keeping the supposed color if one is set.
+     *
+     * @return a copy of the WildCard.
+     */
+	@Override
+	public Card copy() {
+		WildCard copy = new WildCard(getAction());
+		if (supposedColorSet) copy.setColorEnum(supposedColorEnum);
+		return copy;
+	}
+	
 	/**
      * Returns a string representation of the WildCard.
      *
@@ -45,6 +58,14 @@ public class WildCard extends Card {
 		supposedColorSet = true;
 	}
 	
+	/**
+     * Clears the supposed color of the WildCard, for example when it is shuffled back into the draw pile.
+     */
+	public void clearColorEnum() {
+		supposedColorEnum = null;
+		supposedColorSet = false;
+	}
+	
 	/**
      * Gets the color of the WildCard.
      * <p>